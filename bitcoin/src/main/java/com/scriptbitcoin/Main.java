@@ -1,13 +1,20 @@
 package com.scriptbitcoin;
 
+import java.nio.file.Paths;
 import java.util.List;
 
+import com.scriptbitcoin.crypto.CachingHashProvider;
+import com.scriptbitcoin.crypto.DigestHashProvider;
+import com.scriptbitcoin.crypto.MockHashProvider;
+import com.scriptbitcoin.crypto.SignatureRegistry;
+import com.scriptbitcoin.interpreters.ExecutionListener;
 import com.scriptbitcoin.interpreters.ScriptInterpreter;
 import com.scriptbitcoin.interpreters.ScriptResult;
 import com.scriptbitcoin.model.Valor;
-import com.scriptbitcoin.operations.Desafio;
-import com.scriptbitcoin.operations.Firmas;
+import com.scriptbitcoin.utils.AsyncTraceSink;
+import com.scriptbitcoin.utils.ScriptTokenStream;
 import com.scriptbitcoin.utils.ScriptValores;
+import com.scriptbitcoin.utils.TraceAplication;
 import com.scriptbitcoin.utils.Utiles;
 
 /**
@@ -22,12 +29,12 @@ public class Main {
 
         String scriptString;
         boolean traceEnabled = false;
-        System.out.println("=== ARGS RECEIVED ===");
-        System.out.println("Total args: " + args.length);
-        for (int i = 0; i < args.length; i++) {
-            System.out.println("  args[" + i + "] = '" + args[i] + "'");
-        }
-        
+        boolean realHash = false;
+        // --file=<ruta> lee el script de un archivo en streaming en lugar de los argumentos
+        String archivo = null;
+        // --trace-dir=<directorio> escribe el trace en un archivo nuevo de ese directorio en lugar de la consola
+        String traceDir = null;
+
         if (args.length < 1) {
             System.out.println("No arguments provided!");
             return;
@@ -36,57 +43,62 @@ public class Main {
         StringBuilder scriptBuilder = new StringBuilder();
 
         for (String arg : args) {
-            if (!arg.equals("--trace")) {
+            if (arg.equals("--trace")) {
+                traceEnabled = true;
+            } else if (arg.equals("--real-hash")) {
+                realHash = true;
+            } else if (arg.startsWith("--file=")) {
+                archivo = arg.substring("--file=".length());
+            } else if (arg.startsWith("--trace-dir=")) {
+                traceDir = arg.substring("--trace-dir=".length());
+            } else {
                 scriptBuilder.append(arg).append(" ");
             }
         }
 
         scriptString = scriptBuilder.toString().trim();
 
-        System.out.println("Script string: '" + scriptString + "'");
-        System.out.println("Script length: " + scriptString.length());
-        System.out.println("====================");
-    
-        
         ///////////// Ejemplo de uso especificado en la guía
         if (args.length < 1) {
-            System.out.println("Uso de --trace para registrar la ejecución paso a paso.");
+            System.out.println("Uso de --trace para registrar la ejecución paso a paso, --real-hash para usar hashes reales y --file=<ruta> para leer el script de un archivo y --trace-dir=<directorio> para guardar el trace en un archivo.");
             System.exit(1);
             return;
         }
-        
-
-        for (int i = 1; i < args.length; i++) {
-            if ("--trace".equals(args[i])) {
-                traceEnabled = true;
-            }
-        }
 
         try {
-            // Tokenizar el script
             ScriptValores tokenizer = new ScriptValores();
-            List<Valor> tokens = tokenizer.tokenize(scriptString);
-
-            Firmas.clearSignatures();
-            Firmas.registerValidSignature(
-                Utiles.intToBytes(7),
-                Utiles.intToBytes(7)
-            );
 
-            Desafio.clearSignatures();
-
-            Desafio.registerValidSignature(
-                Utiles.intToBytes(1),
-                Utiles.intToBytes(1)
-            );
-
-            Desafio.registerValidSignature(
-                Utiles.intToBytes(2),
-                Utiles.intToBytes(2)
-            );
-            // Ejecutar el script
-            ScriptInterpreter interpreter = new ScriptInterpreter();
-            ScriptResult result = interpreter.execute(tokens, traceEnabled);
+            // Un solo registro de firmas para OP_CHECKSIG y OP_CHECKMULTISIG
+            SignatureRegistry firmasValidas = new SignatureRegistry();
+            firmasValidas.register(Utiles.intToBytes(7), Utiles.intToBytes(7));
+            firmasValidas.register(Utiles.intToBytes(1), Utiles.intToBytes(1));
+            firmasValidas.register(Utiles.intToBytes(2), Utiles.intToBytes(2));
+
+            // Ejecutar el script (el snapshot del registro ya busca cada par sin crear objetos, no hace falta un cache encima)
+            // --real-hash usa SHA-256/RIPEMD-160 reales en lugar de la simulacion con prefijos
+            ScriptInterpreter interpreter = new ScriptInterpreter(
+                firmasValidas.snapshot(),
+                realHash ? new CachingHashProvider(DigestHashProvider.INSTANCE, 4096, 1 << 20) : MockHashProvider.INSTANCE);
+            ScriptResult result;
+            AsyncTraceSink sink = traceDir != null ? AsyncTraceSink.enDirectorio(Paths.get(traceDir)) : null;
+            ExecutionListener listener = sink != null ? sink : traceEnabled ? new TraceAplication() : null;
+            try {
+                if (archivo != null) {
+                    // El archivo se tokeniza y ejecuta a medida que se lee, sin cargarlo completo
+                    try (ScriptTokenStream tokens = tokenizer.stream(Paths.get(archivo))) {
+                        result = interpreter.execute(tokens, listener);
+                    }
+                } else {
+                    // Tokenizar el script
+                    List<Valor> tokens = tokenizer.tokenize(scriptString);
+                    result = interpreter.execute(tokens, listener);
+                }
+            } finally {
+                if (sink != null) {
+                    sink.close();
+                    System.out.println("Trace guardado en " + sink.getArchivo());
+                }
+            }
 
             // Imprimir resultado
             if (result.isExito()) {
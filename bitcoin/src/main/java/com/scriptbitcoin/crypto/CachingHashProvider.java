@@ -0,0 +1,144 @@
+package com.scriptbitcoin.crypto;
+
+import java.util.Arrays;
+
+import com.scriptbitcoin.utils.ConcurrentLruCache;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: HashProvider que recuerda los resultados ya calculados (memoización por contenido).
+ * Envuelve a otro HashProvider y guarda cada resultado en un ConcurrentLruCache con la clave
+ * (función, bytes de entrada). Así una clave pública que se repite en muchos scripts P2PKH
+ * solo se hashea una vez con OP_HASH160.
+ * El caché se limita tanto por número de entradas como por bytes totales (entrada + resultado),
+ * y las entradas más grandes que MAX_ENTRADA no se guardan.
+ * Estado: completa
+ */
+public class CachingHashProvider implements HashProvider {
+    /** Tamaño maximo de entrada que se guarda (el tamaño maximo de un elemento de la pila en Bitcoin) */
+    public static final int MAX_ENTRADA = 520;
+
+    //identificadores de cada funcion dentro de la clave
+    private static final byte SHA256 = 1;
+    private static final byte HASH160 = 2;
+    private static final byte HASH256 = 3;
+
+    private final HashProvider delegate;
+    private final ConcurrentLruCache<EntradaHash, byte[]> cache;
+
+    /**
+     * @param delegate el HashProvider que hace el trabajo real
+     * @param maxEntradas numero maximo de resultados guardados
+     * @param maxBytes bytes maximos guardados (entradas + resultados)
+     */
+    public CachingHashProvider(HashProvider delegate, int maxEntradas, long maxBytes) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("El HashProvider no puede ser null");
+        }
+        this.delegate = delegate;
+        this.cache = new ConcurrentLruCache<>(maxEntradas, maxBytes,
+            (EntradaHash key, byte[] value) -> key.datos.length + value.length);
+    }
+
+    @Override
+    public int sha256(byte[] data, int off, int len, byte[] out, int outOff) {
+        return calcular(SHA256, data, off, len, out, outOff);
+    }
+
+    @Override
+    public int hash160(byte[] data, int off, int len, byte[] out, int outOff) {
+        return calcular(HASH160, data, off, len, out, outOff);
+    }
+
+    @Override
+    public int hash256(byte[] data, int off, int len, byte[] out, int outOff) {
+        return calcular(HASH256, data, off, len, out, outOff);
+    }
+
+    @Override
+    public int maxOutputLength(int inputLength) {
+        return delegate.maxOutputLength(inputLength);
+    }
+
+    /**
+     * Busca el resultado en el cache; si no esta lo calcula con el delegado y lo guarda.
+     */
+    private int calcular(byte funcion, byte[] data, int off, int len, byte[] out, int outOff) {
+        if (len > MAX_ENTRADA) {
+            return delegar(funcion, data, off, len, out, outOff);
+        }
+        EntradaHash key = new EntradaHash(funcion, data, off, len);
+        byte[] guardado = cache.get(key);
+        if (guardado != null) {
+            System.arraycopy(guardado, 0, out, outOff, guardado.length);
+            return guardado.length;
+        }
+        int escritos = delegar(funcion, data, off, len, out, outOff);
+        cache.put(key, Arrays.copyOfRange(out, outOff, outOff + escritos));
+        return escritos;
+    }
+
+    private int delegar(byte funcion, byte[] data, int off, int len, byte[] out, int outOff) {
+        switch (funcion) {
+            case SHA256:
+                return delegate.sha256(data, off, len, out, outOff);
+            case HASH160:
+                return delegate.hash160(data, off, len, out, outOff);
+            default:
+                return delegate.hash256(data, off, len, out, outOff);
+        }
+    }
+
+    /**
+     * Olvida todos los resultados guardados.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return aciertos / consultas del cache
+     */
+    public double getTasaAciertos() {
+        return cache.getTasaAciertos();
+    }
+
+    /**
+     * @return el cache con sus contadores de aciertos, fallos, expulsiones y bytes usados
+     */
+    public ConcurrentLruCache<EntradaHash, byte[]> getCache() {
+        return cache;
+    }
+
+    /**
+     * Clave del cache: la funcion y una copia de los bytes de entrada.
+     */
+    public static final class EntradaHash {
+        private final byte funcion;
+        private final byte[] datos;
+        private final int hash;
+
+        EntradaHash(byte funcion, byte[] data, int off, int len) {
+            this.funcion = funcion;
+            this.datos = Arrays.copyOfRange(data, off, off + len);
+            this.hash = 31 * Arrays.hashCode(datos) + funcion;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EntradaHash)) {
+                return false;
+            }
+            EntradaHash other = (EntradaHash) obj;
+            return hash == other.hash && funcion == other.funcion && Arrays.equals(datos, other.datos);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
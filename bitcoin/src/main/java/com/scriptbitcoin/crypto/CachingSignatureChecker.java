@@ -0,0 +1,97 @@
+package com.scriptbitcoin.crypto;
+
+import java.util.Arrays;
+
+import com.scriptbitcoin.utils.ConcurrentLruCache;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Verificador de firmas que recuerda el resultado de los pares (firma, clave pública)
+ * ya verificados. Envuelve a otro SignatureChecker y guarda sus respuestas en un ConcurrentLruCache,
+ * con la clave formada por los bytes crudos de la firma y de la clave pública (no por cadenas hex).
+ * Como todos los opcodes de firma (OP_CHECKSIG, OP_CHECKSIGVERIFY, OP_CHECKMULTISIG y OP_CHECKMULTISIGVERIFY)
+ * usan el verificador de la ejecución, basta con pasar esta clase al intérprete para que todos lo compartan.
+ * Cada consulta copia la firma y la clave en una ParFirma, así que solo conviene envolver verificadores caros
+ * como EcdsaSignatureChecker; un SignatureRegistry o su snapshot() ya responden más rápido que este caché.
+ *
+ * Si el verificador envuelto cambia (por ejemplo se registran claves nuevas en un SignatureRegistry),
+ * hay que llamar a clear() o envolver un snapshot() inmutable.
+ * Estado: completa
+ */
+public class CachingSignatureChecker implements SignatureChecker {
+    private final SignatureChecker delegate;
+    private final ConcurrentLruCache<ParFirma, Boolean> cache;
+
+    /**
+     * @param delegate el verificador que hace el trabajo real
+     * @param capacidad numero maximo de resultados guardados
+     */
+    public CachingSignatureChecker(SignatureChecker delegate, int capacidad) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("El verificador de firmas no puede ser null");
+        }
+        this.delegate = delegate;
+        this.cache = new ConcurrentLruCache<>(capacidad);
+    }
+
+    @Override
+    public boolean verify(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+        ParFirma par = new ParFirma(sig, sigOff, sigLen, pubKey, keyOff, keyLen);
+        Boolean guardado = cache.get(par);
+        if (guardado != null) {
+            return guardado;
+        }
+        boolean valido = delegate.verify(sig, sigOff, sigLen, pubKey, keyOff, keyLen);
+        cache.put(par, valido);
+        return valido;
+    }
+
+    /**
+     * Olvida todos los resultados guardados.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * @return el cache con sus contadores de aciertos, fallos y expulsiones
+     */
+    public ConcurrentLruCache<ParFirma, Boolean> getCache() {
+        return cache;
+    }
+
+    /**
+     * Clave del cache: firma y clave publica copiadas en un solo arreglo.
+     * Se guarda la longitud de la firma para que ("ab","c") y ("a","bc") sean claves distintas.
+     */
+    public static final class ParFirma {
+        private final byte[] datos;
+        private final int sigLen;
+        private final int hash;
+
+        ParFirma(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+            this.datos = new byte[sigLen + keyLen];
+            System.arraycopy(sig, sigOff, datos, 0, sigLen);
+            System.arraycopy(pubKey, keyOff, datos, sigLen, keyLen);
+            this.sigLen = sigLen;
+            this.hash = 31 * Arrays.hashCode(datos) + sigLen;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ParFirma)) {
+                return false;
+            }
+            ParFirma other = (ParFirma) obj;
+            return hash == other.hash && sigLen == other.sigLen && Arrays.equals(datos, other.datos);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.scriptbitcoin.crypto;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Hashes reales de Bitcoin: SHA-256 con MessageDigest, RIPEMD-160 en Java puro (Ripemd160)
+ * y el doble SHA-256. Crear un MessageDigest es caro, así que cada hilo guarda sus propias instancias
+ * junto con un buffer de 32 bytes para el resultado intermedio de HASH160 y HASH256.
+ * Los resultados se escriben directamente en la salida: 32 bytes para SHA-256 y HASH256, 20 para HASH160.
+ * Estado: completa
+ */
+public final class DigestHashProvider implements HashProvider {
+    /** Instancia compartida (el estado mutable vive en cada hilo) */
+    public static final DigestHashProvider INSTANCE = new DigestHashProvider();
+
+    public static final int SHA256_LENGTH = 32;
+    public static final int RIPEMD160_LENGTH = 20;
+
+    private static final ThreadLocal<Estado> ESTADO = new ThreadLocal<Estado>() {
+        @Override
+        protected Estado initialValue() {
+            return new Estado();
+        }
+    };
+
+    private DigestHashProvider() {
+    }
+
+    @Override
+    public int sha256(byte[] data, int off, int len, byte[] out, int outOff) {
+        ESTADO.get().sha256(data, off, len, out, outOff);
+        return SHA256_LENGTH;
+    }
+
+    @Override
+    public int hash160(byte[] data, int off, int len, byte[] out, int outOff) {
+        Estado estado = ESTADO.get();
+        estado.sha256(data, off, len, estado.intermedio, 0);
+        estado.ripemd.update(estado.intermedio, 0, SHA256_LENGTH);
+        estado.ripemd.doFinal(out, outOff);
+        return RIPEMD160_LENGTH;
+    }
+
+    @Override
+    public int hash256(byte[] data, int off, int len, byte[] out, int outOff) {
+        Estado estado = ESTADO.get();
+        estado.sha256(data, off, len, estado.intermedio, 0);
+        estado.sha256(estado.intermedio, 0, SHA256_LENGTH, out, outOff);
+        return SHA256_LENGTH;
+    }
+
+    @Override
+    public int maxOutputLength(int inputLength) {
+        return SHA256_LENGTH;
+    }
+
+    /**
+     * Digests y buffer intermedio de un hilo.
+     */
+    private static final class Estado {
+        private final MessageDigest sha256;
+        private final Ripemd160 ripemd = new Ripemd160();
+        private final byte[] intermedio = new byte[SHA256_LENGTH];
+
+        Estado() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // Toda JVM debe incluir SHA-256
+                throw new IllegalStateException("SHA-256 no disponible", e);
+            }
+        }
+
+        void sha256(byte[] data, int off, int len, byte[] out, int outOff) {
+            sha256.update(data, off, len);
+            try {
+                sha256.digest(out, outOff, SHA256_LENGTH);
+            } catch (DigestException e) {
+                throw new IllegalStateException("No se pudo calcular SHA-256", e);
+            }
+        }
+    }
+}
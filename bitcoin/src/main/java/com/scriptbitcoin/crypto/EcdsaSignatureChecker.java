@@ -0,0 +1,88 @@
+package com.scriptbitcoin.crypto;
+
+import java.math.BigInteger;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Verificador de firmas ECDSA reales sobre secp256k1 (Secp256k1, sin dependencias nativas).
+ * Se crea con el hash de 32 bytes que se firmó (el sighash de la transacción) y se pasa al intérprete
+ * como cualquier otro SignatureChecker.
+ * La firma viene en DER, opcionalmente seguida del byte de tipo de sighash como en Bitcoin, y la clave
+ * pública en formato SEC (33 o 65 bytes). Una firma o clave mal formada cuenta como inválida.
+ * Con un PublicKeyCache compartido las claves repetidas no se vuelven a decodificar.
+ * Estado: completa
+ */
+public class EcdsaSignatureChecker implements SignatureChecker {
+    //hash firmado como entero
+    private final BigInteger z;
+    //cache de claves publicas, null para decodificar cada vez
+    private final PublicKeyCache claves;
+
+    /**
+     * @param sighash el hash de 32 bytes que se firmo
+     */
+    public EcdsaSignatureChecker(byte[] sighash) {
+        this(sighash, null);
+    }
+
+    /**
+     * @param sighash el hash de 32 bytes que se firmo
+     * @param claves cache de claves publicas (se puede compartir entre verificadores e hilos), o null
+     */
+    public EcdsaSignatureChecker(byte[] sighash, PublicKeyCache claves) {
+        if (sighash == null || sighash.length != 32) {
+            throw new IllegalArgumentException("El sighash debe tener 32 bytes");
+        }
+        this.z = new BigInteger(1, sighash);
+        this.claves = claves;
+    }
+
+    @Override
+    public boolean verify(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+        BigInteger[] rs = parseDer(sig, sigOff, sigLen);
+        if (rs == null) {
+            return false;
+        }
+        Secp256k1.ClavePrecalculada q;
+        try {
+            q = claves != null
+                ? claves.get(pubKey, keyOff, keyLen)
+                : Secp256k1.preparar(Secp256k1.decodePoint(pubKey, keyOff, keyLen), false);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return Secp256k1.verify(z, rs[0], rs[1], q);
+    }
+
+    /**
+     * Decodifica una firma DER: 0x30 len 0x02 lenR R 0x02 lenS S [sighash].
+     * @return {r, s} o null si el formato es invalido
+     */
+    static BigInteger[] parseDer(byte[] data, int off, int len) {
+        if (len < 8 || data[off] != 0x30) {
+            return null;
+        }
+        int total = data[off + 1] & 0xFF;
+        // se admite un byte de sighash al final
+        if (total + 2 != len && total + 3 != len) {
+            return null;
+        }
+        int fin = off + 2 + total;
+        int pos = off + 2;
+        BigInteger[] rs = new BigInteger[2];
+        for (int i = 0; i < 2; i++) {
+            if (pos + 2 > fin || data[pos] != 0x02) {
+                return null;
+            }
+            int n = data[pos + 1] & 0xFF;
+            pos += 2;
+            // enteros positivos de como maximo 33 bytes (32 + un cero inicial)
+            if (n == 0 || n > 33 || pos + n > fin || (data[pos] & 0x80) != 0) {
+                return null;
+            }
+            rs[i] = Secp256k1.leer(data, pos, n);
+            pos += n;
+        }
+        return pos == fin ? rs : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.scriptbitcoin.crypto;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Interfaz para las funciones hash de OP_SHA256, OP_HASH160 y OP_HASH256.
+ * Cada función lee un rango de entrada y escribe el resultado en un arreglo de salida ya reservado
+ * (por ejemplo directamente en la arena de ScriptStack), así no se crea un arreglo por cada hash.
+ * La entrada y la salida no deben solaparse.
+ * Las implementaciones deben ser seguras para usarse desde varios hilos.
+ */
+public interface HashProvider {
+
+    /**
+     * SHA-256 del rango de entrada.
+     * @return numero de bytes escritos en out
+     */
+    int sha256(byte[] data, int off, int len, byte[] out, int outOff);
+
+    /**
+     * RIPEMD-160(SHA-256(x)) del rango de entrada.
+     * @return numero de bytes escritos en out
+     */
+    int hash160(byte[] data, int off, int len, byte[] out, int outOff);
+
+    /**
+     * SHA-256(SHA-256(x)) del rango de entrada.
+     * @return numero de bytes escritos en out
+     */
+    int hash256(byte[] data, int off, int len, byte[] out, int outOff);
+
+    /**
+     * @param inputLength longitud de la entrada
+     * @return el maximo de bytes que puede escribir cualquiera de las tres funciones para esa entrada
+     */
+    int maxOutputLength(int inputLength);
+}
@@ -0,0 +1,52 @@
+package com.scriptbitcoin.crypto;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Simulación de los hash que se usaba originalmente en Crypto: el resultado es un prefijo
+ * ("SHA256:", "HASH160:" o "HASH256:") seguido de los datos de entrada. Es determinista y fácil de leer
+ * en los tests, pero no tiene nada que ver con el costo ni el tamaño de un hash real.
+ * Estado: completa
+ */
+public final class MockHashProvider implements HashProvider {
+    /** Instancia compartida (no tiene estado) */
+    public static final MockHashProvider INSTANCE = new MockHashProvider();
+
+    //prefijos de las simulaciones, se crean una sola vez
+    private static final byte[] PREFIJO_SHA256 = "SHA256:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PREFIJO_HASH160 = "HASH160:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PREFIJO_HASH256 = "HASH256:".getBytes(StandardCharsets.UTF_8);
+
+    private MockHashProvider() {
+    }
+
+    @Override
+    public int sha256(byte[] data, int off, int len, byte[] out, int outOff) {
+        return prefijar(PREFIJO_SHA256, data, off, len, out, outOff);
+    }
+
+    @Override
+    public int hash160(byte[] data, int off, int len, byte[] out, int outOff) {
+        return prefijar(PREFIJO_HASH160, data, off, len, out, outOff);
+    }
+
+    @Override
+    public int hash256(byte[] data, int off, int len, byte[] out, int outOff) {
+        return prefijar(PREFIJO_HASH256, data, off, len, out, outOff);
+    }
+
+    @Override
+    public int maxOutputLength(int inputLength) {
+        return PREFIJO_HASH160.length + inputLength;
+    }
+
+    /**
+     * Escribe el prefijo seguido de los datos.
+     */
+    private static int prefijar(byte[] prefix, byte[] data, int off, int len, byte[] out, int outOff) {
+        System.arraycopy(prefix, 0, out, outOff, prefix.length);
+        System.arraycopy(data, off, out, outOff + prefix.length, len);
+        return prefix.length + len;
+    }
+}
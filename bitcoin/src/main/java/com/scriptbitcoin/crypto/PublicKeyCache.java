@@ -0,0 +1,103 @@
+package com.scriptbitcoin.crypto;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.utils.ConcurrentLruCache;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Caché de claves públicas ya decodificadas, indexado por los bytes crudos de la clave (SEC).
+ * Cada entrada guarda el punto de la curva con su tabla de múltiplos impares, así verificar otra firma
+ * de la misma clave no vuelve a descomprimir (una raíz cuadrada modular) ni a construir la tabla.
+ * Las claves que se usan muchas veces (por ejemplo las de un exchange o custodio en multisig) pasan a ser
+ * "calientes" y reciben además las tablas por trozos de Secp256k1, que ahorran tres cuartas partes
+ * de las duplicaciones de cada verificación.
+ * Estado: completa
+ */
+public class PublicKeyCache {
+    /** Usos a partir de los cuales una clave recibe las tablas por trozos */
+    public static final int UMBRAL_CALIENTE_DEFECTO = 8;
+
+    private final ConcurrentLruCache<ScriptBytes, Entrada> cache;
+    private final int umbralCaliente;
+
+    /**
+     * @param capacidad numero maximo de claves guardadas
+     */
+    public PublicKeyCache(int capacidad) {
+        this(capacidad, UMBRAL_CALIENTE_DEFECTO);
+    }
+
+    /**
+     * @param capacidad numero maximo de claves guardadas
+     * @param umbralCaliente usos a partir de los cuales se precalculan las tablas por trozos
+     */
+    public PublicKeyCache(int capacidad, int umbralCaliente) {
+        if (umbralCaliente <= 0) {
+            throw new IllegalArgumentException("El umbral debe ser positivo: " + umbralCaliente);
+        }
+        this.cache = new ConcurrentLruCache<>(capacidad);
+        this.umbralCaliente = umbralCaliente;
+    }
+
+    /**
+     * Busca la clave en el cache o la decodifica y la guarda.
+     * @param data arreglo que contiene la clave
+     * @param off posicion inicial
+     * @param len longitud
+     * @return la clave lista para verificar
+     * @throws IllegalArgumentException si la clave es invalida (las claves invalidas no se guardan)
+     */
+    public Secp256k1.ClavePrecalculada get(byte[] data, int off, int len) {
+        ScriptBytes key = ScriptBytes.wrap(Arrays.copyOfRange(data, off, off + len));
+        Entrada entrada = cache.get(key);
+        if (entrada == null) {
+            entrada = new Entrada(Secp256k1.preparar(Secp256k1.decodePoint(data, off, len), false));
+            cache.put(key, entrada);
+        }
+        return entrada.usar(umbralCaliente);
+    }
+
+    /**
+     * @return el cache con sus contadores de aciertos, fallos y expulsiones
+     */
+    public ConcurrentLruCache<ScriptBytes, Entrada> getCache() {
+        return cache;
+    }
+
+    /**
+     * Una clave guardada: la version basica y, cuando se vuelve caliente, la dividida.
+     */
+    public static final class Entrada {
+        private final Secp256k1.ClavePrecalculada basica;
+        private final AtomicInteger usos = new AtomicInteger();
+        private volatile Secp256k1.ClavePrecalculada dividida;
+
+        Entrada(Secp256k1.ClavePrecalculada basica) {
+            this.basica = basica;
+        }
+
+        Secp256k1.ClavePrecalculada usar(int umbral) {
+            Secp256k1.ClavePrecalculada lista = dividida;
+            if (lista != null) {
+                return lista;
+            }
+            if (usos.incrementAndGet() == umbral) {
+                // solo el hilo que llega al umbral construye las tablas; los demas siguen con la basica
+                lista = Secp256k1.preparar(basica.getPunto(), true);
+                dividida = lista;
+                return lista;
+            }
+            return basica;
+        }
+
+        /**
+         * @return true si la clave ya tiene las tablas por trozos
+         */
+        public boolean isCaliente() {
+            return dividida != null;
+        }
+    }
+}
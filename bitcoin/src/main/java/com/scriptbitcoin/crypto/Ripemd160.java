@@ -0,0 +1,185 @@
+package com.scriptbitcoin.crypto;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Implementación en Java puro de RIPEMD-160 (la JVM estándar no la incluye).
+ * Se usa en HASH160. Una instancia no es segura para varios hilos; se reinicia sola al terminar cada hash
+ * para poder reutilizarla sin crear objetos.
+ * Estado: completa
+ */
+public final class Ripemd160 {
+    public static final int DIGEST_LENGTH = 20;
+
+    //palabra del mensaje que usa cada paso (linea izquierda y derecha)
+    private static final int[] RL = {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+        7, 4, 13, 1, 10, 6, 15, 3, 12, 0, 9, 5, 2, 14, 11, 8,
+        3, 10, 14, 4, 9, 15, 8, 1, 2, 7, 0, 6, 13, 11, 5, 12,
+        1, 9, 11, 10, 0, 8, 12, 4, 13, 3, 7, 15, 14, 5, 6, 2,
+        4, 0, 5, 9, 7, 12, 2, 10, 14, 1, 3, 8, 11, 6, 15, 13};
+    private static final int[] RR = {
+        5, 14, 7, 0, 9, 2, 11, 4, 13, 6, 15, 8, 1, 10, 3, 12,
+        6, 11, 3, 7, 0, 13, 5, 10, 14, 15, 8, 12, 4, 9, 1, 2,
+        15, 5, 1, 3, 7, 14, 6, 9, 11, 8, 12, 2, 10, 0, 4, 13,
+        8, 6, 4, 1, 3, 11, 15, 0, 5, 12, 2, 13, 9, 7, 10, 14,
+        12, 15, 10, 4, 1, 5, 8, 7, 6, 2, 13, 14, 0, 3, 9, 11};
+    //rotaciones de cada paso
+    private static final int[] SL = {
+        11, 14, 15, 12, 5, 8, 7, 9, 11, 13, 14, 15, 6, 7, 9, 8,
+        7, 6, 8, 13, 11, 9, 7, 15, 7, 12, 15, 9, 11, 7, 13, 12,
+        11, 13, 6, 7, 14, 9, 13, 15, 14, 8, 13, 6, 5, 12, 7, 5,
+        11, 12, 14, 15, 14, 15, 9, 8, 9, 14, 5, 6, 8, 6, 5, 12,
+        9, 15, 5, 11, 6, 8, 13, 12, 5, 12, 13, 14, 11, 8, 5, 6};
+    private static final int[] SR = {
+        8, 9, 9, 11, 13, 15, 15, 5, 7, 7, 8, 11, 14, 14, 12, 6,
+        9, 13, 15, 7, 12, 8, 9, 11, 7, 7, 12, 7, 6, 15, 13, 11,
+        9, 7, 15, 11, 8, 6, 6, 14, 12, 13, 5, 14, 13, 13, 7, 5,
+        15, 5, 8, 11, 14, 14, 6, 14, 6, 9, 12, 9, 12, 5, 15, 8,
+        8, 5, 12, 9, 12, 5, 14, 6, 8, 13, 6, 5, 15, 13, 11, 11};
+    private static final int[] KL = {0x00000000, 0x5a827999, 0x6ed9eba1, 0x8f1bbcdc, 0xa953fd4e};
+    private static final int[] KR = {0x50a28be6, 0x5c4dd124, 0x6d703ef3, 0x7a6d76e9, 0x00000000};
+
+    private final int[] h = new int[5];
+    private final int[] x = new int[16];
+    private final byte[] buffer = new byte[64];
+    private int bufferLen;
+    private long totalLen;
+
+    public Ripemd160() {
+        reset();
+    }
+
+    /**
+     * Vuelve al estado inicial.
+     */
+    public void reset() {
+        h[0] = 0x67452301;
+        h[1] = 0xefcdab89;
+        h[2] = 0x98badcfe;
+        h[3] = 0x10325476;
+        h[4] = 0xc3d2e1f0;
+        bufferLen = 0;
+        totalLen = 0;
+    }
+
+    /**
+     * Agrega datos al hash.
+     * @param data arreglo de entrada
+     * @param off posicion inicial
+     * @param len numero de bytes
+     */
+    public void update(byte[] data, int off, int len) {
+        totalLen += len;
+        if (bufferLen > 0) {
+            int n = Math.min(64 - bufferLen, len);
+            System.arraycopy(data, off, buffer, bufferLen, n);
+            bufferLen += n;
+            off += n;
+            len -= n;
+            if (bufferLen < 64) {
+                return;
+            }
+            compress(buffer, 0);
+            bufferLen = 0;
+        }
+        while (len >= 64) {
+            compress(data, off);
+            off += 64;
+            len -= 64;
+        }
+        System.arraycopy(data, off, buffer, 0, len);
+        bufferLen = len;
+    }
+
+    /**
+     * Termina el hash, escribe los 20 bytes en out y reinicia la instancia.
+     * @param out arreglo de salida
+     * @param outOff posicion donde se escribe el resultado
+     */
+    public void doFinal(byte[] out, int outOff) {
+        long bits = totalLen << 3;
+        buffer[bufferLen++] = (byte) 0x80;
+        if (bufferLen > 56) {
+            while (bufferLen < 64) {
+                buffer[bufferLen++] = 0;
+            }
+            compress(buffer, 0);
+            bufferLen = 0;
+        }
+        while (bufferLen < 56) {
+            buffer[bufferLen++] = 0;
+        }
+        // longitud en bits, little endian
+        for (int i = 0; i < 8; i++) {
+            buffer[56 + i] = (byte) (bits >>> (8 * i));
+        }
+        compress(buffer, 0);
+        for (int i = 0; i < 5; i++) {
+            int v = h[i];
+            out[outOff + 4 * i] = (byte) v;
+            out[outOff + 4 * i + 1] = (byte) (v >>> 8);
+            out[outOff + 4 * i + 2] = (byte) (v >>> 16);
+            out[outOff + 4 * i + 3] = (byte) (v >>> 24);
+        }
+        reset();
+    }
+
+    /**
+     * @param data los datos
+     * @return RIPEMD-160 de los datos en un arreglo nuevo
+     */
+    public static byte[] digest(byte[] data) {
+        Ripemd160 md = new Ripemd160();
+        md.update(data, 0, data.length);
+        byte[] out = new byte[DIGEST_LENGTH];
+        md.doFinal(out, 0);
+        return out;
+    }
+
+    //funcion no lineal de la ronda j (0..79)
+    private static int f(int j, int a, int b, int c) {
+        switch (j >>> 4) {
+            case 0:
+                return a ^ b ^ c;
+            case 1:
+                return (a & b) | (~a & c);
+            case 2:
+                return (a | ~b) ^ c;
+            case 3:
+                return (a & c) | (b & ~c);
+            default:
+                return a ^ (b | ~c);
+        }
+    }
+
+    //procesa un bloque de 64 bytes
+    private void compress(byte[] block, int off) {
+        for (int i = 0; i < 16; i++) {
+            int p = off + 4 * i;
+            x[i] = (block[p] & 0xFF) | (block[p + 1] & 0xFF) << 8 | (block[p + 2] & 0xFF) << 16 | (block[p + 3] & 0xFF) << 24;
+        }
+        int al = h[0], bl = h[1], cl = h[2], dl = h[3], el = h[4];
+        int ar = al, br = bl, cr = cl, dr = dl, er = el;
+        for (int j = 0; j < 80; j++) {
+            int round = j >>> 4;
+            int t = Integer.rotateLeft(al + f(j, bl, cl, dl) + x[RL[j]] + KL[round], SL[j]) + el;
+            al = el;
+            el = dl;
+            dl = Integer.rotateLeft(cl, 10);
+            cl = bl;
+            bl = t;
+            t = Integer.rotateLeft(ar + f(79 - j, br, cr, dr) + x[RR[j]] + KR[round], SR[j]) + er;
+            ar = er;
+            er = dr;
+            dr = Integer.rotateLeft(cr, 10);
+            cr = br;
+            br = t;
+        }
+        int t = h[1] + cl + dr;
+        h[1] = h[2] + dl + er;
+        h[2] = h[3] + el + ar;
+        h[3] = h[4] + al + br;
+        h[4] = h[0] + bl + cr;
+        h[0] = t;
+    }
+}
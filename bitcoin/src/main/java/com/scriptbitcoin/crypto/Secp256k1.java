@@ -0,0 +1,477 @@
+package com.scriptbitcoin.crypto;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Aritmética de la curva secp256k1 (y² = x³ + 7 sobre el primo P) y verificación ECDSA en Java puro.
+ *
+ * Los puntos intermedios se guardan en coordenadas jacobianas (X, Y, Z) para no invertir en cada suma.
+ * Los escalares se recorren en forma wNAF (dígitos impares con signo separados por ceros), así solo se
+ * suma cada pocos bits. Para G se construyen una sola vez, al cargar la clase, tablas con los múltiplos
+ * impares (ventana de 8 bits) de G, 2^64·G, 2^128·G y 2^192·G. La verificación calcula u1·G + u2·Q con
+ * el truco de Shamir: un solo recorrido de bits con las duplicaciones compartidas entre los escalares.
+ * Si la clave viene preparada con sus propias tablas por trozos (ClavePrecalculada), los escalares se parten
+ * en trozos de 64 bits y solo hacen falta 64 duplicaciones.
+ * Estado: completa
+ */
+public final class Secp256k1 {
+    /** Primo del campo */
+    public static final BigInteger P = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+    /** Orden del grupo */
+    public static final BigInteger N = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+    /** Punto generador */
+    public static final Punto G = new Punto(
+        new BigInteger("79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16),
+        new BigInteger("483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16));
+
+    private static final BigInteger SIETE = BigInteger.valueOf(7);
+    //P = 2^256 - C
+    private static final BigInteger C = BigInteger.ONE.shiftLeft(256).subtract(P);
+    private static final BigInteger MASCARA_256 = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+    //exponente para la raiz cuadrada (P = 3 mod 4)
+    private static final BigInteger EXP_RAIZ = P.add(BigInteger.ONE).shiftRight(2);
+    private static final Jacobiano INFINITO = new Jacobiano(BigInteger.ONE, BigInteger.ONE, BigInteger.ZERO);
+
+    /** Ventana wNAF de G y de las claves publicas */
+    static final int VENTANA_G = 8;
+    static final int VENTANA_CLAVE = 5;
+    //los escalares se pueden partir en 4 trozos de 64 bits
+    private static final int PARTES = 4;
+    private static final int BITS_TROZO = 64;
+    private static final BigInteger MASCARA_TROZO = BigInteger.ONE.shiftLeft(BITS_TROZO).subtract(BigInteger.ONE);
+
+    //multiplos impares de G, 2^64·G, 2^128·G y 2^192·G: TABLAS_G[j][i] = (2i + 1)·2^(64j)·G
+    private static final Punto[][] TABLAS_G = tablasPorTrozos(G, VENTANA_G);
+
+    private Secp256k1() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * Punto de la curva en coordenadas afines. Es inmutable.
+     */
+    public static final class Punto {
+        private final BigInteger x;
+        private final BigInteger y;
+
+        Punto(BigInteger x, BigInteger y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        public BigInteger getX() {
+            return x;
+        }
+
+        public BigInteger getY() {
+            return y;
+        }
+
+        /**
+         * @param comprimido true para el formato SEC de 33 bytes, false para el de 65
+         * @return el punto codificado en formato SEC
+         */
+        public byte[] encode(boolean comprimido) {
+            byte[] out = new byte[comprimido ? 33 : 65];
+            out[0] = (byte) (comprimido ? (y.testBit(0) ? 3 : 2) : 4);
+            escribir32(x, out, 1);
+            if (!comprimido) {
+                escribir32(y, out, 33);
+            }
+            return out;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Punto)) {
+                return false;
+            }
+            Punto other = (Punto) obj;
+            return x.equals(other.x) && y.equals(other.y);
+        }
+
+        @Override
+        public int hashCode() {
+            return x.hashCode() * 31 + y.hashCode();
+        }
+    }
+
+    /**
+     * Punto en coordenadas jacobianas: (X / Z², Y / Z³). Z = 0 es el punto en el infinito.
+     */
+    private static final class Jacobiano {
+        final BigInteger x;
+        final BigInteger y;
+        final BigInteger z;
+
+        Jacobiano(BigInteger x, BigInteger y, BigInteger z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+
+        boolean esInfinito() {
+            return z.signum() == 0;
+        }
+    }
+
+    ////////////// CODIFICACION //////////////
+
+    /**
+     * Decodifica una clave publica en formato SEC (33 bytes comprimida o 65 sin comprimir).
+     * @param data arreglo que contiene la clave
+     * @param off posicion inicial
+     * @param len longitud
+     * @return el punto
+     * @throws IllegalArgumentException si el formato es invalido o el punto no esta en la curva
+     */
+    public static Punto decodePoint(byte[] data, int off, int len) {
+        if (len == 33 && (data[off] == 2 || data[off] == 3)) {
+            BigInteger x = leer(data, off + 1, 32);
+            if (x.compareTo(P) >= 0) {
+                throw new IllegalArgumentException("Clave publica invalida: x fuera del campo");
+            }
+            BigInteger y2 = ladoDerecho(x);
+            BigInteger y = y2.modPow(EXP_RAIZ, P);
+            if (!sqr(y).equals(y2)) {
+                throw new IllegalArgumentException("Clave publica invalida: el punto no esta en la curva");
+            }
+            if (y.testBit(0) != (data[off] == 3)) {
+                y = P.subtract(y);
+            }
+            return new Punto(x, y);
+        }
+        if (len == 65 && data[off] == 4) {
+            BigInteger x = leer(data, off + 1, 32);
+            BigInteger y = leer(data, off + 33, 32);
+            if (x.compareTo(P) >= 0 || y.compareTo(P) >= 0 || !sqr(y).equals(ladoDerecho(x))) {
+                throw new IllegalArgumentException("Clave publica invalida: el punto no esta en la curva");
+            }
+            return new Punto(x, y);
+        }
+        throw new IllegalArgumentException("Clave publica invalida: formato SEC desconocido");
+    }
+
+    /**
+     * @param data arreglo con un entero big-endian sin signo
+     * @return el entero
+     */
+    static BigInteger leer(byte[] data, int off, int len) {
+        return new BigInteger(1, Arrays.copyOfRange(data, off, off + len));
+    }
+
+    private static void escribir32(BigInteger value, byte[] out, int off) {
+        byte[] bytes = value.toByteArray();
+        int n = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - n, out, off + 32 - n, n);
+    }
+
+    //x³ + 7 mod P
+    private static BigInteger ladoDerecho(BigInteger x) {
+        return add(mul(sqr(x), x), SIETE);
+    }
+
+    ////////////// ECDSA //////////////
+
+    /**
+     * Clave publica lista para verificar: el punto y las tablas de multiplos impares que usa el truco de Shamir.
+     * La version basica tiene una tabla de Q; la dividida tiene una tabla para cada 2^(64j)·Q (j = 0..3),
+     * asi el escalar se parte en cuatro trozos de 64 bits y la verificacion solo hace 64 duplicaciones
+     * en lugar de 256. Es inmutable y se puede compartir entre hilos.
+     */
+    public static final class ClavePrecalculada {
+        private final Punto punto;
+        private final Punto[][] tablas;
+        private final int ventana;
+
+        ClavePrecalculada(Punto punto, Punto[][] tablas, int ventana) {
+            this.punto = punto;
+            this.tablas = tablas;
+            this.ventana = ventana;
+        }
+
+        public Punto getPunto() {
+            return punto;
+        }
+
+        /**
+         * @return true si tiene las tablas de los cuatro trozos de 64 bits
+         */
+        public boolean isDividida() {
+            return tablas.length == PARTES;
+        }
+    }
+
+    /**
+     * Prepara una clave publica para verificar varias firmas.
+     * @param q la clave publica
+     * @param dividida true para calcular tambien las tablas por trozos (mas memoria, verificacion mas rapida)
+     * @return la clave con sus tablas
+     */
+    public static ClavePrecalculada preparar(Punto q, boolean dividida) {
+        if (!dividida) {
+            return new ClavePrecalculada(q, new Punto[][] {multiplosImpares(q, VENTANA_CLAVE)}, VENTANA_CLAVE);
+        }
+        return new ClavePrecalculada(q, tablasPorTrozos(q, VENTANA_CLAVE), VENTANA_CLAVE);
+    }
+
+    /**
+     * Verifica una firma ECDSA.
+     * @param z el hash del mensaje como entero
+     * @param r componente r de la firma
+     * @param s componente s de la firma
+     * @param q la clave publica
+     * @return true si la firma es valida
+     */
+    public static boolean verify(BigInteger z, BigInteger r, BigInteger s, Punto q) {
+        return verify(z, r, s, preparar(q, false));
+    }
+
+    /**
+     * Verifica una firma ECDSA con una clave ya preparada (por ejemplo desde PublicKeyCache).
+     * @param z el hash del mensaje como entero
+     * @param r componente r de la firma
+     * @param s componente s de la firma
+     * @param clave la clave publica con sus tablas
+     * @return true si la firma es valida
+     */
+    public static boolean verify(BigInteger z, BigInteger r, BigInteger s, ClavePrecalculada clave) {
+        if (r.signum() <= 0 || r.compareTo(N) >= 0 || s.signum() <= 0 || s.compareTo(N) >= 0) {
+            return false;
+        }
+        BigInteger w = s.modInverse(N);
+        BigInteger u1 = z.mod(N).multiply(w).mod(N);
+        BigInteger u2 = r.multiply(w).mod(N);
+        Jacobiano punto;
+        if (clave.isDividida()) {
+            // ocho escalares de 64 bits: 4 trozos de u1 sobre G y 4 de u2 sobre Q
+            int[][] nafs = new int[2 * PARTES][];
+            Punto[][] tablas = new Punto[2 * PARTES][];
+            for (int j = 0; j < PARTES; j++) {
+                nafs[j] = wnaf(trozo(u1, j), VENTANA_G);
+                tablas[j] = TABLAS_G[j];
+                nafs[PARTES + j] = wnaf(trozo(u2, j), clave.ventana);
+                tablas[PARTES + j] = clave.tablas[j];
+            }
+            punto = shamir(nafs, tablas);
+        } else {
+            punto = shamir(new int[][] {wnaf(u1, VENTANA_G), wnaf(u2, clave.ventana)},
+                           new Punto[][] {TABLAS_G[0], clave.tablas[0]});
+        }
+        if (punto.esInfinito()) {
+            return false;
+        }
+        // x afin = X / Z²; en lugar de invertir Z se compara r·Z² con X (y (r + N)·Z² si r + N < P)
+        BigInteger z2 = sqr(punto.z);
+        if (mul(r, z2).equals(punto.x)) {
+            return true;
+        }
+        BigInteger rn = r.add(N);
+        return rn.compareTo(P) < 0 && mul(rn, z2).equals(punto.x);
+    }
+
+    /**
+     * @param k escalar entre 1 y N - 1
+     * @return k·G usando las tablas precalculadas de G
+     */
+    public static Punto multiplyG(BigInteger k) {
+        if (k.signum() <= 0 || k.compareTo(N) >= 0) {
+            throw new IllegalArgumentException("Escalar fuera de rango");
+        }
+        int[][] nafs = new int[PARTES][];
+        for (int j = 0; j < PARTES; j++) {
+            nafs[j] = wnaf(trozo(k, j), VENTANA_G);
+        }
+        return aAfin(new Jacobiano[] {shamir(nafs, TABLAS_G)})[0];
+    }
+
+    //bits [64j, 64j + 64) del escalar
+    private static BigInteger trozo(BigInteger k, int j) {
+        return k.shiftRight(BITS_TROZO * j).and(MASCARA_TROZO);
+    }
+
+    /**
+     * Suma de varios k_i·P_i en un solo recorrido (truco de Shamir): se duplica una vez por bit
+     * y se suma el digito wNAF de cada escalar desde su tabla de multiplos impares.
+     */
+    private static Jacobiano shamir(int[][] nafs, Punto[][] tablas) {
+        int largo = 0;
+        for (int[] naf : nafs) {
+            largo = Math.max(largo, naf.length);
+        }
+        Jacobiano r = INFINITO;
+        for (int i = largo - 1; i >= 0; i--) {
+            r = doble(r);
+            for (int t = 0; t < nafs.length; t++) {
+                if (i < nafs[t].length && nafs[t][i] != 0) {
+                    r = sumarDigito(r, tablas[t], nafs[t][i]);
+                }
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Tablas de multiplos impares de p, 2^64·p, 2^128·p y 2^192·p.
+     */
+    private static Punto[][] tablasPorTrozos(Punto p, int w) {
+        Punto[][] tablas = new Punto[PARTES][];
+        Punto base = p;
+        for (int j = 0; j < PARTES; j++) {
+            tablas[j] = multiplosImpares(base, w);
+            if (j + 1 < PARTES) {
+                Jacobiano jac = new Jacobiano(base.x, base.y, BigInteger.ONE);
+                for (int i = 0; i < BITS_TROZO; i++) {
+                    jac = doble(jac);
+                }
+                base = aAfin(new Jacobiano[] {jac})[0];
+            }
+        }
+        return tablas;
+    }
+
+    //suma el multiplo impar d·P de la tabla (negado si d < 0)
+    private static Jacobiano sumarDigito(Jacobiano r, Punto[] tabla, int d) {
+        Punto p = tabla[(Math.abs(d) - 1) >>> 1];
+        return sumaMixta(r, p.x, d > 0 ? p.y : P.subtract(p.y));
+    }
+
+    /**
+     * Forma wNAF de k: digitos impares entre -(2^(w-1)) y 2^(w-1), con al menos w - 1 ceros entre dos digitos.
+     * El digito i tiene peso 2^i.
+     */
+    static int[] wnaf(BigInteger k, int w) {
+        int[] naf = new int[k.bitLength() + 1];
+        int modulo = 1 << w;
+        int mitad = modulo >>> 1;
+        int i = 0;
+        while (k.signum() > 0) {
+            if (k.testBit(0)) {
+                int d = k.intValue() & (modulo - 1);
+                if (d >= mitad) {
+                    d -= modulo;
+                }
+                naf[i] = d;
+                k = k.subtract(BigInteger.valueOf(d));
+            }
+            k = k.shiftRight(1);
+            i++;
+        }
+        return naf;
+    }
+
+    /**
+     * @return (1·p, 3·p, 5·p, ..., (2^(w-1) - 1)·p) en coordenadas afines
+     */
+    static Punto[] multiplosImpares(Punto p, int w) {
+        int n = 1 << (w - 2);
+        Jacobiano[] jac = new Jacobiano[n];
+        jac[0] = new Jacobiano(p.x, p.y, BigInteger.ONE);
+        if (n > 1) {
+            Punto doble = aAfin(new Jacobiano[] {doble(jac[0])})[0];
+            for (int i = 1; i < n; i++) {
+                jac[i] = sumaMixta(jac[i - 1], doble.x, doble.y);
+            }
+        }
+        return aAfin(jac);
+    }
+
+    /**
+     * Convierte varios puntos a coordenadas afines con una sola inversion (truco de Montgomery).
+     */
+    private static Punto[] aAfin(Jacobiano[] puntos) {
+        int n = puntos.length;
+        BigInteger[] acumulado = new BigInteger[n];
+        BigInteger producto = BigInteger.ONE;
+        for (int i = 0; i < n; i++) {
+            if (puntos[i].esInfinito()) {
+                throw new IllegalArgumentException("El punto en el infinito no tiene coordenadas afines");
+            }
+            producto = mul(producto, puntos[i].z);
+            acumulado[i] = producto;
+        }
+        BigInteger inverso = producto.modInverse(P);
+        Punto[] afines = new Punto[n];
+        for (int i = n - 1; i >= 0; i--) {
+            BigInteger zInv = i == 0 ? inverso : mul(inverso, acumulado[i - 1]);
+            inverso = mul(inverso, puntos[i].z);
+            BigInteger zInv2 = sqr(zInv);
+            afines[i] = new Punto(mul(puntos[i].x, zInv2), mul(puntos[i].y, mul(zInv2, zInv)));
+        }
+        return afines;
+    }
+
+    ////////////// OPERACIONES DE PUNTOS //////////////
+
+    //duplicacion jacobiana para a = 0 (dbl-2009-l)
+    private static Jacobiano doble(Jacobiano p) {
+        if (p.esInfinito() || p.y.signum() == 0) {
+            return INFINITO;
+        }
+        BigInteger a = sqr(p.x);
+        BigInteger b = sqr(p.y);
+        BigInteger c = sqr(b);
+        BigInteger d = sub(sqr(add(p.x, b)), add(a, c));
+        d = add(d, d);
+        BigInteger e = add(add(a, a), a);
+        BigInteger x3 = sub(sqr(e), add(d, d));
+        BigInteger y3 = sub(mul(e, sub(d, x3)), reducir(c.shiftLeft(3)));
+        BigInteger z3 = reducir(mul(p.y, p.z).shiftLeft(1));
+        return new Jacobiano(x3, y3, z3);
+    }
+
+    //suma de un punto jacobiano con uno afin (qx, qy)
+    private static Jacobiano sumaMixta(Jacobiano p, BigInteger qx, BigInteger qy) {
+        if (p.esInfinito()) {
+            return new Jacobiano(qx, qy, BigInteger.ONE);
+        }
+        BigInteger z1z1 = sqr(p.z);
+        BigInteger u2 = mul(qx, z1z1);
+        BigInteger s2 = mul(qy, mul(p.z, z1z1));
+        BigInteger h = sub(u2, p.x);
+        BigInteger r = sub(s2, p.y);
+        if (h.signum() == 0) {
+            return r.signum() == 0 ? doble(p) : INFINITO;
+        }
+        BigInteger h2 = sqr(h);
+        BigInteger h3 = mul(h, h2);
+        BigInteger u1h2 = mul(p.x, h2);
+        BigInteger x3 = sub(sub(sqr(r), h3), add(u1h2, u1h2));
+        BigInteger y3 = sub(mul(r, sub(u1h2, x3)), mul(p.y, h3));
+        BigInteger z3 = mul(p.z, h);
+        return new Jacobiano(x3, y3, z3);
+    }
+
+    ////////////// CAMPO //////////////
+
+    private static BigInteger mul(BigInteger a, BigInteger b) {
+        return reducir(a.multiply(b));
+    }
+
+    private static BigInteger sqr(BigInteger a) {
+        return reducir(a.multiply(a));
+    }
+
+    /**
+     * a mod P para 0 <= a < P². Como P = 2^256 - C con C pequeño, alto·2^256 + bajo = alto·C + bajo (mod P),
+     * que es mucho más rápido que la división de BigInteger.mod.
+     */
+    private static BigInteger reducir(BigInteger a) {
+        while (a.bitLength() > 256) {
+            a = a.shiftRight(256).multiply(C).add(a.and(MASCARA_256));
+        }
+        return a.compareTo(P) >= 0 ? a.subtract(P) : a;
+    }
+
+    private static BigInteger add(BigInteger a, BigInteger b) {
+        BigInteger r = a.add(b);
+        return r.compareTo(P) >= 0 ? r.subtract(P) : r;
+    }
+
+    private static BigInteger sub(BigInteger a, BigInteger b) {
+        BigInteger r = a.subtract(b);
+        return r.signum() < 0 ? r.add(P) : r;
+    }
+}
@@ -0,0 +1,43 @@
+package com.scriptbitcoin.crypto;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Interfaz para verificar una firma contra una clave pública.
+ * OP_CHECKSIG, OP_CHECKSIGVERIFY, OP_CHECKMULTISIG y OP_CHECKMULTISIGVERIFY reciben la misma instancia
+ * en cada ejecución, en lugar de consultar mapas estáticos globales.
+ * Los datos se pasan como rangos de arreglos para poder leerlos en su lugar dentro de la pila.
+ * Las implementaciones deben ser seguras para usarse desde varios hilos.
+ */
+public interface SignatureChecker {
+    /** Verificador que rechaza todas las firmas */
+    SignatureChecker NONE = new SignatureChecker() {
+        @Override
+        public boolean verify(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+            return false;
+        }
+    };
+
+    /**
+     * Verifica una firma contra una clave publica.
+     *
+     * @param sig arreglo que contiene la firma
+     * @param sigOff posicion de la firma
+     * @param sigLen longitud de la firma
+     * @param pubKey arreglo que contiene la clave publica
+     * @param keyOff posicion de la clave
+     * @param keyLen longitud de la clave
+     * @return true si la firma es valida para esa clave
+     */
+    boolean verify(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen);
+
+    /**
+     * Igual que el anterior, con arreglos completos.
+     *
+     * @param sig la firma
+     * @param pubKey la clave publica
+     * @return true si la firma es valida para esa clave
+     */
+    default boolean verify(byte[] sig, byte[] pubKey) {
+        return verify(sig, 0, sig.length, pubKey, 0, pubKey.length);
+    }
+}
@@ -0,0 +1,179 @@
+package com.scriptbitcoin.crypto;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Registro de pares (firma, clave pública) válidos que reemplaza a los mapas estáticos
+ * de Firmas y Desafio. Usa copy-on-write: cada registro crea una tabla nueva e inmutable y la publica
+ * en una variable volatile, así las verificaciones nunca toman un lock aunque otro hilo esté
+ * agregando claves al mismo tiempo.
+ *
+ * La tabla es de direccionamiento abierto (sondeo lineal) indexada directamente por los bytes de la firma
+ * y de la clave, con un hash de 64 bits precalculado para cada par. Una verificación calcula el hash sobre
+ * los rangos recibidos (por ejemplo dentro de la arena de la pila) y compara los bytes en su lugar,
+ * sin crear ningún objeto.
+ * Estado: completa
+ */
+public final class SignatureRegistry implements SignatureChecker {
+    //tabla publicada actualmente, nunca se modifica despues de publicarse
+    private volatile Snapshot current = Snapshot.EMPTY;
+
+    /**
+     * Registra un par (firma, clave publica) como valido.
+     *
+     * @param signature la firma (como byte array)
+     * @param pubKey la clave publica (como byte array)
+     */
+    public synchronized void register(byte[] signature, byte[] pubKey) {
+        current = current.with(signature.clone(), pubKey.clone());
+    }
+
+    /**
+     * Elimina todos los pares registrados.
+     */
+    public synchronized void clear() {
+        current = Snapshot.EMPTY;
+    }
+
+    /**
+     * @return un verificador inmutable con los pares registrados en este momento,
+     *         útil para validar un lote completo con el mismo conjunto de claves
+     */
+    public SignatureChecker snapshot() {
+        return current;
+    }
+
+    /**
+     * @return numero de pares registrados
+     */
+    public int size() {
+        return current.count;
+    }
+
+    @Override
+    public boolean verify(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+        return current.verify(sig, sigOff, sigLen, pubKey, keyOff, keyLen);
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a con mezcla final) del par. Incluye la longitud de la firma para que
+     * ("ab","c") y ("a","bc") tengan hash distinto.
+     */
+    static long hash(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+        long h = 0xcbf29ce484222325L ^ sigLen;
+        for (int i = 0; i < sigLen; i++) {
+            h = (h ^ (sig[sigOff + i] & 0xFF)) * 0x100000001b3L;
+        }
+        for (int i = 0; i < keyLen; i++) {
+            h = (h ^ (pubKey[keyOff + i] & 0xFF)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static boolean rangeEquals(byte[] stored, byte[] data, int off, int len) {
+        if (stored.length != len) {
+            return false;
+        }
+        for (int i = 0; i < len; i++) {
+            if (stored[i] != data[off + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tabla inmutable de pares validos. Las posiciones libres tienen firma null.
+     */
+    private static final class Snapshot implements SignatureChecker {
+        static final Snapshot EMPTY = new Snapshot(new long[1], new byte[1][], new byte[1][], 0);
+
+        private final long[] hashes;
+        private final byte[][] firmas;
+        private final byte[][] claves;
+        private final int mask;
+        private final int count;
+
+        Snapshot(long[] hashes, byte[][] firmas, byte[][] claves, int count) {
+            this.hashes = hashes;
+            this.firmas = firmas;
+            this.claves = claves;
+            this.mask = hashes.length - 1;
+            this.count = count;
+        }
+
+        @Override
+        public boolean verify(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+            if (count == 0) {
+                return false;
+            }
+            return find(hash(sig, sigOff, sigLen, pubKey, keyOff, keyLen), sig, sigOff, sigLen, pubKey, keyOff, keyLen) >= 0;
+        }
+
+        /**
+         * @return la posicion del par o -(posicion libre + 1) si no esta
+         */
+        private int find(long h, byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+            int slot = (int) h & mask;
+            while (firmas[slot] != null) {
+                if (hashes[slot] == h
+                        && rangeEquals(firmas[slot], sig, sigOff, sigLen)
+                        && rangeEquals(claves[slot], pubKey, keyOff, keyLen)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -(slot + 1);
+        }
+
+        /**
+         * @return una tabla nueva con el par agregado (esta no se modifica)
+         */
+        Snapshot with(byte[] sig, byte[] pubKey) {
+            long h = hash(sig, 0, sig.length, pubKey, 0, pubKey.length);
+            if (count > 0 && find(h, sig, 0, sig.length, pubKey, 0, pubKey.length) >= 0) {
+                return this;
+            }
+            // Factor de carga maximo de 1/2 para que los sondeos sean cortos
+            int capacidad = hashes.length;
+            while (capacidad < (count + 1) * 2) {
+                capacidad <<= 1;
+            }
+            Snapshot copia;
+            if (capacidad == hashes.length) {
+                copia = new Snapshot(hashes.clone(), firmas.clone(), claves.clone(), count);
+            } else {
+                copia = new Snapshot(new long[capacidad], new byte[capacidad][], new byte[capacidad][], count);
+                for (int i = 0; i < firmas.length; i++) {
+                    if (firmas[i] != null) {
+                        copia.insert(hashes[i], firmas[i], claves[i]);
+                    }
+                }
+            }
+            return copia.insertNew(h, sig, pubKey);
+        }
+
+        private Snapshot insertNew(long h, byte[] sig, byte[] pubKey) {
+            insert(h, sig, pubKey);
+            return new Snapshot(hashes, firmas, claves, count + 1);
+        }
+
+        //solo se usa mientras se construye una tabla nueva, antes de publicarla
+        private void insert(long h, byte[] sig, byte[] pubKey) {
+            int slot = (int) h & mask;
+            while (firmas[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = h;
+            firmas[slot] = sig;
+            claves[slot] = pubKey;
+        }
+
+        @Override
+        public String toString() {
+            return "SignatureRegistry.Snapshot[" + count + " pares, capacidad " + hashes.length + "]";
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.scriptbitcoin.interpreters;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Resultado de validar un lote de scripts con BatchValidator.
+ * Guarda el resultado de cada script en el mismo orden de entrada, cuántos fueron válidos e inválidos
+ * y cuántas veces apareció cada motivo de fallo.
+ * Estado: completa
+ */
+public class BatchResult {
+    //resultados en el orden de entrada
+    private final List<ScriptResult> resultados;
+    private final int validos;
+    private final int invalidos;
+    //mensaje de error -> numero de scripts que fallaron con ese mensaje (en orden de aparicion)
+    private final Map<String, Integer> motivosFallo;
+
+    //Constructor
+    BatchResult(ScriptResult[] resultados) {
+        this.resultados = Collections.unmodifiableList(Arrays.asList(resultados));
+        int ok = 0;
+        Map<String, Integer> motivos = new LinkedHashMap<>();
+        for (ScriptResult resultado : resultados) {
+            if (resultado.isExito()) {
+                ok++;
+            } else {
+                Integer actual = motivos.get(resultado.getMensaje());
+                motivos.put(resultado.getMensaje(), actual == null ? 1 : actual + 1);
+            }
+        }
+        this.validos = ok;
+        this.invalidos = resultados.length - ok;
+        this.motivosFallo = Collections.unmodifiableMap(motivos);
+    }
+
+    //metodos
+
+    public List<ScriptResult> getResultados() {
+        return resultados;
+    }
+
+    public ScriptResult getResultado(int index) {
+        return resultados.get(index);
+    }
+
+    public int size() {
+        return resultados.size();
+    }
+
+    public int getValidos() {
+        return validos;
+    }
+
+    public int getInvalidos() {
+        return invalidos;
+    }
+
+    public Map<String, Integer> getMotivosFallo() {
+        return motivosFallo;
+    }
+
+    @Override
+    public String toString() {
+        return "VALID: " + validos + ", INVALID: " + invalidos + " " + motivosFallo;
+    }
+}
@@ -0,0 +1,129 @@
+package com.scriptbitcoin.interpreters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.utils.ScriptValores;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Valida muchos scripts en paralelo usando un ForkJoinPool.
+ * El lote se divide recursivamente en rangos de índices: cada hoja tokeniza y ejecuta sus scripts
+ * y escribe el resultado en la misma posición de un arreglo compartido, así el orden de entrada
+ * se conserva sin sincronizar nada. Los hilos libres roban mitades pendientes (work stealing),
+ * lo que reparte bien la carga aunque unos scripts tarden más que otros.
+ * Estado: completa
+ */
+public class BatchValidator {
+    //scripts por hoja: menos que esto no compensa crear otra tarea
+    private static final int MIN_POR_TAREA = 16;
+    //tareas por hilo del pool, para que haya trabajo que robar
+    private static final int TAREAS_POR_HILO = 8;
+
+    //el interprete no tiene estado mutable, se comparte entre todos los hilos
+    private final ScriptInterpreter interpreter;
+    //el tokenizador solo lee su mapa de opcodes, tambien se comparte
+    private final ScriptValores tokenizer;
+    private final ForkJoinPool pool;
+
+    /**
+     * Valida en el pool común de la JVM.
+     * @param interpreter el intérprete (con su verificador de firmas) que se usa para cada script
+     */
+    public BatchValidator(ScriptInterpreter interpreter) {
+        this(interpreter, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param interpreter el intérprete (con su verificador de firmas) que se usa para cada script
+     * @param pool pool donde se ejecutan las tareas
+     */
+    public BatchValidator(ScriptInterpreter interpreter, ForkJoinPool pool) {
+        if (interpreter == null || pool == null) {
+            throw new IllegalArgumentException("El intérprete y el pool no pueden ser null");
+        }
+        this.interpreter = interpreter;
+        this.tokenizer = new ScriptValores();
+        this.pool = pool;
+    }
+
+    /**
+     * Tokeniza y ejecuta todos los scripts. Un script con un token no reconocido cuenta como inválido
+     * con el mensaje "Error de tokenizacion: ...".
+     * @param scripts los scripts en formato texto
+     * @return los resultados en el mismo orden de entrada y sus totales
+     */
+    public BatchResult validate(Collection<String> scripts) {
+        return validate(scripts, null);
+    }
+
+    /**
+     * Igual que validate(Collection) avisando cada ejecución a un listener. El mismo listener se usa desde
+     * todos los hilos del pool a la vez, así que debe soportarlo (por ejemplo AsyncTraceSink).
+     * @param scripts los scripts en formato texto
+     * @param listener el listener de las ejecuciones, o null
+     * @return los resultados en el mismo orden de entrada y sus totales
+     */
+    public BatchResult validate(Collection<String> scripts, ExecutionListener listener) {
+        String[] entrada = scripts.toArray(new String[0]);
+        ScriptResult[] resultados = new ScriptResult[entrada.length];
+        if (entrada.length > 0) {
+            int umbral = Math.max(MIN_POR_TAREA, entrada.length / (pool.getParallelism() * TAREAS_POR_HILO));
+            pool.invoke(new ValidarRango(entrada, resultados, 0, entrada.length, umbral, listener));
+        }
+        return new BatchResult(resultados);
+    }
+
+    /**
+     * Tokeniza y ejecuta un solo script (lo que hace cada hoja para cada índice).
+     */
+    private ScriptResult validarUno(String script, ExecutionListener listener) {
+        List<Valor> tokens = new ArrayList<>();
+        String error = tokenizer.tokenize(script, tokens);
+        if (error != null) {
+            return new ScriptResult(false, "Error de tokenizacion: Token no reconocido: " + error, new ArrayDeque<byte[]>());
+        }
+        return interpreter.execute(tokens, listener);
+    }
+
+    /**
+     * Tarea que valida los scripts del rango [desde, hasta).
+     */
+    private final class ValidarRango extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final String[] entrada;
+        private final ScriptResult[] resultados;
+        private final int desde;
+        private final int hasta;
+        private final int umbral;
+        private final ExecutionListener listener;
+
+        ValidarRango(String[] entrada, ScriptResult[] resultados, int desde, int hasta, int umbral, ExecutionListener listener) {
+            this.entrada = entrada;
+            this.resultados = resultados;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.umbral = umbral;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= umbral) {
+                for (int i = desde; i < hasta; i++) {
+                    resultados[i] = validarUno(entrada[i], listener);
+                }
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new ValidarRango(entrada, resultados, desde, mitad, umbral, listener),
+                      new ValidarRango(entrada, resultados, mitad, hasta, umbral, listener));
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.scriptbitcoin.interpreters;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.scriptbitcoin.crypto.DigestHashProvider;
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.utils.ConcurrentLruCache;
+import com.scriptbitcoin.utils.ScriptValores;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Caché de scripts compilados con dos niveles, indexado por el SHA-256 del texto del script.
+ *   - Nivel caliente: ConcurrentLruCache de ScriptProgram en memoria.
+ *   - Nivel frío (opcional): archivo mapeado en memoria donde se guardan, en el formato de ScriptProgramFormat,
+ *     los programas que el LRU expulsa y los que quedan en memoria al cerrar. Al abrir el archivo se reconstruye
+ *     su índice, así los scripts compilados sobreviven a un reinicio.
+ * Un acierto frío lee el programa del archivo (sin tokenizar ni compilar) y lo vuelve a subir al nivel caliente.
+ * El LRU avisa las expulsiones con el lock de su segmento tomado, así que ahí solo se encolan; el hilo que
+ * provocó la expulsión las escribe en el archivo después, ya sin el lock.
+ * El archivo solo crece: cuando se llena, las nuevas expulsiones ya no se guardan. Si su cabecera no corresponde
+ * al conjunto de instrucciones actual se descarta y se empieza vacío.
+ * Los scripts con errores de tokenización o de compilación no se guardan (la excepción llega al que llama).
+ * Estado: completa
+ */
+public final class CompiledScriptCache implements Closeable {
+    private static final int DIGEST = DigestHashProvider.SHA256_LENGTH;
+
+    private final ScriptValores tokenizer = new ScriptValores();
+    private final ConcurrentLruCache<ScriptBytes, ScriptProgram> caliente;
+    //null si el cache es solo de memoria
+    private final NivelFrio frio;
+    //programas expulsados que todavia no se escriben en el nivel frio
+    private final ConcurrentLinkedQueue<Map.Entry<ScriptBytes, ScriptProgram>> expulsados = new ConcurrentLinkedQueue<>();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder aciertosFrios = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+
+    /**
+     * Cache solo en memoria.
+     * @param capacidad numero maximo de programas en memoria
+     */
+    public CompiledScriptCache(int capacidad) {
+        this.caliente = new ConcurrentLruCache<>(capacidad);
+        this.frio = null;
+    }
+
+    /**
+     * Cache con nivel frio en un archivo mapeado (se crea si no existe, o se recarga si ya tiene programas).
+     * @param capacidad numero maximo de programas en memoria
+     * @param archivo archivo del nivel frio
+     * @param tamanoArchivo tamaño maximo del archivo en bytes
+     * @throws IOException si no se puede abrir o mapear el archivo
+     */
+    public CompiledScriptCache(int capacidad, Path archivo, int tamanoArchivo) throws IOException {
+        this.frio = new NivelFrio(archivo, tamanoArchivo);
+        this.caliente = new ConcurrentLruCache<>(capacidad, Long.MAX_VALUE, null, this::expulsado);
+    }
+
+    /**
+     * @param script el script en texto
+     * @return el programa compilado (del cache o recien compilado)
+     * @throws IllegalArgumentException si el script tiene un token no reconocido
+     * @throws ExceptionsInterpreter si los IF/ELSE/ENDIF estan desbalanceados
+     */
+    public ScriptProgram get(String script) {
+        ScriptBytes clave = digest(script);
+        ScriptProgram programa = caliente.get(clave);
+        if (programa != null) {
+            aciertos.increment();
+            return programa;
+        }
+        if (frio != null) {
+            programa = frio.leer(clave);
+            if (programa != null) {
+                aciertosFrios.increment();
+                caliente.put(clave, programa);
+                guardarExpulsados();
+                return programa;
+            }
+        }
+        fallos.increment();
+        programa = ScriptCompiler.compile(tokenizer.tokenize(script));
+        caliente.put(clave, programa);
+        guardarExpulsados();
+        return programa;
+    }
+
+    /**
+     * Aviso de expulsion del LRU (con el lock del segmento tomado): solo encola el programa.
+     */
+    private void expulsado(ScriptBytes clave, ScriptProgram programa) {
+        expulsados.offer(new AbstractMap.SimpleImmutableEntry<>(clave, programa));
+    }
+
+    /**
+     * Escribe en el nivel frio los programas expulsados pendientes (sin ningun lock del LRU tomado).
+     */
+    private void guardarExpulsados() {
+        if (frio == null) {
+            return;
+        }
+        Map.Entry<ScriptBytes, ScriptProgram> entrada;
+        while ((entrada = expulsados.poll()) != null) {
+            frio.guardar(entrada.getKey(), entrada.getValue());
+        }
+    }
+
+    private static ScriptBytes digest(String script) {
+        byte[] data = script.getBytes(StandardCharsets.UTF_8);
+        byte[] out = new byte[DIGEST];
+        DigestHashProvider.INSTANCE.sha256(data, 0, data.length, out, 0);
+        return ScriptBytes.wrap(out);
+    }
+
+    /**
+     * @return numero de programas en memoria
+     */
+    public int size() {
+        return caliente.size();
+    }
+
+    /**
+     * @return numero de programas guardados en el archivo (0 sin nivel frio)
+     */
+    public int getEntradasFrias() {
+        return frio == null ? 0 : frio.indice.size();
+    }
+
+    /** @return aciertos del nivel caliente */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /** @return aciertos del nivel frio (programas leidos del archivo) */
+    public long getAciertosFrios() {
+        return aciertosFrios.sum();
+    }
+
+    /** @return scripts que hubo que tokenizar y compilar */
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /** @return programas expulsados del nivel caliente */
+    public long getExpulsiones() {
+        return caliente.getExpulsiones();
+    }
+
+    /**
+     * Guarda en el archivo los programas que siguen en memoria y lo cierra. Sin nivel frio no hace nada.
+     */
+    @Override
+    public void close() throws IOException {
+        if (frio != null) {
+            guardarExpulsados();
+            // se copian primero para no escribir el archivo con el lock de cada segmento tomado
+            List<Map.Entry<ScriptBytes, ScriptProgram>> enMemoria = new ArrayList<>(caliente.size());
+            caliente.forEach((clave, programa) -> enMemoria.add(new AbstractMap.SimpleImmutableEntry<>(clave, programa)));
+            for (Map.Entry<ScriptBytes, ScriptProgram> entrada : enMemoria) {
+                frio.guardar(entrada.getKey(), entrada.getValue());
+            }
+            frio.cerrar();
+        }
+    }
+
+    /**
+     * Archivo mapeado con una cabecera (magia y huella de ScriptProgramFormat) seguida de registros
+     * [digest de 32 bytes][longitud int][programa serializado]. La longitud se escribe al final, así un registro
+     * a medio escribir queda con longitud 0 y marca el fin al reconstruir el indice.
+     */
+    private static final class NivelFrio {
+        private static final int MAGIA = 0x42534343; // "BSCC"
+        private static final int CABECERA = 8;
+        private static final int REGISTRO = DIGEST + 4;
+
+        private final FileChannel channel;
+        private final MappedByteBuffer mapa;
+        //digest -> posicion del registro en el archivo
+        private final ConcurrentHashMap<ScriptBytes, Integer> indice = new ConcurrentHashMap<>();
+        //primer byte libre, solo se modifica con el lock de this
+        private int fin;
+        private volatile boolean cerrado;
+
+        NivelFrio(Path archivo, int tamano) throws IOException {
+            if (tamano <= CABECERA + REGISTRO) {
+                throw new IllegalArgumentException("Tamaño de archivo demasiado pequeño: " + tamano);
+            }
+            channel = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA);
+            while (cabecera.hasRemaining() && channel.read(cabecera, cabecera.position()) > 0) {
+                // leer la cabecera completa
+            }
+            boolean compatible = !cabecera.hasRemaining()
+                && cabecera.getInt(0) == MAGIA && cabecera.getInt(4) == ScriptProgramFormat.huellaOpcodes();
+            if (!compatible) {
+                // archivo nuevo o de otra version: se empieza vacio (el mapeo lo vuelve a llenar con ceros)
+                channel.truncate(0);
+            }
+            mapa = channel.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+            if (compatible) {
+                reconstruirIndice();
+            } else {
+                mapa.putInt(0, MAGIA);
+                mapa.putInt(4, ScriptProgramFormat.huellaOpcodes());
+                fin = CABECERA;
+            }
+        }
+
+        private void reconstruirIndice() {
+            int pos = CABECERA;
+            while (pos + REGISTRO <= mapa.capacity()) {
+                int len = mapa.getInt(pos + DIGEST);
+                if (len <= 0 || len > mapa.capacity() - pos - REGISTRO) {
+                    break;
+                }
+                byte[] clave = new byte[DIGEST];
+                ByteBuffer lectura = mapa.duplicate();
+                lectura.position(pos);
+                lectura.get(clave);
+                indice.putIfAbsent(ScriptBytes.wrap(clave), pos);
+                pos += REGISTRO + len;
+            }
+            fin = pos;
+        }
+
+        ScriptProgram leer(ScriptBytes clave) {
+            Integer pos = indice.get(clave);
+            if (pos == null || cerrado) {
+                return null;
+            }
+            int len = mapa.getInt(pos + DIGEST);
+            byte[] data = new byte[len];
+            ByteBuffer lectura = mapa.duplicate();
+            lectura.position(pos + REGISTRO);
+            lectura.get(data);
+            try {
+                return ScriptProgramFormat.read(data);
+            } catch (IllegalArgumentException e) {
+                // registro corrupto: se ignora y el script se vuelve a compilar
+                indice.remove(clave, pos);
+                return null;
+            }
+        }
+
+        synchronized void guardar(ScriptBytes clave, ScriptProgram programa) {
+            if (cerrado || indice.containsKey(clave)) {
+                return;
+            }
+            byte[] data = ScriptProgramFormat.write(programa);
+            if (data.length > mapa.capacity() - fin - REGISTRO) {
+                return; // archivo lleno
+            }
+            ByteBuffer escritura = mapa.duplicate();
+            escritura.position(fin);
+            escritura.put(clave.toByteArray());
+            escritura.position(fin + REGISTRO);
+            escritura.put(data);
+            mapa.putInt(fin + DIGEST, data.length);
+            indice.put(clave, fin);
+            fin += REGISTRO + data.length;
+        }
+
+        synchronized void cerrar() throws IOException {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            mapa.force();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.scriptbitcoin.interpreters;
+
+import java.util.ArrayDeque;
+
+import com.scriptbitcoin.crypto.HashProvider;
+import com.scriptbitcoin.crypto.SignatureChecker;
+import com.scriptbitcoin.model.ConditionStack;
+import com.scriptbitcoin.model.ScriptStack;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Estado mutable de una ejecución de script (pila principal, pila condicional, verificador de firmas, funciones hash y listener).
+ * El ScriptInterpreter no guarda estado propio: cada ejecución toma un contexto de un pool por hilo,
+ * lo limpia con reset() y lo devuelve al terminar, así las pilas se reutilizan entre scripts
+ * y varios hilos pueden usar el mismo intérprete a la vez.
+ * Estado: completa
+ */
+public final class ExecutionContext {
+    //maximo de contextos guardados por hilo (mas de uno solo hace falta si una ejecucion anida otra)
+    private static final int MAX_POR_HILO = 4;
+
+    private static final ThreadLocal<ArrayDeque<ExecutionContext>> POOL = new ThreadLocal<ArrayDeque<ExecutionContext>>() {
+        @Override
+        protected ArrayDeque<ExecutionContext> initialValue() {
+            return new ArrayDeque<>(MAX_POR_HILO);
+        }
+    };
+
+    // pila principal para la ejecución del script
+    private final ScriptStack stack;
+    // pila condicional (para manejar IF, ELSE, ENDIF)
+    private final ConditionStack stackcondicional;
+    //listener de la ejecucion (el TraceAplication en modo trace), null si no hay ninguno
+    private ExecutionListener listener;
+    //verificador de firmas de esta ejecucion
+    private SignatureChecker signatureChecker;
+    //funciones hash de esta ejecucion
+    private HashProvider hashProvider;
+
+    private ExecutionContext() {
+        this.stack = new ScriptStack();
+        this.stackcondicional = new ConditionStack();
+    }
+
+    /**
+     * Toma un contexto limpio del pool del hilo actual (o crea uno si el pool esta vacio).
+     * @param listener listener de la ejecucion, o null
+     * @param checker verificador de firmas para la ejecucion
+     * @param hashes funciones hash para la ejecucion
+     * @return un contexto listo para ejecutar
+     */
+    static ExecutionContext acquire(ExecutionListener listener, SignatureChecker checker, HashProvider hashes) {
+        ExecutionContext context = POOL.get().poll();
+        if (context == null) {
+            context = new ExecutionContext();
+        }
+        context.reset(listener, checker, hashes);
+        return context;
+    }
+
+    /**
+     * Devuelve el contexto al pool del hilo actual. No se debe usar despues de liberarlo.
+     * @param context el contexto a liberar
+     */
+    static void release(ExecutionContext context) {
+        ArrayDeque<ExecutionContext> pool = POOL.get();
+        context.listener = null;
+        context.signatureChecker = null;
+        context.hashProvider = null;
+        if (pool.size() < MAX_POR_HILO) {
+            pool.push(context);
+        }
+    }
+
+    /**
+     * Limpia las pilas conservando la memoria reservada.
+     * @param listener listener de la ejecucion, o null
+     * @param checker verificador de firmas para la ejecucion
+     * @param hashes funciones hash para la ejecucion
+     */
+    void reset(ExecutionListener listener, SignatureChecker checker, HashProvider hashes) {
+        stack.clear();
+        stackcondicional.clear();
+        this.listener = listener;
+        signatureChecker = checker;
+        hashProvider = hashes;
+    }
+
+    public ScriptStack getStack() {
+        return stack;
+    }
+
+    public ConditionStack getStackCondicional() {
+        return stackcondicional;
+    }
+
+    public ExecutionListener getListener() {
+        return listener;
+    }
+
+    public SignatureChecker getSignatureChecker() {
+        return signatureChecker;
+    }
+
+    public HashProvider getHashProvider() {
+        return hashProvider;
+    }
+
+    public boolean hasListener() {
+        return listener != null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.scriptbitcoin.interpreters;
+
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.model.Valor;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Observador de una ejecución de script. El intérprete avisa al empezar cada token, al terminar
+ * cada token ejecutado, cuando la ejecución falla y con el resultado final. Todos los métodos tienen una
+ * implementación vacía, así que cada listener solo sobrescribe lo que le interesa (TraceAplication es uno).
+ * Sin listener el intérprete usa un ciclo que no hace ninguna de estas llamadas.
+ * La pila que se recibe es la de la ejecución: se puede leer pero no se debe guardar ni modificar.
+ * Estado: completa
+ */
+public interface ExecutionListener {
+
+    /**
+     * Antes de ejecutar un token de una rama que se ejecuta.
+     * @param index posición del token en el script
+     * @param valor el token
+     * @param stack la pila antes del token
+     */
+    default void onTokenStart(int index, Valor valor, ScriptStack stack) {
+    }
+
+    /**
+     * Después de ejecutar un token sin errores (un dato empujado o un opcode).
+     * @param index posición del token en el script
+     * @param valor el token
+     * @param stack la pila después del token
+     */
+    default void onTokenEnd(int index, Valor valor, ScriptStack stack) {
+    }
+
+    /**
+     * Cuando la ejecución se detiene por un error.
+     * @param index posición del token que falló, o -1 si el error no es de un token (por ejemplo falta un OP_ENDIF)
+     * @param valor el token que falló, o null
+     * @param mensaje el mensaje de error
+     * @param stack la pila en el momento del error
+     */
+    default void onFailure(int index, Valor valor, String mensaje, ScriptStack stack) {
+    }
+
+    /**
+     * Al terminar la ejecución, con éxito o no.
+     * @param resultado el resultado que devuelve execute
+     */
+    default void onResult(ScriptResult resultado) {
+    }
+}
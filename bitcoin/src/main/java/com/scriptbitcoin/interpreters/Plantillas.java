@@ -0,0 +1,160 @@
+package com.scriptbitcoin.interpreters;
+
+import com.scriptbitcoin.crypto.HashProvider;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+import com.scriptbitcoin.operations.Desafio;
+import com.scriptbitcoin.operations.Firmas;
+import com.scriptbitcoin.operations.Literales;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Reconoce los scripts estándar más comunes al construir el ScriptProgram y los ejecuta con rutinas
+ * dedicadas en lugar de despachar opcode por opcode:
+ *   - P2PKH: {@code <sig> <pubKey> OP_DUP OP_HASH160 <hash> OP_EQUALVERIFY OP_CHECKSIG}
+ *   - P2SH (la parte de hash): {@code <dato> OP_HASH160 <hash> OP_EQUAL}
+ *   - multifirma simple: {@code <dummy> <sig>... M <pubKey>... N OP_CHECKMULTISIG}
+ * Cada rutina deja la pila exactamente como el camino genérico (mismos mensajes de error y misma pila final),
+ * solo se ahorra el despacho y los pasos intermedios (copiar la clave, empujar el hash esperado, etc.).
+ * Estado: completa
+ */
+enum Plantillas {
+    P2PKH {
+        @Override
+        void ejecutar(Valor[] ins, ExecutionContext context) {
+            ScriptStack stack = context.getStack();
+            stack.push(ins[0].getBytes());
+            stack.push(ins[1].getBytes());
+            // OP_DUP OP_HASH160 <hash> OP_EQUALVERIFY sin copiar la clave ni empujar el hash esperado
+            if (!hash160Igual(stack, context.getHashProvider(), ins[4].getBytes())) {
+                throw new ExceptionsInterpreter("OP_EQUALVERIFY: los valores no son iguales");
+            }
+            Firmas.opCheckSig(stack, context.getSignatureChecker());
+        }
+    },
+    P2SH {
+        @Override
+        void ejecutar(Valor[] ins, ExecutionContext context) {
+            ScriptStack stack = context.getStack();
+            stack.push(ins[0].getBytes());
+            boolean igual = hash160Igual(stack, context.getHashProvider(), ins[2].getBytes());
+            stack.drop();
+            stack.pushBool(igual);
+        }
+    },
+    MULTISIG {
+        @Override
+        void ejecutar(Valor[] ins, ExecutionContext context) {
+            ScriptStack stack = context.getStack();
+            // solo empujes (datos y OP_0..OP_16) y luego OP_CHECKMULTISIG
+            for (int i = 0; i < ins.length - 1; i++) {
+                Valor valor = ins[i];
+                if (valor.getType() == ValorTipo.DATA_LITERAL) {
+                    stack.push(valor.getBytes());
+                } else {
+                    Literales.executeLiteral(valor.getOpCode(), stack);
+                }
+            }
+            Desafio.opCheckMultiSig(stack, context.getSignatureChecker());
+        }
+    };
+
+    /**
+     * Ejecuta el script reconocido sobre la pila del contexto (vacia al empezar).
+     * @throws ExceptionsInterpreter con el mismo mensaje que daria el camino generico
+     */
+    abstract void ejecutar(Valor[] instrucciones, ExecutionContext context);
+
+    /**
+     * @param ins las instrucciones del programa
+     * @return la plantilla que corresponde al script, o null si no es un script estandar
+     */
+    static Plantillas detectar(Valor[] ins) {
+        if (ins.length == 7 && esDato(ins[0]) && esDato(ins[1]) && esOp(ins[2], OpCode.OP_DUP)
+            && esOp(ins[3], OpCode.OP_HASH160) && esDato(ins[4]) && esOp(ins[5], OpCode.OP_EQUALVERIFY)
+            && esOp(ins[6], OpCode.OP_CHECKSIG)) {
+            return P2PKH;
+        }
+        if (ins.length == 4 && esDato(ins[0]) && esOp(ins[1], OpCode.OP_HASH160) && esDato(ins[2])
+            && esOp(ins[3], OpCode.OP_EQUAL)) {
+            return P2SH;
+        }
+        if (esMultisig(ins)) {
+            return MULTISIG;
+        }
+        return null;
+    }
+
+    /**
+     * {@code <dummy> <sig>*M M <pubKey>*N N OP_CHECKMULTISIG} con 1 <= M <= N <= 16 y la cuenta de elementos exacta.
+     */
+    private static boolean esMultisig(Valor[] ins) {
+        int len = ins.length;
+        if (len < 6 || !esOp(ins[len - 1], OpCode.OP_CHECKMULTISIG)) {
+            return false;
+        }
+        int n = numeroPequeno(ins[len - 2]);
+        if (n < 1 || len - 3 - n < 1) {
+            return false;
+        }
+        int m = numeroPequeno(ins[len - 3 - n]);
+        if (m < 1 || m > n || len != m + n + 4 || !esEmpuje(ins[0])) {
+            return false;
+        }
+        for (int i = 1; i <= len - 3; i++) {
+            if (i != m + 1 && !esDato(ins[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean esDato(Valor valor) {
+        return valor.getType() == ValorTipo.DATA_LITERAL;
+    }
+
+    private static boolean esOp(Valor valor, OpCode op) {
+        return valor.getType() == ValorTipo.OPCODE && valor.getOpCode() == op;
+    }
+
+    private static boolean esEmpuje(Valor valor) {
+        return esDato(valor) || esOp(valor, OpCode.OP_0) || esOp(valor, OpCode.OP_FALSE) || numeroPequeno(valor) > 0;
+    }
+
+    /**
+     * @return el valor de OP_1..OP_16 o de un dato que codifica 1..16, -1 para cualquier otra cosa
+     */
+    private static int numeroPequeno(Valor valor) {
+        if (valor.getType() == ValorTipo.OPCODE) {
+            int code = valor.getOpCode().getCode();
+            return code >= OpCode.OP_1.getCode() && code <= OpCode.OP_16.getCode() ? code - OpCode.OP_1.getCode() + 1 : -1;
+        }
+        ScriptBytes datos = valor.getBytes();
+        for (int k = 1; k <= 16; k++) {
+            if (datos.equals(ScriptBytes.smallNumber(k))) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calcula el HASH160 de la cima en un espacio reservado encima de ella y lo compara con el esperado.
+     * La pila queda como estaba.
+     */
+    private static boolean hash160Igual(ScriptStack stack, HashProvider hashes, ScriptBytes esperado) {
+        int len = stack.length(0);
+        int dst = stack.reserve(hashes.maxOutputLength(len));
+        byte[] arena = stack.arena();
+        int escritos = hashes.hash160(arena, stack.offset(1), len, arena, dst);
+        boolean igual = escritos == esperado.length();
+        for (int i = 0; igual && i < escritos; i++) {
+            igual = arena[dst + i] == esperado.byteAt(i);
+        }
+        stack.drop();
+        return igual;
+    }
+}
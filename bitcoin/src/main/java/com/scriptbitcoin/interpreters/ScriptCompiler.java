@@ -0,0 +1,74 @@
+package com.scriptbitcoin.interpreters;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Compila la lista de valores producida por ScriptValores en un ScriptProgram.
+ * La compilación empareja cada OP_IF/OP_NOTIF con sus OP_ELSE y su OP_ENDIF y arma la tabla de saltos,
+ * de modo que los scripts con IF/ELSE/ENDIF desbalanceados se rechazan antes de ejecutar cualquier instrucción.
+ * Estado: completa
+ */
+public class ScriptCompiler {
+    private ScriptCompiler() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * Compila el script.
+     * @param valores los valores del script
+     * @return el programa con su tabla de saltos
+     * @throws ExceptionsInterpreter si hay un OP_ELSE u OP_ENDIF sin OP_IF, o un OP_IF sin OP_ENDIF
+     */
+    public static ScriptProgram compile(List<Valor> valores) {
+        Valor[] instrucciones = valores.toArray(new Valor[0]);
+        int[] saltos = new int[instrucciones.length];
+        Arrays.fill(saltos, -1);
+
+        //pila (como arreglo de enteros) con el índice del último IF/NOTIF/ELSE abierto de cada nivel
+        int[] abiertos = new int[8];
+        int profundidad = 0;
+
+        for (int i = 0; i < instrucciones.length; i++) {
+            Valor valor = instrucciones[i];
+            if (valor.getType() != ValorTipo.OPCODE) {
+                continue;
+            }
+            OpCode opCode = valor.getOpCode();
+            switch (opCode) {
+                case OP_IF:
+                case OP_NOTIF:
+                    if (profundidad == abiertos.length) {
+                        abiertos = Arrays.copyOf(abiertos, profundidad * 2);
+                    }
+                    abiertos[profundidad++] = i;
+                    break;
+                case OP_ELSE:
+                    if (profundidad == 0) {
+                        throw new ExceptionsInterpreter("OP_ELSE: sin OP_IF correspondiente");
+                    }
+                    //el IF (o ELSE anterior) salta a este ELSE, y este ELSE queda abierto esperando su ENDIF
+                    saltos[abiertos[profundidad - 1]] = i;
+                    abiertos[profundidad - 1] = i;
+                    break;
+                case OP_ENDIF:
+                    if (profundidad == 0) {
+                        throw new ExceptionsInterpreter("OP_ENDIF: sin OP_IF correspondiente");
+                    }
+                    saltos[abiertos[--profundidad]] = i;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (profundidad != 0) {
+            throw new ExceptionsInterpreter("Error: falta un OP_ENDIF para cerrar una rama condicional");
+        }
+        return new ScriptProgram(instrucciones, saltos);
+    }
+}
@@ -5,11 +5,15 @@ package com.scriptbitcoin.interpreters;
  * Descripcion: clase encargada de evaluar los scripts de bitcoin
  */
 import java.util.ArrayDeque;
-import java.util.Arrays;
-import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 
+import com.scriptbitcoin.crypto.HashProvider;
+import com.scriptbitcoin.crypto.MockHashProvider;
+import com.scriptbitcoin.crypto.SignatureChecker;
+import com.scriptbitcoin.model.ConditionStack;
 import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.model.Valor;
 import com.scriptbitcoin.model.ValorTipo;
 import com.scriptbitcoin.operations.Arithmetic;
@@ -20,8 +24,8 @@ import com.scriptbitcoin.operations.FlowOperations;
 import com.scriptbitcoin.operations.Literales;
 import com.scriptbitcoin.operations.Logic;
 import com.scriptbitcoin.operations.StackOperations;
+import com.scriptbitcoin.operations.UncheckedOperations;
 import com.scriptbitcoin.utils.TraceAplication;
-import com.scriptbitcoin.utils.Utiles;
 
 
 
@@ -33,173 +37,382 @@ import com.scriptbitcoin.utils.Utiles;
  *         Estado: en desarrollo
  */
 public class ScriptInterpreter {
-    // pila principal para la ejecución del script
-    private Deque<byte[]> stack;
-    // pila condicional (para manejar IF, ELSE, ENDIF)
-    private Deque<Boolean> stackcondicional;
-    //Logger para el modo trace
-    private TraceAplication traceLogger;
-    // verificación del estado de trace
-    private boolean trace;
+    // El intérprete no tiene estado mutable: todo lo de una ejecución vive en un ExecutionContext,
+    // por eso una misma instancia se puede compartir entre hilos.
+
+    // verificador de firmas por defecto para OP_CHECKSIG y OP_CHECKMULTISIG
+    private final SignatureChecker signatureChecker;
+    // funciones hash para OP_SHA256, OP_HASH160 y OP_HASH256
+    private final HashProvider hashProvider;
+
+    /**
+     * Intérprete sin firmas válidas: toda verificación de firma falla.
+     */
+    public ScriptInterpreter() {
+        this(SignatureChecker.NONE);
+    }
+
+    /**
+     * @param signatureChecker verificador de firmas que usan todas las ejecuciones de este intérprete
+     */
+    public ScriptInterpreter(SignatureChecker signatureChecker) {
+        this(signatureChecker, MockHashProvider.INSTANCE);
+    }
+
+    /**
+     * @param signatureChecker verificador de firmas que usan todas las ejecuciones de este intérprete
+     * @param hashProvider funciones hash (MockHashProvider para la simulación, DigestHashProvider para las reales)
+     */
+    public ScriptInterpreter(SignatureChecker signatureChecker, HashProvider hashProvider) {
+        if (signatureChecker == null || hashProvider == null) {
+            throw new IllegalArgumentException("El verificador de firmas y las funciones hash no pueden ser null");
+        }
+        this.signatureChecker = signatureChecker;
+        this.hashProvider = hashProvider;
+    }
 
     /**
      * @param valores son los valores del script a ejecutar
      * @param trace true para activar el modo --trace
      */
     public ScriptResult execute(List<Valor> valores, boolean trace) {
-        //Inicializar variables
-        stack = new ArrayDeque<>();
-        stackcondicional = new ArrayDeque<>();
-        this.trace = trace;
-        // Inicializar el logger de trace si el modo trace está habil
-        traceLogger = trace ? new TraceAplication() : null;
-
-          // ADD THIS DEBUG
-    System.out.println("=== EXECUTING SCRIPT ===");
-    System.out.println("Total tokens: " + valores.size());
-    for (int i = 0; i < valores.size(); i++) {
-        System.out.println("Token[" + i + "]: " + valores.get(i) + " (type: " + valores.get(i).getType() + ")");
+        return execute(valores, trace, signatureChecker);
     }
-    System.out.println("=======================");
-    
-        try {
-            // Ejecutar cada valor del script
-            for (int i = 0; i < valores.size(); i++) {
-                Valor valor = valores.get(i);
-                if (!isExecuting()){
-                    handleNoneExecutingBranch(valor);
-
-                    // Loguear el estado actual de la pila antes de ejecutar el valor
-                    if (trace) {
-                        traceLogger.log(valor, stack);
-                    }
-                    continue;
-                }
-    
-                // Si el valor es un literal de datos, se empuja directamente a la pila, de lo contrario se despacha el opcode para su ejecución
-                if (valor.getType() == ValorTipo.DATA_LITERAL){
-                    stack.push(valor.getData());
-                }
-                else{
-                    dispatchOpCode(valor.getOpCode());
-                }
-                if (trace){
-                    traceLogger.log(valor, stack);
-                }
-            }
-            // manejo de errores específicos para control de flujo, como IF sin ENDIF o ELSE sin IF
-            if(!stackcondicional.isEmpty()){
-                return new ScriptResult(false, "Error: falta un OP_ENDIF para cerrar una rama condicional", stack);
-            }
-            if (stack.isEmpty()){
-                return new ScriptResult(false, "Error: pila vacía", stack);
-            }
 
-            System.out.println("=== FINAL STACK DEBUG ===");
-            System.out.println("Stack size: " + stack.size());
-            int index = 0;
-            for (byte[] element : stack) {
-                System.out.println("Stack[" + index + "] = " + Arrays.toString(element) + " -> int: " + Utiles.bytesToInt(element));
-                index++;
-            }
-            
-            if (!Utiles.isTruthy(stack.peek())){
-                return new ScriptResult(false, "Cima del stack falsa", stack);
-            }
-            // Si se llega al final del script sin errores, se devuelve un resultado exitoso con el estado final de la pila
-            return new ScriptResult(true, "Script ejecutado correctamente", stack);
+    /**
+     * Ejecuta el script con un verificador de firmas propio de esta ejecución.
+     * @param valores son los valores del script a ejecutar
+     * @param trace true para activar el modo --trace
+     * @param checker verificador de firmas para esta ejecución
+     */
+    public ScriptResult execute(List<Valor> valores, boolean trace, SignatureChecker checker) {
+        return execute(valores, checker, listenerDeTrace(trace));
+    }
 
-        }
-         catch (ExceptionsInterpreter e) {
-            if (trace) {
-                System.out.println("Error: " + e.getMessage());
+    /**
+     * Ejecuta el script avisando cada paso al listener.
+     * @param valores son los valores del script a ejecutar
+     * @param listener el listener de la ejecución, o null para ejecutar sin ninguno
+     */
+    public ScriptResult execute(List<Valor> valores, ExecutionListener listener) {
+        return execute(valores, signatureChecker, listener);
+    }
 
+    /**
+     * Ejecuta el script con un verificador de firmas propio y un listener.
+     * @param valores son los valores del script a ejecutar
+     * @param checker verificador de firmas para esta ejecución
+     * @param listener el listener de la ejecución, o null para ejecutar sin ninguno
+     */
+    public ScriptResult execute(List<Valor> valores, SignatureChecker checker, ExecutionListener listener) {
+        ScriptProgram programa;
+        try {
+            // Compilar primero: los IF/ELSE/ENDIF desbalanceados se rechazan antes de ejecutar nada
+            programa = ScriptCompiler.compile(valores);
+        } catch (ExceptionsInterpreter e) {
+            ScriptResult resultado = new ScriptResult(false, e.getMessage(), new ArrayDeque<byte[]>());
+            if (listener != null) {
+                listener.onResult(resultado);
             }
-            return new ScriptResult(false, e.getMessage(), stack);
+            return resultado;
         }
+        return execute(programa, checker, listener);
+    }
+
+    /**
+     * Ejecuta un script ya compilado (útil para compilar una vez y ejecutar varias veces).
+     * @param programa el script compilado por ScriptCompiler
+     * @param trace true para activar el modo --trace
+     */
+    public ScriptResult execute(ScriptProgram programa, boolean trace) {
+        return execute(programa, trace, signatureChecker);
+    }
+
+    /**
+     * Ejecuta un script ya compilado con un verificador de firmas propio de esta ejecución.
+     * @param programa el script compilado por ScriptCompiler
+     * @param trace true para activar el modo --trace
+     * @param checker verificador de firmas para esta ejecución
+     */
+    public ScriptResult execute(ScriptProgram programa, boolean trace, SignatureChecker checker) {
+        return execute(programa, checker, listenerDeTrace(trace));
+    }
+
+    /**
+     * Ejecuta un script ya compilado avisando cada paso al listener.
+     * @param programa el script compilado por ScriptCompiler
+     * @param listener el listener de la ejecución, o null para ejecutar sin ninguno
+     */
+    public ScriptResult execute(ScriptProgram programa, ExecutionListener listener) {
+        return execute(programa, signatureChecker, listener);
     }
 
-    //metodos utiles para 
-    private boolean isExecuting() {
-        for (Boolean condition : stackcondicional) {
-            if (!condition) {
-                return false;
+    /**
+     * Ejecuta un script ya compilado con un verificador de firmas propio y un listener.
+     * @param programa el script compilado por ScriptCompiler
+     * @param checker verificador de firmas para esta ejecución
+     * @param listener el listener de la ejecución, o null para ejecutar sin ninguno
+     */
+    public ScriptResult execute(ScriptProgram programa, SignatureChecker checker, ExecutionListener listener) {
+        // Tomar un contexto limpio del pool del hilo
+        ExecutionContext context = ExecutionContext.acquire(listener, checker, hashProvider);
+        try {
+            if (listener == null) {
+                return run(programa, context);
             }
+            ScriptResult resultado = runConListener(programa, context, listener);
+            listener.onResult(resultado);
+            return resultado;
+        } finally {
+            ExecutionContext.release(context);
         }
-        return true;
     }
 
     /**
-     * @param valor
-      * Maneja los valores que se encuentran en ramas condicionales que no se están ejecutando
-      * Este método es crucial para asegurar que el script se ejecute correctamente
+     * Optimiza el script (plegado de constantes, OP_EQUAL OP_VERIFY fusionados y ramas muertas) con las
+     * funciones hash de este intérprete. El resultado de ejecutarlo es el mismo que el del script original.
+     * @param valores son los valores del script
+     * @return los valores optimizados
      */
-    private void handleNoneExecutingBranch(Valor valor) {
-        //ignorar cualquier valor que no sea un opcode mientras no se esté ejecutando
-        if (valor.getType() != ValorTipo.OPCODE) {
-            return;
-        }
-        OpCode opCode = valor.getOpCode();
-        //manejar opcodes
-        switch (opCode) {
+    public List<Valor> optimize(List<Valor> valores) {
+        return ScriptOptimizer.optimize(valores, hashProvider);
+    }
 
-            //casos para control de flujo
-            case OP_IF:
-                stackcondicional.push(false); // Iniciar una nueva rama condicional
-                break;
+    /**
+     * Ejecuta un script a medida que se tokeniza (por ejemplo un ScriptTokenStream sobre un archivo grande),
+     * sin tenerlo completo en memoria ni compilarlo.
+     * A diferencia de execute(List, ...), los IF/ELSE/ENDIF desbalanceados se detectan al llegar a ellos
+     * y no antes de ejecutar, y un token no reconocido termina la ejecución en ese punto.
+     * @param tokens los valores del script en orden
+     * @param trace true para activar el modo --trace
+     */
+    public ScriptResult execute(Iterator<Valor> tokens, boolean trace) {
+        return execute(tokens, trace, signatureChecker);
+    }
 
-            case OP_NOTIF:
-                stackcondicional.push(false); // Iniciar una nueva rama condicional
-                break;
+    /**
+     * Igual que execute(Iterator, boolean) con un verificador de firmas propio de esta ejecución.
+     * @param tokens los valores del script en orden
+     * @param trace true para activar el modo --trace
+     * @param checker verificador de firmas para esta ejecución
+     */
+    public ScriptResult execute(Iterator<Valor> tokens, boolean trace, SignatureChecker checker) {
+        return execute(tokens, checker, listenerDeTrace(trace));
+    }
 
-            case OP_ELSE:
-                if (stackcondicional.isEmpty()) {
-                    // Manejar error: ELSE sin IF correspondiente
-                    throw new IllegalStateException("OP_ELSE sin OP_IF correspondiente");
-                }
-                // Cambiar la condición para la rama ELSE en caso de que todos los padres sean verdaderos
-                Boolean top = stackcondicional.pop();
-                boolean parentsCondition = true;
-                //Verificar si los padres están en una rama ejecutable
-                for (Boolean condition : stackcondicional) {
-                    if (!condition) {
-                        parentsCondition = false;
+    /**
+     * Igual que execute(Iterator, boolean) avisando cada paso al listener.
+     * @param tokens los valores del script en orden
+     * @param listener el listener de la ejecución, o null para ejecutar sin ninguno
+     */
+    public ScriptResult execute(Iterator<Valor> tokens, ExecutionListener listener) {
+        return execute(tokens, signatureChecker, listener);
+    }
+
+    /**
+     * Igual que execute(Iterator, boolean) con un verificador de firmas propio y un listener.
+     * @param tokens los valores del script en orden
+     * @param checker verificador de firmas para esta ejecución
+     * @param listener el listener de la ejecución, o null para ejecutar sin ninguno
+     */
+    public ScriptResult execute(Iterator<Valor> tokens, SignatureChecker checker, ExecutionListener listener) {
+        ExecutionContext context = ExecutionContext.acquire(listener, checker, hashProvider);
+        try {
+            ScriptResult resultado = runStreaming(tokens, context);
+            if (listener != null) {
+                listener.onResult(resultado);
+            }
+            return resultado;
+        } finally {
+            ExecutionContext.release(context);
+        }
+    }
+
+    /**
+     * El listener del modo --trace: un TraceAplication nuevo por ejecución.
+     */
+    private static ExecutionListener listenerDeTrace(boolean trace) {
+        return trace ? new TraceAplication() : null;
+    }
+
+    /**
+     * Ejecuta los valores uno por uno. Sin tabla de saltos, las ramas que no se ejecutan se recorren
+     * contando solo los IF/NOTIF anidados para encontrar su ELSE/ENDIF.
+     * Aquí el costo lo pone la tokenización, así que un solo ciclo sirve con y sin listener.
+     */
+    private ScriptResult runStreaming(Iterator<Valor> tokens, ExecutionContext context) {
+        ScriptStack stack = context.getStack();
+        ConditionStack stackcondicional = context.getStackCondicional();
+        ExecutionListener listener = context.getListener();
+        // niveles de IF/NOTIF abiertos dentro de la rama que se está saltando
+        int saltoAnidado = 0;
+        int index = -1;
+        Valor valor = null;
+        try {
+            while (true) {
+                try {
+                    if (!tokens.hasNext()) {
                         break;
                     }
+                    valor = tokens.next();
+                    index++;
+                } catch (IllegalArgumentException e) {
+                    String mensaje = "Error de tokenizacion: " + e.getMessage();
+                    if (listener != null) {
+                        listener.onFailure(index + 1, null, mensaje, stack);
+                    }
+                    return new ScriptResult(false, mensaje, stack.toDeque());
                 }
-                //si cumplen las condiciones para ejecutar la rama ELSE, cambiar la condición a true, de lo contrario mantenerla como false
-                if (parentsCondition) {
-                    stackcondicional.push(!top); // Cambiar la condición para la rama ELSE
+                if (!stackcondicional.isExecuting()) {
+                    // Rama saltada: solo importan los opcodes que abren o cierran condicionales
+                    if (valor.getType() == ValorTipo.DATA_LITERAL) {
+                        continue;
+                    }
+                    OpCode op = valor.getOpCode();
+                    if (op == OpCode.OP_IF || op == OpCode.OP_NOTIF) {
+                        saltoAnidado++;
+                        continue;
+                    }
+                    if (saltoAnidado > 0) {
+                        if (op == OpCode.OP_ENDIF) {
+                            saltoAnidado--;
+                        }
+                        continue;
+                    }
+                    if (op != OpCode.OP_ELSE && op != OpCode.OP_ENDIF) {
+                        continue;
+                    }
+                }
+                if (listener != null) {
+                    listener.onTokenStart(index, valor, stack);
+                }
+                if (valor.getType() == ValorTipo.DATA_LITERAL) {
+                    stack.push(valor.getBytes());
                 } else {
-                    stackcondicional.push(top); // Mantener la condición como false si algún padre es false
+                    dispatchOpCode(valor.getOpCode(), context);
                 }
-                break;
+                if (listener != null) {
+                    listener.onTokenEnd(index, valor, stack);
+                }
+            }
+            if (!stackcondicional.isEmpty()) {
+                // el error no es de un token
+                index = -1;
+                valor = null;
+                throw new ExceptionsInterpreter("Error: falta un OP_ENDIF para cerrar una rama condicional");
+            }
+            return resultadoFinal(stack);
+        } catch (ExceptionsInterpreter e) {
+            if (listener != null) {
+                listener.onFailure(index, valor, e.getMessage(), stack);
+            }
+            return new ScriptResult(false, e.getMessage(), stack.toDeque());
+        }
+    }
 
-            case OP_ENDIF:
-                if (!stackcondicional.isEmpty()) {
-                    stackcondicional.pop(); // Finalizar la rama condicional actual
+    /**
+     * Ejecuta el programa sobre el contexto dado sin listener: este ciclo no tiene ninguna comprobación
+     * de trace ni arma cadenas, y puede usar las plantillas, que se saltan pasos.
+     */
+    private ScriptResult run(ScriptProgram programa, ExecutionContext context) {
+        ScriptStack stack = context.getStack();
+        ConditionStack stackcondicional = context.getStackCondicional();
+        try {
+            // Los scripts estandar se ejecutan con su rutina dedicada
+            Plantillas plantilla = programa.plantilla();
+            if (plantilla != null) {
+                plantilla.ejecutar(programa.instrucciones(), context);
+                return resultadoFinal(stack);
+            }
+            // Hasta donde el analisis de pila asegura que no falta un elemento (todo el programa, o hasta la
+            // instruccion que falla seguro), las operaciones simples se ejecutan sin validar el tamaño de la pila
+            int sinValidarHasta = programa.limiteSinValidar();
+            // Ejecutar cada valor del script
+            for (int i = 0; i < programa.size(); i++) {
+                Valor valor = programa.get(i);
+    
+                // Si el valor es un literal de datos, se empuja directamente a la pila, de lo contrario se despacha el opcode para su ejecución
+                if (valor.getType() == ValorTipo.DATA_LITERAL){
+                    stack.push(valor.getBytes());
                 }
-                else {
-                    // Manejar error: ENDIF sin IF correspondiente
-                    throw new IllegalStateException("OP_ENDIF sin OP_IF correspondiente");
+                else{
+                    if (i >= sinValidarHasta || !UncheckedOperations.execute(valor.getOpCode(), stack)) {
+                        dispatchOpCode(valor.getOpCode(), context);
+                    }
+                    // Si el IF/NOTIF/ELSE dejó la rama actual sin ejecutar, se salta directo al ELSE/ENDIF correspondiente
+                    int salto = programa.getSalto(i);
+                    if (salto >= 0 && !stackcondicional.isExecuting()) {
+                        i = salto - 1;
+                    }
                 }
-                break;
-            default:
-                // Ignorar otros opcodes mientras no se esté ejecutando
-                break;
+            }
+            return resultadoFinal(stack);
+        }
+         catch (ExceptionsInterpreter e) {
+            return new ScriptResult(false, e.getMessage(), stack.toDeque());
         }
     }
 
+    /**
+     * Igual que run pero avisando al listener antes y después de cada token ejecutado y cuando algo falla.
+     * El listener necesita ver cada paso, así que aquí no se usan las plantillas.
+     */
+    private ScriptResult runConListener(ScriptProgram programa, ExecutionContext context, ExecutionListener listener) {
+        ScriptStack stack = context.getStack();
+        ConditionStack stackcondicional = context.getStackCondicional();
+        int sinValidarHasta = programa.limiteSinValidar();
+        int i = 0;
+        try {
+            for (; i < programa.size(); i++) {
+                Valor valor = programa.get(i);
+                listener.onTokenStart(i, valor, stack);
+                if (valor.getType() == ValorTipo.DATA_LITERAL) {
+                    stack.push(valor.getBytes());
+                    listener.onTokenEnd(i, valor, stack);
+                    continue;
+                }
+                if (i >= sinValidarHasta || !UncheckedOperations.execute(valor.getOpCode(), stack)) {
+                    dispatchOpCode(valor.getOpCode(), context);
+                }
+                listener.onTokenEnd(i, valor, stack);
+                int salto = programa.getSalto(i);
+                if (salto >= 0 && !stackcondicional.isExecuting()) {
+                    i = salto - 1;
+                }
+            }
+            return resultadoFinal(stack);
+        } catch (ExceptionsInterpreter e) {
+            listener.onFailure(i, programa.get(i), e.getMessage(), stack);
+            return new ScriptResult(false, e.getMessage(), stack.toDeque());
+        }
+    }
+
+    /**
+     * Resultado al llegar al final del script sin errores: la cima debe existir y ser verdadera.
+     */
+    private static ScriptResult resultadoFinal(ScriptStack stack) {
+        if (stack.isEmpty()){
+            return new ScriptResult(false, "Error: pila vacía", stack.toDeque());
+        }
+        if (!stack.isTruthy(0)){
+            return new ScriptResult(false, "Cima del stack falsa", stack.toDeque());
+        }
+        // Si se llega al final del script sin errores, se devuelve un resultado exitoso con el estado final de la pila
+        return new ScriptResult(true, "Script ejecutado correctamente", stack.toDeque());
+    }
 
     /**
      * @param opCode
+     * @param context el contexto de la ejecución (pilas, verificador de firmas y funciones hash)
      * //si el opCode no soporta la ejecución, se lanza una excepción indicando que el opcode no es soportado
      * @throws EceptionsInterpreter
      * Método encargado de despachar la ejecución de cada opcode a su función correspondiente
      * Este método asegura ue cada opcode se ejecute correctamente según su lógica específica
      * Cada una envía la pila a la función correspondiente para que esta pueda manipularla según sea necesario
      */
-    private void dispatchOpCode(OpCode opCode) {
+    static void dispatchOpCode(OpCode opCode, ExecutionContext context) {
+        ScriptStack stack = context.getStack();
+        ConditionStack stackcondicional = context.getStackCondicional();
         // Implementar la lógica para ejecutar cada opcode
         switch (opCode) {
             //////////LITERALES///////////
@@ -223,6 +436,10 @@ public class ScriptInterpreter {
             case OP_16:
                 Literales.executeLiteral(opCode, stack);
                 break;
+            case OP_PUSHDATA1:
+            case OP_PUSHDATA2:
+                // Solo indican la longitud del dato siguiente, que ya llega como literal (texto o ScriptDecoder)
+                break;
 
 
             ///////////OPERACIONES DEL STACK///////////
@@ -248,6 +465,9 @@ public class ScriptInterpreter {
             case OP_EQUALVERIFY:
                 Logic.opEqualVerify(stack);
                 break;
+            case OP_EQUAL_OP_VERIFY:
+                Logic.opEqualThenVerify(stack);
+                break;
             case OP_NOT:
                 Logic.opNot(stack);
                 break;
@@ -306,35 +526,31 @@ public class ScriptInterpreter {
 
             //////////////CRIPTOGRAFIA///////////
             case OP_SHA256:
-                Crypto.opSha256(stack);
+                Crypto.opSha256(stack, context.getHashProvider());
                 break;
             case OP_HASH160:
-                Crypto.opHash160(stack);
+                Crypto.opHash160(stack, context.getHashProvider());
                 break;
             case OP_HASH256:
-                Crypto.opHash256(stack);
+                Crypto.opHash256(stack, context.getHashProvider());
                 break;
             /////////////FIRMAS///////////
             case OP_CHECKSIG:
-                Firmas.opCheckSig(stack);
+                Firmas.opCheckSig(stack, context.getSignatureChecker());
                 break;
             case OP_CHECKSIGVERIFY:
-                Firmas.opCheckSigVerify(stack);
+                Firmas.opCheckSigVerify(stack, context.getSignatureChecker());
                 break;
             
             /////////DESAFIO EXTRA: MULTISIG///////////
             case OP_CHECKMULTISIG:
-                Desafio.opCheckMultiSig(stack);
+                Desafio.opCheckMultiSig(stack, context.getSignatureChecker());
                 break;
             case OP_CHECKMULTISIGVERIFY:
-                Desafio.opCheckMultiSigVerify(stack);
+                Desafio.opCheckMultiSigVerify(stack, context.getSignatureChecker());
                 break;
             default:
                 throw new UnsupportedOperationException("Opcode no soportado: " + opCode);
         }
     }
-    //devuelve el estado actual de la pila, útil para pruebas y para el modo trace
-    public Deque<byte[]> getStack() {
-        return stack;
-    }
 }
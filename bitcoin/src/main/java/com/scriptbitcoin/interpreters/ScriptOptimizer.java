@@ -0,0 +1,248 @@
+package com.scriptbitcoin.interpreters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.scriptbitcoin.crypto.HashProvider;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+import com.scriptbitcoin.operations.Arithmetic;
+import com.scriptbitcoin.operations.Crypto;
+import com.scriptbitcoin.operations.FlowOperations;
+import com.scriptbitcoin.operations.Literales;
+import com.scriptbitcoin.operations.Logic;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Optimizador local (peephole) que se aplica a los valores entre ScriptValores.tokenize y
+ * ScriptInterpreter.execute:
+ *   - Plegado de constantes: una operación pura (aritmética, comparaciones, lógica, hashes, OP_VERIFY)
+ *     cuyos operandos son literales se ejecuta aquí y se reemplaza por su resultado, por ejemplo
+ *     {@code 3 4 OP_ADD} por {@code 7}. Si la operación falla no se toca, así el error sigue ocurriendo
+ *     en el mismo punto y con el mismo mensaje.
+ *   - {@code OP_EQUAL OP_VERIFY} se fusiona en un opcode interno que conserva los mensajes de ambos.
+ *   - Ramas muertas: {@code <constante> OP_IF ... [OP_ELSE ...] OP_ENDIF} se reemplaza por la rama que se ejecuta.
+ * El resultado, los mensajes y la pila final son los mismos que sin optimizar; solo cambian los pasos del trace.
+ * Los scripts con IF/ELSE/ENDIF desbalanceados se devuelven sin cambios para que el error de compilación no cambie.
+ * Estado: completa
+ */
+public final class ScriptOptimizer {
+    //OP_EQUAL OP_VERIFY fusionados (Valor es inmutable, se comparte)
+    private static final Valor EQUAL_VERIFY = new Valor(OpCode.OP_EQUAL_OP_VERIFY);
+
+    private ScriptOptimizer() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * @param valores los valores del script
+     * @param hashes las funciones hash con las que se va a ejecutar (el plegado de hashes depende de ellas)
+     * @return una lista nueva con el script optimizado
+     */
+    public static List<Valor> optimize(List<Valor> valores, HashProvider hashes) {
+        List<Valor> actual = new ArrayList<>(valores);
+        try {
+            ScriptCompiler.compile(actual);
+        } catch (ExceptionsInterpreter e) {
+            return actual;
+        }
+        // cada pasada puede dejar constantes nuevas delante de un OP_IF o de otra operacion
+        boolean cambio = true;
+        while (cambio) {
+            int antes = actual.size();
+            actual = plegar(actual, hashes);
+            cambio = eliminarRamas(actual) || actual.size() != antes;
+        }
+        return actual;
+    }
+
+    /**
+     * Una pasada de plegado de constantes y fusion de OP_EQUAL OP_VERIFY. La salida se usa como pila:
+     * cada operacion mira los valores que ya quedaron justo antes de ella.
+     */
+    private static List<Valor> plegar(List<Valor> valores, HashProvider hashes) {
+        List<Valor> out = new ArrayList<>(valores.size());
+        for (Valor valor : valores) {
+            out.add(valor);
+            if (valor.getType() != ValorTipo.OPCODE) {
+                continue;
+            }
+            OpCode op = valor.getOpCode();
+            int aridad = aridad(op);
+            int n = out.size() - 1;
+            if (aridad > 0 && n >= aridad && constantes(out, n - aridad, n)) {
+                Valor[] resultado = evaluar(op, out.subList(n - aridad, n), hashes);
+                if (resultado != null) {
+                    out.subList(n - aridad, out.size()).clear();
+                    for (Valor r : resultado) {
+                        out.add(r);
+                    }
+                    continue;
+                }
+            }
+            if (op == OpCode.OP_VERIFY && n > 0 && esOp(out.get(n - 1), OpCode.OP_EQUAL)) {
+                out.subList(n - 1, out.size()).clear();
+                out.add(EQUAL_VERIFY);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * @return numero de operandos de una operacion que se puede plegar, 0 si no se puede
+     */
+    private static int aridad(OpCode op) {
+        switch (op) {
+            case OP_NOT:
+            case OP_VERIFY:
+            case OP_SHA256:
+            case OP_HASH160:
+            case OP_HASH256:
+                return 1;
+            case OP_ADD:
+            case OP_SUB:
+            case OP_EQUAL:
+            case OP_EQUALVERIFY:
+            case OP_EQUAL_OP_VERIFY:
+            case OP_BOOLAND:
+            case OP_BOOLOR:
+            case OP_NUMEQUALVERIFY:
+            case OP_LESSTHAN:
+            case OP_GREATERTHAN:
+            case OP_LESSTHANOREQUAL:
+            case OP_GREATERTHANOREQUAL:
+                return 2;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Ejecuta la operacion sobre una pila de prueba con los operandos.
+     * @return los valores que deja (0 o 1), o null si la operacion falla o el resultado no se puede representar igual
+     */
+    private static Valor[] evaluar(OpCode op, List<Valor> operandos, HashProvider hashes) {
+        ScriptStack stack = new ScriptStack();
+        try {
+            for (Valor operando : operandos) {
+                empujar(stack, operando);
+            }
+            switch (op) {
+                case OP_NOT: Logic.opNot(stack); break;
+                case OP_VERIFY: FlowOperations.opVerify(stack); break;
+                case OP_SHA256: Crypto.opSha256(stack, hashes); break;
+                case OP_HASH160: Crypto.opHash160(stack, hashes); break;
+                case OP_HASH256: Crypto.opHash256(stack, hashes); break;
+                case OP_ADD: Arithmetic.opAdd(stack); break;
+                case OP_SUB: Arithmetic.opSub(stack); break;
+                case OP_EQUAL: Logic.opEqual(stack); break;
+                case OP_EQUALVERIFY: Logic.opEqualVerify(stack); break;
+                case OP_EQUAL_OP_VERIFY: Logic.opEqualThenVerify(stack); break;
+                case OP_BOOLAND: Logic.opBoolAnd(stack); break;
+                case OP_BOOLOR: Logic.opBoolOr(stack); break;
+                case OP_NUMEQUALVERIFY: Arithmetic.opNumEqualVerify(stack); break;
+                case OP_LESSTHAN: Arithmetic.opLessThan(stack); break;
+                case OP_GREATERTHAN: Arithmetic.opGreaterThan(stack); break;
+                case OP_LESSTHANOREQUAL: Arithmetic.opLessThanOrEqual(stack); break;
+                case OP_GREATERTHANOREQUAL: Arithmetic.opGreaterThanOrEqual(stack); break;
+                default: return null;
+            }
+            if (stack.isEmpty()) {
+                return new Valor[0];
+            }
+            ScriptBytes resultado = stack.peekValue(0);
+            // un resultado numerico debe leerse igual desde sus bytes (los enteros no representables no se pliegan)
+            if (stack.isNumeric(0) && resultado.toInt() != stack.getInt(0)) {
+                return null;
+            }
+            return new Valor[] {new Valor(resultado)};
+        } catch (RuntimeException e) {
+            // la operacion falla con estos operandos: se deja para que falle al ejecutar
+            return null;
+        }
+    }
+
+    /**
+     * Reemplaza cada {@code <constante> OP_IF/OP_NOTIF ... OP_ENDIF} por las partes que se ejecutan
+     * (con varios OP_ELSE se alternan las partes, como en el interprete).
+     * @return true si cambio algo
+     */
+    private static boolean eliminarRamas(List<Valor> valores) {
+        boolean cambio = false;
+        for (int i = 1; i < valores.size(); i++) {
+            Valor valor = valores.get(i);
+            boolean notIf = esOp(valor, OpCode.OP_NOTIF);
+            if (!(notIf || esOp(valor, OpCode.OP_IF)) || !esConstante(valores.get(i - 1))) {
+                continue;
+            }
+            boolean ejecuta = verdadero(valores.get(i - 1)) != notIf;
+            List<Valor> reemplazo = new ArrayList<>();
+            int profundidad = 0;
+            int fin = i + 1;
+            for (; fin < valores.size(); fin++) {
+                Valor v = valores.get(fin);
+                if (esOp(v, OpCode.OP_IF) || esOp(v, OpCode.OP_NOTIF)) {
+                    profundidad++;
+                } else if (esOp(v, OpCode.OP_ENDIF)) {
+                    if (profundidad == 0) {
+                        break;
+                    }
+                    profundidad--;
+                } else if (profundidad == 0 && esOp(v, OpCode.OP_ELSE)) {
+                    ejecuta = !ejecuta;
+                    continue;
+                }
+                if (ejecuta) {
+                    reemplazo.add(v);
+                }
+            }
+            // el script ya esta balanceado, asi que fin es el OP_ENDIF del bloque
+            List<Valor> bloque = valores.subList(i - 1, fin + 1);
+            bloque.clear();
+            bloque.addAll(reemplazo);
+            cambio = true;
+            i = Math.max(0, i - 2);
+        }
+        return cambio;
+    }
+
+    private static void empujar(ScriptStack stack, Valor valor) {
+        if (valor.getType() == ValorTipo.DATA_LITERAL) {
+            stack.push(valor.getBytes());
+        } else {
+            Literales.executeLiteral(valor.getOpCode(), stack);
+        }
+    }
+
+    private static boolean constantes(List<Valor> valores, int desde, int hasta) {
+        for (int i = desde; i < hasta; i++) {
+            if (!esConstante(valores.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //un literal de datos o OP_0..OP_16
+    private static boolean esConstante(Valor valor) {
+        if (valor.getType() == ValorTipo.DATA_LITERAL) {
+            return true;
+        }
+        int code = valor.getOpCode().getCode();
+        return code == OpCode.OP_0.getCode() || (code >= OpCode.OP_1.getCode() && code <= OpCode.OP_16.getCode());
+    }
+
+    private static boolean verdadero(Valor constante) {
+        if (constante.getType() == ValorTipo.DATA_LITERAL) {
+            return constante.getBytes().isTruthy();
+        }
+        return constante.getOpCode().getCode() != OpCode.OP_0.getCode();
+    }
+
+    private static boolean esOp(Valor valor, OpCode op) {
+        return valor.getType() == ValorTipo.OPCODE && valor.getOpCode() == op;
+    }
+}
@@ -0,0 +1,105 @@
+package com.scriptbitcoin.interpreters;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.scriptbitcoin.model.Valor;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Representa un script ya compilado, listo para ser ejecutado por el ScriptInterpreter.
+ * Además de las instrucciones, guarda una tabla de saltos: cada OP_IF, OP_NOTIF y OP_ELSE conoce
+ * el índice de su OP_ELSE u OP_ENDIF correspondiente, así una rama que no se ejecuta se salta de una sola vez.
+ * También recuerda si el script es una plantilla estándar (P2PKH, P2SH, multifirma) con ejecución dedicada
+ * y el resultado del análisis de pila (StackAnalyzer).
+ * Estado: completa
+ */
+public final class ScriptProgram {
+    //instrucciones del script en el orden original
+    private final Valor[] instrucciones;
+    //tabla de saltos: para IF/NOTIF/ELSE el índice del siguiente ELSE o ENDIF del mismo bloque, -1 para el resto
+    private final int[] saltos;
+    //plantilla estandar reconocida, null si el script se ejecuta por el camino generico
+    private final Plantillas plantilla;
+    //resultado del analisis estatico de la pila
+    private final StackAnalyzer.Resultado analisis;
+
+    //constructor, solo lo usan el ScriptCompiler y ScriptProgramFormat (los arreglos ya vienen validados)
+    ScriptProgram(Valor[] instrucciones, int[] saltos) {
+        this.instrucciones = instrucciones;
+        this.saltos = saltos;
+        this.plantilla = Plantillas.detectar(instrucciones);
+        this.analisis = StackAnalyzer.analizar(instrucciones);
+    }
+
+    /**
+     * @return el numero de instrucciones del programa
+     */
+    public int size() {
+        return instrucciones.length;
+    }
+
+    /**
+     * @param index posicion de la instruccion
+     * @return la instruccion en esa posicion
+     */
+    public Valor get(int index) {
+        return instrucciones[index];
+    }
+
+    /**
+     * @param index posicion de un OP_IF, OP_NOTIF u OP_ELSE
+     * @return el índice del OP_ELSE u OP_ENDIF correspondiente, o -1 si la instrucción no es de control de flujo
+     */
+    public int getSalto(int index) {
+        return saltos[index];
+    }
+
+    /**
+     * @return true si el script es una plantilla estandar que se ejecuta con una rutina dedicada
+     */
+    public boolean isPlantilla() {
+        return plantilla != null;
+    }
+
+    /**
+     * @return true si el análisis de pila demostró que ninguna instrucción se queda sin elementos
+     */
+    public boolean isPilaSegura() {
+        return analisis.seguro;
+    }
+
+    /**
+     * @return la posición de la instrucción donde el script falla seguro por falta de elementos, o -1
+     */
+    public int getIndiceRechazo() {
+        return analisis.indiceRechazo;
+    }
+
+    /**
+     * Las instrucciones antes de esta posición nunca se quedan sin elementos: todo el programa si es seguro,
+     * hasta la instrucción que falla si hay rechazo, o ninguna.
+     */
+    int limiteSinValidar() {
+        if (analisis.seguro) {
+            return instrucciones.length;
+        }
+        return Math.max(analisis.indiceRechazo, 0);
+    }
+
+    Plantillas plantilla() {
+        return plantilla;
+    }
+
+    Valor[] instrucciones() {
+        return instrucciones;
+    }
+
+    /**
+     * @return vista de solo lectura de las instrucciones
+     */
+    public List<Valor> getValores() {
+        return Collections.unmodifiableList(Arrays.asList(instrucciones));
+    }
+}
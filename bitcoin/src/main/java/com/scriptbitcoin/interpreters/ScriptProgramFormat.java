@@ -0,0 +1,278 @@
+package com.scriptbitcoin.interpreters;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Formato binario compacto de un ScriptProgram, para guardar scripts ya compilados y
+ * cargarlos otra vez sin pasar por el texto, el tokenizador ni el ScriptCompiler.
+ *
+ * Estructura (los enteros "varint" son LEB128 sin signo, 7 bits por byte):
+ *   - cabecera: "BSCP", byte de VERSION, huella del conjunto de instrucciones (int big-endian)
+ *   - varint con el numero de instrucciones
+ *   - por instruccion: el byte del opcode (OpCode.getCode()), INTERNO + ordinal para los opcodes internos
+ *     del optimizador, o DATOS + varint de longitud + los bytes;
+ *     los OP_IF, OP_NOTIF y OP_ELSE van seguidos de un varint con la distancia a su OP_ELSE/OP_ENDIF
+ * Al leer, cada salto se comprueba en la misma pasada: al llegar a un OP_ELSE u OP_ENDIF, el bloque abierto
+ * de ese nivel tiene que saltar justo ahí, y al final no puede quedar ningún bloque abierto.
+ * La huella cambia si se agrega, quita o renumera un opcode, así un archivo guardado con otro conjunto
+ * de instrucciones se rechaza (isCompatible) en lugar de cargarse mal. OP_FALSE comparte el byte de OP_0
+ * y se lee como OP_0, que se ejecuta igual.
+ * Estado: completa
+ */
+public final class ScriptProgramFormat {
+    /** Version del formato, cambia si cambia la estructura */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIA = {'B', 'S', 'C', 'P'};
+    private static final int CABECERA = MAGIA.length + 1 + 4;
+    //marca de dato literal (0xff no es un opcode valido en Bitcoin)
+    private static final int DATOS = 0xff;
+    //marca de opcode interno (sin byte propio), seguida de su ordinal
+    private static final int INTERNO = 0xfe;
+    private static final int HUELLA = huellaOpcodes();
+
+    //opcode de cada byte leido, compartido entre programas (Valor es inmutable)
+    private static final Valor[] OPCODES = new Valor[256];
+    static {
+        for (int code = 0; code < 256; code++) {
+            OpCode op = OpCode.fromCode(code);
+            if (op != null) {
+                OPCODES[code] = new Valor(op);
+            }
+        }
+    }
+
+    //opcodes internos por ordinal
+    private static final Valor[] INTERNOS = new Valor[OpCode.values().length];
+    static {
+        for (OpCode op : OpCode.values()) {
+            if (op.isInterno()) {
+                INTERNOS[op.ordinal()] = new Valor(op);
+            }
+        }
+    }
+
+    private ScriptProgramFormat() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * @return la huella del conjunto de instrucciones actual (nombres y bytes de todos los opcodes)
+     */
+    public static int huellaOpcodes() {
+        int h = VERSION;
+        for (OpCode op : OpCode.values()) {
+            h = 31 * h + op.name().hashCode();
+            h = 31 * h + op.getCode();
+        }
+        return h;
+    }
+
+    /**
+     * @param programa el programa compilado
+     * @return el programa serializado
+     */
+    public static byte[] write(ScriptProgram programa) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(CABECERA + 1 + programa.size() * 2);
+        try {
+            write(programa, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // ByteArrayOutputStream no lanza IOException
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Escribe el programa serializado en el stream.
+     * @param programa el programa compilado
+     * @param out destino
+     * @throws IOException si falla la escritura
+     */
+    public static void write(ScriptProgram programa, OutputStream out) throws IOException {
+        out.write(MAGIA);
+        out.write(VERSION);
+        out.write(HUELLA >>> 24);
+        out.write(HUELLA >>> 16);
+        out.write(HUELLA >>> 8);
+        out.write(HUELLA);
+        escribirVarint(out, programa.size());
+        for (int i = 0; i < programa.size(); i++) {
+            Valor valor = programa.get(i);
+            if (valor.getType() == ValorTipo.DATA_LITERAL) {
+                ScriptBytes datos = valor.getBytes();
+                out.write(DATOS);
+                escribirVarint(out, datos.length());
+                out.write(datos.toByteArray());
+                continue;
+            }
+            OpCode op = valor.getOpCode();
+            if (op.isInterno()) {
+                out.write(INTERNO);
+                out.write(op.ordinal());
+            } else {
+                out.write(op.getCode());
+            }
+            int salto = programa.getSalto(i);
+            if (esBloque(op)) {
+                escribirVarint(out, salto - i);
+            }
+        }
+    }
+
+    /**
+     * @param data bytes de un programa serializado
+     * @return true si la cabecera corresponde a esta version y a este conjunto de instrucciones
+     */
+    public static boolean isCompatible(byte[] data) {
+        if (data.length < CABECERA) {
+            return false;
+        }
+        for (int i = 0; i < MAGIA.length; i++) {
+            if (data[i] != MAGIA[i]) {
+                return false;
+            }
+        }
+        return (data[MAGIA.length] & 0xff) == VERSION && leerInt(data, MAGIA.length + 1) == HUELLA;
+    }
+
+    /**
+     * Lee todo el stream y carga el programa.
+     * @param in origen
+     * @return el programa listo para ejecutar
+     * @throws IOException si falla la lectura
+     * @throws IllegalArgumentException si el formato es invalido o incompatible
+     */
+    public static ScriptProgram read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return read(out.toByteArray());
+    }
+
+    /**
+     * Carga el programa directamente, sin tokenizar ni compilar. Los datos literales son vistas del arreglo
+     * (sin copia), que no se debe modificar despues.
+     * @param data bytes de un programa serializado
+     * @return el programa listo para ejecutar
+     * @throws IllegalArgumentException si el formato es invalido o incompatible
+     */
+    public static ScriptProgram read(byte[] data) {
+        if (!isCompatible(data)) {
+            throw new IllegalArgumentException("Formato de script compilado incompatible (version o conjunto de instrucciones distinto)");
+        }
+        int[] pos = {CABECERA};
+        int n = leerVarint(data, pos);
+        if (n > data.length - pos[0]) {
+            throw invalido("numero de instrucciones mayor que los datos");
+        }
+        Valor[] instrucciones = new Valor[n];
+        int[] saltos = new int[n];
+        Arrays.fill(saltos, -1);
+        //indice del IF/NOTIF/ELSE abierto de cada nivel
+        int[] abiertos = new int[8];
+        int profundidad = 0;
+        for (int i = 0; i < n; i++) {
+            int code = leerByte(data, pos);
+            if (code == DATOS) {
+                int len = leerVarint(data, pos);
+                if (len > data.length - pos[0]) {
+                    throw invalido("dato truncado");
+                }
+                instrucciones[i] = new Valor(ScriptBytes.wrap(data, pos[0], len));
+                pos[0] += len;
+                continue;
+            }
+            Valor opcode = code == INTERNO ? interno(leerByte(data, pos)) : OPCODES[code];
+            if (opcode == null) {
+                throw invalido("opcode desconocido 0x" + Integer.toHexString(code));
+            }
+            instrucciones[i] = opcode;
+            OpCode op = opcode.getOpCode();
+            if (op == OpCode.OP_ELSE || op == OpCode.OP_ENDIF) {
+                if (profundidad == 0) {
+                    throw invalido(op + " sin OP_IF correspondiente");
+                }
+                if (saltos[abiertos[--profundidad]] != i) {
+                    throw invalido("la tabla de saltos no corresponde a los OP_IF/OP_ELSE/OP_ENDIF");
+                }
+            }
+            if (esBloque(op)) {
+                int distancia = leerVarint(data, pos);
+                if (distancia <= 0 || distancia >= n - i) {
+                    throw invalido("salto fuera del programa");
+                }
+                saltos[i] = i + distancia;
+                if (profundidad == abiertos.length) {
+                    abiertos = Arrays.copyOf(abiertos, profundidad * 2);
+                }
+                abiertos[profundidad++] = i;
+            }
+        }
+        if (profundidad != 0) {
+            throw invalido("falta un OP_ENDIF para cerrar una rama condicional");
+        }
+        if (pos[0] != data.length) {
+            throw invalido("bytes sobrantes al final");
+        }
+        return new ScriptProgram(instrucciones, saltos);
+    }
+
+    private static Valor interno(int ordinal) {
+        return ordinal < INTERNOS.length ? INTERNOS[ordinal] : null;
+    }
+
+    private static boolean esBloque(OpCode op) {
+        return op == OpCode.OP_IF || op == OpCode.OP_NOTIF || op == OpCode.OP_ELSE;
+    }
+
+    private static IllegalArgumentException invalido(String detalle) {
+        return new IllegalArgumentException("Formato de script compilado invalido: " + detalle);
+    }
+
+    private static void escribirVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int leerVarint(byte[] data, int[] pos) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = leerByte(data, pos);
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw invalido("varint fuera de rango");
+                }
+                return value;
+            }
+        }
+        throw invalido("varint demasiado largo");
+    }
+
+    private static int leerByte(byte[] data, int[] pos) {
+        if (pos[0] >= data.length) {
+            throw invalido("fin de datos inesperado");
+        }
+        return data[pos[0]++] & 0xff;
+    }
+
+    private static int leerInt(byte[] data, int off) {
+        return (data[off] & 0xff) << 24 | (data[off + 1] & 0xff) << 16 | (data[off + 2] & 0xff) << 8 | (data[off + 3] & 0xff);
+    }
+}
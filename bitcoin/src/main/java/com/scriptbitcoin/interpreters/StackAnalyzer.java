@@ -0,0 +1,237 @@
+package com.scriptbitcoin.interpreters;
+
+import java.util.Arrays;
+
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Análisis estático del tamaño de la pila. Recorre el programa una vez llevando el rango
+ * [mínimo, máximo] de elementos que puede haber antes de cada instrucción por todos los caminos
+ * (las dos ramas de cada OP_IF/OP_NOTIF se juntan en su OP_ENDIF). Con eso decide:
+ *   - seguro: en ningún camino falta un elemento, así el programa puede ejecutarse sin las validaciones
+ *     de tamaño (UncheckedOperations).
+ *   - rechazo: una instrucción del nivel principal tiene menos elementos de los que necesita en todos los
+ *     caminos y ninguna instrucción anterior puede fallar; el script falla ahí con seguridad, así que las
+ *     instrucciones anteriores se pueden ejecutar sin validaciones. Esa instrucción se ejecuta normal y falla
+ *     con su propio mensaje y la misma pila que sin el análisis.
+ * OP_CHECKMULTISIG consume un número de elementos que depende de los datos: el análisis se detiene ahí
+ * (el programa no es seguro, pero un rechazo anterior sigue valiendo). Un bloque con más de un OP_ELSE
+ * tampoco se analiza.
+ * Estado: completa
+ */
+final class StackAnalyzer {
+    //el consumo de la instruccion depende de los datos
+    private static final int DINAMICO = -1;
+
+    private StackAnalyzer() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * Resultado del analisis.
+     */
+    static final class Resultado {
+        //true si ninguna instruccion puede quedarse sin elementos
+        final boolean seguro;
+        //posicion de la instruccion que falla seguro por falta de elementos, -1 si no hay rechazo
+        final int indiceRechazo;
+
+        Resultado(boolean seguro, int indiceRechazo) {
+            this.seguro = seguro;
+            this.indiceRechazo = indiceRechazo;
+        }
+    }
+
+    /**
+     * @param ins las instrucciones (con IF/ELSE/ENDIF ya balanceados)
+     * @return el resultado del analisis
+     */
+    static Resultado analizar(Valor[] ins) {
+        int min = 0;
+        int max = 0;
+        boolean vivo = true;       // false despues de un OP_RETURN en el camino actual
+        boolean seguro = true;
+        boolean puedeFallar = false;
+        // por cada bloque abierto: rango al entrar, rango al terminar la primera rama, vivo de cada uno y numero de ELSE
+        int[][] bloques = new int[8][];
+        int abiertos = 0;
+
+        for (int i = 0; i < ins.length; i++) {
+            Valor valor = ins[i];
+            if (valor.getType() == ValorTipo.DATA_LITERAL) {
+                if (vivo) {
+                    min++;
+                    max++;
+                }
+                continue;
+            }
+            OpCode op = valor.getOpCode();
+            if (op == OpCode.OP_ELSE || op == OpCode.OP_ENDIF) {
+                int[] bloque = bloques[abiertos - 1];
+                if (op == OpCode.OP_ELSE) {
+                    if (bloque[5]++ > 0) {
+                        return new Resultado(false, -1);
+                    }
+                    // fin de la primera rama; la segunda empieza con el rango de entrada
+                    bloque[2] = min;
+                    bloque[3] = max;
+                    bloque[4] = vivo ? 1 : 0;
+                    min = bloque[0];
+                    max = bloque[1];
+                    vivo = bloque[6] == 1;
+                    continue;
+                }
+                // sin ELSE la otra rama es no hacer nada: se junta con el rango de entrada
+                int otroMin = bloque[5] == 0 ? bloque[0] : bloque[2];
+                int otroMax = bloque[5] == 0 ? bloque[1] : bloque[3];
+                boolean otroVivo = bloque[5] == 0 ? bloque[6] == 1 : bloque[4] == 1;
+                if (vivo && otroVivo) {
+                    min = Math.min(min, otroMin);
+                    max = Math.max(max, otroMax);
+                } else if (otroVivo) {
+                    min = otroMin;
+                    max = otroMax;
+                }
+                vivo = vivo || otroVivo;
+                abiertos--;
+                continue;
+            }
+            int necesita = necesita(op);
+            if (necesita == DINAMICO) {
+                return new Resultado(false, -1);
+            }
+            if (vivo) {
+                if (max < necesita && abiertos == 0 && !puedeFallar) {
+                    return new Resultado(false, i);
+                }
+                if (min < necesita) {
+                    // en algun camino falla aqui: despues ya no se puede asegurar cual es el primer error
+                    seguro = false;
+                    puedeFallar = true;
+                }
+                if (max < necesita) {
+                    vivo = false; // falla en todos los caminos
+                } else {
+                    int efecto = efecto(op);
+                    min = Math.max(min, necesita) + efecto;
+                    max = max + efecto;
+                }
+            }
+            if (puedeFallar(op)) {
+                puedeFallar = true;
+            }
+            if (op == OpCode.OP_RETURN) {
+                vivo = false;
+            }
+            if (op == OpCode.OP_IF || op == OpCode.OP_NOTIF) {
+                if (abiertos == bloques.length) {
+                    bloques = Arrays.copyOf(bloques, abiertos * 2);
+                }
+                bloques[abiertos++] = new int[] {min, max, 0, 0, 0, 0, vivo ? 1 : 0};
+            }
+        }
+        return new Resultado(seguro, -1);
+    }
+
+    /**
+     * @return elementos que la instruccion necesita en la pila, o DINAMICO
+     */
+    private static int necesita(OpCode op) {
+        switch (op) {
+            case OP_DUP:
+            case OP_DROP:
+            case OP_NOT:
+            case OP_VERIFY:
+            case OP_IF:
+            case OP_NOTIF:
+            case OP_SHA256:
+            case OP_HASH160:
+            case OP_HASH256:
+                return 1;
+            case OP_SWAP:
+            case OP_OVER:
+            case OP_EQUAL:
+            case OP_EQUALVERIFY:
+            case OP_EQUAL_OP_VERIFY:
+            case OP_BOOLAND:
+            case OP_BOOLOR:
+            case OP_ADD:
+            case OP_SUB:
+            case OP_NUMEQUALVERIFY:
+            case OP_LESSTHAN:
+            case OP_GREATERTHAN:
+            case OP_LESSTHANOREQUAL:
+            case OP_GREATERTHANOREQUAL:
+            case OP_CHECKSIG:
+            case OP_CHECKSIGVERIFY:
+                return 2;
+            case OP_CHECKMULTISIG:
+            case OP_CHECKMULTISIGVERIFY:
+                return DINAMICO;
+            default:
+                return 0; // literales, OP_PUSHDATA, OP_RETURN
+        }
+    }
+
+    /**
+     * @return cambio en el numero de elementos (cuando hay suficientes)
+     */
+    private static int efecto(OpCode op) {
+        switch (op) {
+            case OP_DUP:
+            case OP_OVER:
+                return 1;
+            case OP_DROP:
+            case OP_VERIFY:
+            case OP_IF:
+            case OP_NOTIF:
+            case OP_EQUAL:
+            case OP_BOOLAND:
+            case OP_BOOLOR:
+            case OP_ADD:
+            case OP_SUB:
+            case OP_LESSTHAN:
+            case OP_GREATERTHAN:
+            case OP_LESSTHANOREQUAL:
+            case OP_GREATERTHANOREQUAL:
+            case OP_CHECKSIG:
+                return -1;
+            case OP_EQUALVERIFY:
+            case OP_EQUAL_OP_VERIFY:
+            case OP_NUMEQUALVERIFY:
+            case OP_CHECKSIGVERIFY:
+                return -2;
+            case OP_PUSHDATA1:
+            case OP_PUSHDATA2:
+            case OP_RETURN:
+            case OP_SWAP:
+            case OP_NOT:
+            case OP_SHA256:
+            case OP_HASH160:
+            case OP_HASH256:
+                return 0;
+            default:
+                return 1; // OP_0..OP_16
+        }
+    }
+
+    /**
+     * @return true si la instruccion puede fallar aunque tenga los elementos que necesita
+     */
+    private static boolean puedeFallar(OpCode op) {
+        switch (op) {
+            case OP_VERIFY:
+            case OP_EQUALVERIFY:
+            case OP_EQUAL_OP_VERIFY:
+            case OP_NUMEQUALVERIFY:
+            case OP_CHECKSIGVERIFY:
+            case OP_RETURN:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.scriptbitcoin.model;
+
+import java.util.Arrays;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Pila de condiciones para OP_IF, OP_NOTIF, OP_ELSE y OP_ENDIF.
+ * En lugar de una Deque<Boolean> guarda cada condición como un bit dentro de un arreglo de long
+ * y lleva un contador de cuántas condiciones son falsas. Así saber si se está ejecutando
+ * (contador en 0), empujar, sacar e invertir la cima (OP_ELSE) son operaciones O(1) sin boxing.
+ * Estado: completa
+ */
+public final class ConditionStack {
+    //bits de condicion, el nivel i esta en el bit (i % 64) del long (i / 64)
+    private long[] bits;
+    //numero de niveles en la pila
+    private int size;
+    //numero de niveles cuya condicion es falsa
+    private int falseCount;
+
+    //constructor
+    public ConditionStack() {
+        this.bits = new long[1];
+    }
+
+    /**
+     * Empuja una nueva condicion (inicio de un OP_IF u OP_NOTIF).
+     * @param condition la condicion del nuevo nivel
+     */
+    public void push(boolean condition) {
+        int word = size >>> 6;
+        if (word == bits.length) {
+            bits = Arrays.copyOf(bits, bits.length * 2);
+        }
+        long mask = 1L << (size & 63);
+        if (condition) {
+            bits[word] |= mask;
+        } else {
+            bits[word] &= ~mask;
+            falseCount++;
+        }
+        size++;
+    }
+
+    /**
+     * Saca la condicion de la cima (OP_ENDIF).
+     * @return la condicion que estaba en la cima
+     * @throws IllegalStateException si la pila esta vacia
+     */
+    public boolean pop() {
+        boolean top = peek();
+        size--;
+        if (!top) {
+            falseCount--;
+        }
+        return top;
+    }
+
+    /**
+     * @return la condicion de la cima
+     * @throws IllegalStateException si la pila esta vacia
+     */
+    public boolean peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Pila de condiciones vacia");
+        }
+        int top = size - 1;
+        return (bits[top >>> 6] & (1L << (top & 63))) != 0;
+    }
+
+    /**
+     * Invierte la condicion de la cima (OP_ELSE).
+     * @throws IllegalStateException si la pila esta vacia
+     */
+    public void toggleTop() {
+        boolean top = peek();
+        int index = size - 1;
+        bits[index >>> 6] ^= 1L << (index & 63);
+        falseCount += top ? 1 : -1;
+    }
+
+    /**
+     * @return true si todas las condiciones son verdaderas, es decir, si la rama actual se ejecuta
+     */
+    public boolean isExecuting() {
+        return falseCount == 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Vacia la pila para reutilizarla en otra ejecucion.
+     */
+    public void clear() {
+        size = 0;
+        falseCount = 0;
+    }
+}
@@ -12,29 +12,71 @@ package com.scriptbitcoin.model;
 
 public enum OpCode {
     // Literales y empuje de datos
-    OP_0, OP_FALSE,
-    OP_1, OP_2, OP_3, OP_4, OP_5, OP_6, OP_7, OP_8,
-    OP_9, OP_10, OP_11, OP_12, OP_13, OP_14, OP_15, OP_16, OP_PUSHDATA1, OP_PUSHDATA2,
+    OP_0(0x00), OP_FALSE(0x00),
+    OP_1(0x51), OP_2(0x52), OP_3(0x53), OP_4(0x54), OP_5(0x55), OP_6(0x56), OP_7(0x57), OP_8(0x58),
+    OP_9(0x59), OP_10(0x5a), OP_11(0x5b), OP_12(0x5c), OP_13(0x5d), OP_14(0x5e), OP_15(0x5f), OP_16(0x60),
+    OP_PUSHDATA1(0x4c), OP_PUSHDATA2(0x4d),
 
     // Operaciones de pila
-    OP_DUP, OP_DROP, OP_SWAP, OP_OVER,
+    OP_DUP(0x76), OP_DROP(0x75), OP_SWAP(0x7c), OP_OVER(0x78),
 
     // Logica y comparacion
-    OP_EQUAL, OP_EQUALVERIFY, OP_NOT, OP_BOOLAND, OP_BOOLOR,
+    OP_EQUAL(0x87), OP_EQUALVERIFY(0x88), OP_NOT(0x91), OP_BOOLAND(0x9a), OP_BOOLOR(0x9b),
+    // Interno (sin byte ni nombre en el texto): OP_EQUAL seguido de OP_VERIFY, fusionado por ScriptOptimizer
+    OP_EQUAL_OP_VERIFY(-1),
 
     // Aritmetica basica
-    OP_ADD, OP_SUB, OP_NUMEQUALVERIFY,
-    OP_LESSTHAN, OP_GREATERTHAN, OP_LESSTHANOREQUAL, OP_GREATERTHANOREQUAL,
+    OP_ADD(0x93), OP_SUB(0x94), OP_NUMEQUALVERIFY(0x9d),
+    OP_LESSTHAN(0x9f), OP_GREATERTHAN(0xa0), OP_LESSTHANOREQUAL(0xa1), OP_GREATERTHANOREQUAL(0xa2),
 
     // Control de flujo
-    OP_IF, OP_NOTIF, OP_ELSE, OP_ENDIF, OP_VERIFY, OP_RETURN,
+    OP_IF(0x63), OP_NOTIF(0x64), OP_ELSE(0x67), OP_ENDIF(0x68), OP_VERIFY(0x69), OP_RETURN(0x6a),
 
     // Criptograficas (simuladas)
-    OP_SHA256, OP_HASH160, OP_HASH256,
+    OP_SHA256(0xa8), OP_HASH160(0xa9), OP_HASH256(0xaa),
 
     // Firmas (simuladas)
-    OP_CHECKSIG, OP_CHECKSIGVERIFY,
+    OP_CHECKSIG(0xac), OP_CHECKSIGVERIFY(0xad),
 
     // Opcionales (avanzado)// Desafio
-    OP_CHECKMULTISIG, OP_CHECKMULTISIGVERIFY
+    OP_CHECKMULTISIG(0xae), OP_CHECKMULTISIGVERIFY(0xaf);
+
+    //opcode de cada byte (OP_FALSE comparte el 0x00 con OP_0, la tabla guarda OP_0), null si no esta soportado
+    private static final OpCode[] POR_BYTE = new OpCode[256];
+    static {
+        for (OpCode op : values()) {
+            if (op.code >= 0 && POR_BYTE[op.code] == null) {
+                POR_BYTE[op.code] = op;
+            }
+        }
+    }
+
+    //valor del opcode en un script serializado de Bitcoin, -1 para los opcodes internos
+    private final int code;
+
+    OpCode(int code) {
+        this.code = code;
+    }
+
+    /**
+     * @return el byte del opcode en un script serializado (0..255), o -1 si es un opcode interno
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * @return true si el opcode solo lo genera el optimizador (no existe en Bitcoin ni en el texto de un script)
+     */
+    public boolean isInterno() {
+        return code < 0;
+    }
+
+    /**
+     * @param code un byte de un script serializado (0..255)
+     * @return el opcode con ese valor, o null si no esta soportado (o es un empuje directo de datos 0x01..0x4b)
+     */
+    public static OpCode fromCode(int code) {
+        return POR_BYTE[code & 0xff];
+    }
 }
@@ -0,0 +1,205 @@
+package com.scriptbitcoin.model;
+
+import com.scriptbitcoin.utils.Utiles;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Secuencia de bytes inmutable. Como nadie puede modificar su contenido, se puede compartir
+ * entre Valor, la pila y los cachés sin hacer copias defensivas.
+ * Puede apuntar a un rango de un arreglo más grande (por ejemplo un script binario) sin copiarlo.
+ *
+ * Incluye constantes canónicas para el vacío (falso), el verdadero y los números pequeños -1..16,
+ * que son los valores que más se repiten en los scripts.
+ * Estado: completa
+ */
+public final class ScriptBytes {
+    /** Elemento vacio (falso, cero) */
+    public static final ScriptBytes EMPTY = new ScriptBytes(new byte[0], 0, 0);
+
+    //numeros canonicos -1..16, el indice es valor + 1
+    private static final ScriptBytes[] SMALL_NUMBERS = new ScriptBytes[18];
+    static {
+        for (int value = -1; value <= 16; value++) {
+            SMALL_NUMBERS[value + 1] = value == 0 ? EMPTY : wrap(Utiles.intToBytes(value));
+        }
+    }
+
+    /** Valor verdadero canonico (1) */
+    public static final ScriptBytes TRUE = SMALL_NUMBERS[2];
+
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+    //hash calculado la primera vez que se pide (0 = sin calcular)
+    private int hash;
+
+    private ScriptBytes(byte[] data, int offset, int length) {
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Crea una secuencia con una copia de los datos (el arreglo original puede seguir cambiando).
+     * @param data los bytes a copiar
+     */
+    public static ScriptBytes of(byte[] data) {
+        if (data.length == 0) {
+            return EMPTY;
+        }
+        return new ScriptBytes(data.clone(), 0, data.length);
+    }
+
+    /**
+     * Envuelve un arreglo sin copiarlo. Solo debe usarse con arreglos que nadie va a modificar despues,
+     * por ejemplo uno recien creado por el tokenizador.
+     * @param data los bytes
+     */
+    public static ScriptBytes wrap(byte[] data) {
+        return wrap(data, 0, data.length);
+    }
+
+    /**
+     * Envuelve un rango de un arreglo sin copiarlo (mismas condiciones que wrap(byte[])).
+     * @param data arreglo que contiene los bytes
+     * @param offset posicion inicial
+     * @param length numero de bytes
+     */
+    public static ScriptBytes wrap(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IndexOutOfBoundsException("Rango invalido: " + offset + "+" + length + " de " + data.length);
+        }
+        if (length == 0) {
+            return EMPTY;
+        }
+        return new ScriptBytes(data, offset, length);
+    }
+
+    /**
+     * Codificacion de Bitcoin Script de un entero. Para -1..16 devuelve la constante canonica sin crear objetos.
+     * @param value el valor entero
+     */
+    public static ScriptBytes ofInt(int value) {
+        if (value >= -1 && value <= 16) {
+            return SMALL_NUMBERS[value + 1];
+        }
+        return wrap(Utiles.intToBytes(value));
+    }
+
+    /**
+     * @param value un numero entre -1 y 16
+     * @return la constante canonica de ese numero
+     * @throws IllegalArgumentException si el valor esta fuera de rango
+     */
+    public static ScriptBytes smallNumber(int value) {
+        if (value < -1 || value > 16) {
+            throw new IllegalArgumentException("Numero fuera de rango (-1..16): " + value);
+        }
+        return SMALL_NUMBERS[value + 1];
+    }
+
+    /**
+     * @param value valor booleano
+     * @return TRUE o EMPTY
+     */
+    public static ScriptBytes ofBoolean(boolean value) {
+        return value ? TRUE : EMPTY;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public byte byteAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Indice invalido: " + index);
+        }
+        return data[offset + index];
+    }
+
+    /**
+     * Copia los bytes a un arreglo destino.
+     * @param dst arreglo destino
+     * @param dstOffset posicion inicial en el destino
+     */
+    public void copyTo(byte[] dst, int dstOffset) {
+        System.arraycopy(data, offset, dst, dstOffset, length);
+    }
+
+    /**
+     * @return una copia de los bytes como arreglo nuevo
+     */
+    public byte[] toByteArray() {
+        byte[] copy = new byte[length];
+        copyTo(copy, 0);
+        return copy;
+    }
+
+    /**
+     * @return true si el valor es "truthy" segun las reglas de Bitcoin Script
+     */
+    public boolean isTruthy() {
+        return Utiles.isTruthy(data, offset, length);
+    }
+
+    /**
+     * @return el valor interpretado como entero de Bitcoin Script
+     */
+    public int toInt() {
+        return Utiles.bytesToInt(data, offset, length);
+    }
+
+    //acceso sin copia para las clases del paquete (ScriptStack)
+    byte[] array() {
+        return data;
+    }
+
+    int arrayOffset() {
+        return offset;
+    }
+
+    /**
+     * @return representacion hexadecimal (cadena vacia si no hay bytes)
+     */
+    public String toHex() {
+        return length == 0 ? "" : Utiles.bytesToHex(data, offset, length);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ScriptBytes)) {
+            return false;
+        }
+        ScriptBytes other = (ScriptBytes) obj;
+        if (length != other.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (data[offset + i] != other.data[other.offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && length > 0) {
+            h = 1;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + data[offset + i];
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
@@ -0,0 +1,574 @@
+package com.scriptbitcoin.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+import com.scriptbitcoin.utils.Utiles;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Pila principal del intérprete. En lugar de guardar cada elemento como un byte[] separado
+ * (como hacía la Deque<byte[]>), todos los bytes viven en un solo arreglo (arena) y cada elemento
+ * es un par (offset, longitud) guardado en dos arreglos int[].
+ * Empujar y sacar solo mueven índices, y las operaciones pueden leer sus operandos en su lugar
+ * con arena(), offset(depth) y length(depth) sin crear arreglos nuevos.
+ *
+ * Cada elemento tiene además una etiqueta: puede ser de bytes o numérico. Los elementos numéricos
+ * (resultados de OP_ADD, comparaciones, OP_1..OP_16, etc.) guardan el int directamente y no ocupan
+ * la arena; su codificación de Bitcoin Script solo se escribe cuando un consumidor de bytes
+ * la necesita (ensureBytes), por ejemplo los hashes o las firmas.
+ *
+ * Convención: depth 0 es la cima, depth 1 el elemento debajo de la cima, etc.
+ * Los métodos *Unchecked no validan la profundidad: son para las operaciones que ya comprobaron
+ * el tamaño de la pila (o que el análisis de pila demostró que nunca les faltan elementos).
+ * Estado: completa
+ */
+public final class ScriptStack {
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int ARENA_INICIAL = 256;
+
+    //todos los bytes de la pila, los elementos estan uno detras de otro en orden de empuje
+    private byte[] arena;
+    //primera posicion libre de la arena
+    private int arenaTop;
+    //offset y longitud de cada elemento, el indice 0 es la base de la pila
+    private int[] offsets;
+    private int[] lengths;
+    //etiqueta de cada elemento: true si es numerico (valor en numbers, longitud 0 en la arena)
+    private boolean[] numeric;
+    private int[] numbers;
+    //numero de elementos
+    private int size;
+    //marca de agua baja: los elementos por debajo de este indice no cambiaron desde resetLowWaterMark()
+    private int lowWater;
+    //espacio para codificar un numero al compararlo con un elemento de bytes (un int ocupa a lo sumo 5 bytes)
+    private final byte[] scratch = new byte[5];
+
+    //constructor
+    public ScriptStack() {
+        this.arena = new byte[ARENA_INICIAL];
+        this.offsets = new int[CAPACIDAD_INICIAL];
+        this.lengths = new int[CAPACIDAD_INICIAL];
+        this.numeric = new boolean[CAPACIDAD_INICIAL];
+        this.numbers = new int[CAPACIDAD_INICIAL];
+    }
+
+    ////////////// EMPUJAR Y SACAR //////////////
+
+    /**
+     * Empuja una copia de los datos en la cima.
+     * @param data los bytes del nuevo elemento
+     */
+    public void push(byte[] data) {
+        push(data, 0, data.length);
+    }
+
+    /**
+     * Empuja una copia de un rango de bytes en la cima.
+     * @param src arreglo de origen
+     * @param off posicion inicial
+     * @param len numero de bytes
+     */
+    public void push(byte[] src, int off, int len) {
+        int dst = reserve(len);
+        System.arraycopy(src, off, arena, dst, len);
+    }
+
+    /**
+     * Empuja un valor inmutable copiándolo directo a la arena (sin copias intermedias).
+     * @param value los bytes del nuevo elemento
+     */
+    public void push(ScriptBytes value) {
+        push(value.array(), value.arrayOffset(), value.length());
+    }
+
+    /**
+     * Empuja un entero como elemento numérico, sin codificarlo todavía.
+     * @param value el valor a empujar
+     */
+    public void pushInt(int value) {
+        growSlots();
+        offsets[size] = arenaTop;
+        lengths[size] = 0;
+        numeric[size] = true;
+        numbers[size] = value;
+        size++;
+    }
+
+    /**
+     * Empuja 1 si la condicion es verdadera o 0 (elemento vacío) si es falsa.
+     * @param value el valor booleano
+     */
+    public void pushBool(boolean value) {
+        pushInt(value ? 1 : 0);
+    }
+
+    /**
+     * Reserva un nuevo elemento de len bytes en la cima sin inicializar su contenido.
+     * La arena puede cambiar de arreglo, por lo que hay que volver a llamar arena() después.
+     * @param len longitud del nuevo elemento
+     * @return el offset del nuevo elemento dentro de la arena
+     */
+    public int reserve(int len) {
+        growSlots();
+        ensureArena(arenaTop + len);
+        int off = arenaTop;
+        offsets[size] = off;
+        lengths[size] = len;
+        numeric[size] = false;
+        size++;
+        arenaTop += len;
+        return off;
+    }
+
+    /**
+     * Acorta el elemento de la cima a sus primeros len bytes (por ejemplo después de reservar el tamaño
+     * máximo de un hash y escribir menos).
+     * @param len nueva longitud, entre 0 y la longitud actual
+     * @throws IllegalArgumentException si len esta fuera de rango
+     */
+    public void truncateTop(int len) {
+        int top = checkDepth(0);
+        if (numeric[top] || len < 0 || len > lengths[top]) {
+            throw new IllegalArgumentException("Longitud invalida para la cima: " + len);
+        }
+        lengths[top] = len;
+        arenaTop = offsets[top] + len;
+        lowWater = Math.min(lowWater, top);
+    }
+
+    /**
+     * Saca el elemento de la cima y lo devuelve como un arreglo nuevo.
+     * Las operaciones que solo necesitan leer el valor deberían usar drop() y los accesores en su lugar.
+     * @return copia de los bytes de la cima
+     * @throws NoSuchElementException si la pila esta vacia
+     */
+    public byte[] pop() {
+        byte[] top = peek();
+        drop();
+        return top;
+    }
+
+    /**
+     * Descarta el elemento de la cima (solo mueve los índices).
+     * @throws NoSuchElementException si la pila esta vacia
+     */
+    public void drop() {
+        checkDepth(0);
+        dropUnchecked(1);
+    }
+
+    /**
+     * Descarta los n elementos superiores.
+     * @param n numero de elementos
+     */
+    public void drop(int n) {
+        if (n <= 0) {
+            return;
+        }
+        checkDepth(n - 1);
+        dropUnchecked(n);
+    }
+
+    /**
+     * Descarta los n elementos superiores sin validar que existan.
+     * @param n numero de elementos, entre 1 y size()
+     */
+    public void dropUnchecked(int n) {
+        size -= n;
+        arenaTop = offsets[size];
+        if (size < lowWater) {
+            lowWater = size;
+        }
+    }
+
+    /**
+     * Elimina el segundo elemento y baja la cima a su lugar.
+     */
+    public void nip() {
+        checkDepth(1);
+        int top = size - 1;
+        int dst = offsets[top - 1];
+        System.arraycopy(arena, offsets[top], arena, dst, lengths[top]);
+        offsets[top - 1] = dst;
+        lengths[top - 1] = lengths[top];
+        numeric[top - 1] = numeric[top];
+        numbers[top - 1] = numbers[top];
+        size--;
+        arenaTop = dst + lengths[top - 1];
+        lowWater = Math.min(lowWater, top - 1);
+    }
+
+    ////////////// OPERACIONES EN SU LUGAR //////////////
+
+    /**
+     * Copia el elemento que está a la profundidad dada y lo empuja en la cima (OP_DUP = 0, OP_OVER = 1).
+     * @param depth profundidad del elemento a copiar
+     */
+    public void pushCopyOf(int depth) {
+        checkDepth(depth);
+        pushCopyOfUnchecked(depth);
+    }
+
+    /**
+     * Igual que pushCopyOf sin validar la profundidad.
+     * @param depth profundidad del elemento a copiar, menor que size()
+     */
+    public void pushCopyOfUnchecked(int depth) {
+        int index = size - 1 - depth;
+        if (numeric[index]) {
+            pushInt(numbers[index]);
+            return;
+        }
+        int len = lengths[index];
+        int dst = reserve(len);
+        System.arraycopy(arena, offsets[index], arena, dst, len);
+    }
+
+    /**
+     * Intercambia los dos elementos superiores rotando sus bytes dentro de la arena, sin memoria extra.
+     */
+    public void swap() {
+        checkDepth(1);
+        swapUnchecked();
+    }
+
+    /**
+     * Igual que swap sin validar que haya dos elementos.
+     */
+    public void swapUnchecked() {
+        int top = size - 1;
+        int start = offsets[top - 1];
+        int lenSecond = lengths[top - 1];
+        int lenTop = lengths[top];
+        // rotacion por triple reversa: [second|top] -> [top|second]
+        reverse(start, start + lenSecond);
+        reverse(start + lenSecond, start + lenSecond + lenTop);
+        reverse(start, start + lenSecond + lenTop);
+        lengths[top - 1] = lenTop;
+        lengths[top] = lenSecond;
+        offsets[top] = start + lenTop;
+
+        boolean numericSecond = numeric[top - 1];
+        numeric[top - 1] = numeric[top];
+        numeric[top] = numericSecond;
+        int numberSecond = numbers[top - 1];
+        numbers[top - 1] = numbers[top];
+        numbers[top] = numberSecond;
+        lowWater = Math.min(lowWater, top - 1);
+    }
+
+    /**
+     * @param depth profundidad del elemento
+     * @return true si el elemento es "truthy" segun las reglas de Bitcoin Script
+     */
+    public boolean isTruthy(int depth) {
+        return truthyAt(checkDepth(depth));
+    }
+
+    /**
+     * @param depth profundidad del elemento
+     * @return el elemento interpretado como entero de Bitcoin Script
+     */
+    public int getInt(int depth) {
+        return intAt(checkDepth(depth));
+    }
+
+    /**
+     * Saca la cima interpretada como entero.
+     * @return el valor entero de la cima
+     */
+    public int popInt() {
+        checkDepth(0);
+        return popIntUnchecked();
+    }
+
+    /**
+     * Igual que popInt sin validar que la pila tenga elementos.
+     * @return el valor entero de la cima
+     */
+    public int popIntUnchecked() {
+        int value = intAt(size - 1);
+        dropUnchecked(1);
+        return value;
+    }
+
+    /**
+     * Saca la cima interpretada como booleano.
+     * @return true si la cima era truthy
+     */
+    public boolean popBool() {
+        checkDepth(0);
+        return popBoolUnchecked();
+    }
+
+    /**
+     * Igual que popBool sin validar que la pila tenga elementos.
+     * @return true si la cima era truthy
+     */
+    public boolean popBoolUnchecked() {
+        boolean value = truthyAt(size - 1);
+        dropUnchecked(1);
+        return value;
+    }
+
+    /**
+     * Compara byte a byte dos elementos de la pila (los numéricos se comparan por su codificación).
+     * @param depthA profundidad del primer elemento
+     * @param depthB profundidad del segundo elemento
+     * @return true si tienen exactamente los mismos bytes
+     */
+    public boolean bytesEqual(int depthA, int depthB) {
+        checkDepth(depthA);
+        checkDepth(depthB);
+        return bytesEqualUnchecked(depthA, depthB);
+    }
+
+    /**
+     * Igual que bytesEqual sin validar las profundidades.
+     * @param depthA profundidad del primer elemento, menor que size()
+     * @param depthB profundidad del segundo elemento, menor que size()
+     * @return true si tienen exactamente los mismos bytes
+     */
+    public boolean bytesEqualUnchecked(int depthA, int depthB) {
+        int a = size - 1 - depthA;
+        int b = size - 1 - depthB;
+        if (numeric[a] && numeric[b]) {
+            // la codificacion minima es unica, asi que basta comparar los valores
+            return numbers[a] == numbers[b];
+        }
+        if (numeric[a] || numeric[b]) {
+            int num = numeric[a] ? a : b;
+            int bytes = numeric[a] ? b : a;
+            int len = Utiles.encodeInt(numbers[num], scratch, 0);
+            return rangeEquals(scratch, 0, len, arena, offsets[bytes], lengths[bytes]);
+        }
+        return rangeEquals(arena, offsets[a], lengths[a], arena, offsets[b], lengths[b]);
+    }
+
+    /**
+     * Escribe en la arena la codificación de los elementos numéricos entre los count superiores,
+     * para que los consumidores de bytes (hashes, firmas) puedan leerlos con arena(), offset() y length().
+     * Despues de llamarlo hay que volver a pedir arena(), porque puede haber crecido.
+     * @param count numero de elementos desde la cima
+     */
+    public void ensureBytes(int count) {
+        int limit = Math.min(count, size);
+        for (int depth = 0; depth < limit; depth++) {
+            int index = size - 1 - depth;
+            if (numeric[index]) {
+                materialize(index);
+            }
+        }
+    }
+
+    /**
+     * @param depth profundidad del elemento
+     * @return true si el elemento es numérico (todavía sin bytes en la arena)
+     */
+    public boolean isNumeric(int depth) {
+        return numeric[checkDepth(depth)];
+    }
+
+    ////////////// ACCESO //////////////
+
+    /**
+     * @return copia de los bytes de la cima
+     */
+    public byte[] peek() {
+        return peek(0);
+    }
+
+    /**
+     * @param depth profundidad del elemento
+     * @return copia de los bytes del elemento
+     */
+    public byte[] peek(int depth) {
+        int index = checkDepth(depth);
+        return copyOf(index);
+    }
+
+    /**
+     * Devuelve el elemento como valor inmutable. Los números pequeños (-1..16) devuelven
+     * las constantes canónicas de ScriptBytes sin crear objetos.
+     * @param depth profundidad del elemento
+     * @return el valor del elemento
+     */
+    public ScriptBytes peekValue(int depth) {
+        int index = checkDepth(depth);
+        if (numeric[index]) {
+            return ScriptBytes.ofInt(numbers[index]);
+        }
+        return ScriptBytes.wrap(copyOf(index));
+    }
+
+    /**
+     * Arreglo interno con los bytes de todos los elementos, solo para lectura en su lugar.
+     * Deja de ser valido despues de empujar (la arena puede crecer).
+     */
+    public byte[] arena() {
+        return arena;
+    }
+
+    /**
+     * @param depth profundidad del elemento
+     * @return posicion del elemento dentro de arena()
+     * @throws IllegalStateException si el elemento es numérico y no se llamó a ensureBytes
+     */
+    public int offset(int depth) {
+        return offsets[checkBytes(depth)];
+    }
+
+    /**
+     * @param depth profundidad del elemento
+     * @return numero de bytes del elemento
+     * @throws IllegalStateException si el elemento es numérico y no se llamó a ensureBytes
+     */
+    public int length(int depth) {
+        return lengths[checkBytes(depth)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vacía la pila conservando la memoria ya reservada.
+     */
+    public void clear() {
+        size = 0;
+        arenaTop = 0;
+        lowWater = 0;
+    }
+
+    /**
+     * Marca de agua baja: número de elementos de la base que no se sacaron ni se modificaron desde la
+     * última llamada a resetLowWaterMark(). Con ella se sabe qué cambió en un paso sin recorrer toda la pila:
+     * se sacaron (tamaño anterior - marca) elementos y se empujaron (size() - marca).
+     * @return la marca
+     */
+    public int lowWaterMark() {
+        return lowWater;
+    }
+
+    /**
+     * Pone la marca de agua baja en el tamaño actual.
+     */
+    public void resetLowWaterMark() {
+        lowWater = size;
+    }
+
+    /**
+     * Copia el contenido a una Deque con la cima primero (el mismo orden que usaba el intérprete antes),
+     * útil para el resultado final y para las pruebas.
+     * @return una Deque nueva con copias de cada elemento
+     */
+    public Deque<byte[]> toDeque() {
+        Deque<byte[]> deque = new ArrayDeque<>(Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            deque.push(copyOf(i));
+        }
+        return deque;
+    }
+
+    ////////////// METODOS PRIVADOS //////////////
+
+    //valida la profundidad y devuelve el indice interno
+    private int checkDepth(int depth) {
+        if (depth < 0 || depth >= size) {
+            throw new NoSuchElementException("Pila sin elemento en la profundidad " + depth);
+        }
+        return size - 1 - depth;
+    }
+
+    //valida que el elemento tenga sus bytes en la arena y devuelve el indice interno
+    private int checkBytes(int depth) {
+        int index = checkDepth(depth);
+        if (numeric[index]) {
+            throw new IllegalStateException("Elemento numerico sin bytes, falta llamar a ensureBytes");
+        }
+        return index;
+    }
+
+    private int intAt(int index) {
+        if (numeric[index]) {
+            return numbers[index];
+        }
+        return Utiles.bytesToInt(arena, offsets[index], lengths[index]);
+    }
+
+    private boolean truthyAt(int index) {
+        if (numeric[index]) {
+            return numbers[index] != 0;
+        }
+        return Utiles.isTruthy(arena, offsets[index], lengths[index]);
+    }
+
+    private byte[] copyOf(int index) {
+        if (numeric[index]) {
+            return Utiles.intToBytes(numbers[index]);
+        }
+        int off = offsets[index];
+        return Arrays.copyOfRange(arena, off, off + lengths[index]);
+    }
+
+    //escribe la codificacion de un elemento numerico en su posicion, desplazando los bytes de los elementos de encima
+    private void materialize(int index) {
+        int value = numbers[index];
+        int len = Utiles.encodedLength(value);
+        if (len > 0) {
+            int off = offsets[index];
+            ensureArena(arenaTop + len);
+            System.arraycopy(arena, off, arena, off + len, arenaTop - off);
+            for (int i = index + 1; i < size; i++) {
+                offsets[i] += len;
+            }
+            arenaTop += len;
+            Utiles.encodeInt(value, arena, off);
+        }
+        lengths[index] = len;
+        numeric[index] = false;
+    }
+
+    private static boolean rangeEquals(byte[] a, int offA, int lenA, byte[] b, int offB, int lenB) {
+        if (lenA != lenB) {
+            return false;
+        }
+        for (int i = 0; i < lenA; i++) {
+            if (a[offA + i] != b[offB + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void growSlots() {
+        if (size == offsets.length) {
+            int capacity = size * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            numeric = Arrays.copyOf(numeric, capacity);
+            numbers = Arrays.copyOf(numbers, capacity);
+        }
+    }
+
+    private void ensureArena(int needed) {
+        if (needed > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(needed, arena.length * 2));
+        }
+    }
+
+    private void reverse(int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            byte tmp = arena[i];
+            arena[i] = arena[j];
+            arena[j] = tmp;
+        }
+    }
+}
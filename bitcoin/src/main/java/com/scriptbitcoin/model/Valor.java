@@ -1,5 +1,4 @@
 package com.scriptbitcoin.model;
-import java.util.Arrays;
 /**
  * @author Abigail Escobar
  * Fecha: 12/02/2026
@@ -9,7 +8,7 @@ public class Valor {
     //atributo
     private final ValorTipo type;
     private final OpCode opCode;
-    private final byte[] data;
+    private final ScriptBytes data;
 
     //constructores
     public Valor(OpCode opCode) {
@@ -22,7 +21,13 @@ public class Valor {
         //en este constructor el tipo de los valores es DATA_LITERAL, por lo que se asigna el tipo correspondiente y se deja el campo de opcode como null
         this.type = ValorTipo.DATA_LITERAL;
         this.opCode = null;
-        this.data = data != null ? Arrays.copyOf(data, data.length) : null; // Copia defensiva para evitar mutabilidad (esto no afecta los datos originales pasados al constructor)
+        this.data = data != null ? ScriptBytes.of(data) : null; // Copia defensiva para evitar mutabilidad (esto no afecta los datos originales pasados al constructor)
+    }
+    public Valor(ScriptBytes data) {
+        //igual que el anterior, pero como ScriptBytes es inmutable no hace falta copiar nada
+        this.type = ValorTipo.DATA_LITERAL;
+        this.opCode = null;
+        this.data = data;
     }
     //metodos de acceso
 
@@ -34,7 +39,11 @@ public class Valor {
     }
     public byte[] getData() {
         //basicamente regresa una copia del array si no es null, para evitar que el array original pueda ser modificado desde fuera de la clase
-        return data != null ? Arrays.copyOf(data, data.length) : null; // Copia defensiva para evitar mutabilidad (esto no afecta los datos originales almacenados en el objeto)
+        return data != null ? data.toByteArray() : null; // Copia defensiva para evitar mutabilidad (esto no afecta los datos originales almacenados en el objeto)
+    }
+    public ScriptBytes getBytes() {
+        //devuelve los datos sin copiarlos, es seguro porque ScriptBytes no se puede modificar
+        return data;
     }
 
     @Override
@@ -42,21 +51,9 @@ public class Valor {
         if (type == ValorTipo.OPCODE) {
             return opCode.name();
         } else {
-            return "DATA[" + bytesToHex(data) + "]";
-        }
-    }
-    private String bytesToHex(byte[] bytes) {
-        //basicamente si el array es null o esta vacio no regresa nada
-        //pero si tiene datos, recorre cada byte y lo convierte a su representación decimal
-        //esto lo hace paa poder mostrar los datos de manera "legibloe" en el toString, ya que los datos son bytes y no se pueden mostrar directamente como texto
-        if(bytes == null || bytes.length == 0) return "";
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            //el format %02x convierte el byte a su representación hexadecimal de dos dígitos, y el & 0xFF asegura que se trate como un valor sin signo (esto es importante para evitar problemas con bytes negativos en Java)
-            sb.append(String.format("%02x", b & 0xFF));
+            return "DATA[" + (data != null ? data.toHex() : "") + "]";
         }
-        return sb.toString();
     }
 
 
-}
+}
\ No newline at end of file
@@ -1,9 +1,7 @@
 package com.scriptbitcoin.operations;
 
-import java.util.Deque;
-
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
-import com.scriptbitcoin.utils.Utiles;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Abigail Escobar
@@ -29,13 +27,18 @@ public class Arithmetic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opAdd(Deque<byte[]> stack) {
+    public static void opAdd(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_ADD: se necesitan al menos 2 elementos");
         }
-        int b = Utiles.bytesToInt(stack.pop());
-        int a = Utiles.bytesToInt(stack.pop());
-        stack.push(Utiles.intToBytes(a + b));
+        add(stack);
+    }
+
+    //cuerpo de OP_ADD sin validar el tamaño de la pila
+    static void add(ScriptStack stack) {
+        int b = stack.popIntUnchecked();
+        int a = stack.popIntUnchecked();
+        stack.pushInt(a + b);
     }
 
     /**
@@ -44,13 +47,18 @@ public class Arithmetic {
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
     
-    public static void opSub(Deque<byte[]> stack){
+    public static void opSub(ScriptStack stack){
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_SUB: se necesitan al menos 2 elementos");
         }
-        int b = Utiles.bytesToInt(stack.pop());
-        int a = Utiles.bytesToInt(stack.pop());
-        stack.push(Utiles.intToBytes(a - b));
+        sub(stack);
+    }
+
+    //cuerpo de OP_SUB sin validar el tamaño de la pila
+    static void sub(ScriptStack stack) {
+        int b = stack.popIntUnchecked();
+        int a = stack.popIntUnchecked();
+        stack.pushInt(a - b);
     }
 
     /**
@@ -60,12 +68,17 @@ public class Arithmetic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si no son iguales o pila insuficiente
      */
-    public static void opNumEqualVerify(Deque<byte[]> stack) {
+    public static void opNumEqualVerify(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_NUMEQUALVERIFY: se necesitan al menos 2 elementos");
         }
-        int b = Utiles.bytesToInt(stack.pop());
-        int a = Utiles.bytesToInt(stack.pop());
+        numEqualVerify(stack);
+    }
+
+    //cuerpo de OP_NUMEQUALVERIFY sin validar el tamaño de la pila
+    static void numEqualVerify(ScriptStack stack) {
+        int b = stack.popIntUnchecked();
+        int a = stack.popIntUnchecked();
         if (a != b) {
             throw new ExceptionsInterpreter("OP_NUMEQUALVERIFY: " + a + " != " + b);
         }
@@ -78,13 +91,18 @@ public class Arithmetic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opLessThan(Deque<byte[]> stack) {
+    public static void opLessThan(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_LESSTHAN: se necesitan al menos 2 elementos");
         }
-        int b = Utiles.bytesToInt(stack.pop());
-        int a = Utiles.bytesToInt(stack.pop());
-        stack.push(a < b ? Utiles.intToBytes(1) : new byte[0]);
+        lessThan(stack);
+    }
+
+    //cuerpo de OP_LESSTHAN sin validar el tamaño de la pila
+    static void lessThan(ScriptStack stack) {
+        int b = stack.popIntUnchecked();
+        int a = stack.popIntUnchecked();
+        stack.pushBool(a < b);
     }
 
 
@@ -93,14 +111,18 @@ public class Arithmetic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opGreaterThan(Deque<byte[]> stack) {
+    public static void opGreaterThan(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_GREATERTHAN: se necesitan al menos 2 elementos");
         }
-        int b = Utiles.bytesToInt(stack.pop());
-        int a = Utiles.bytesToInt(stack.pop());
-        int result = (a > b) ? 1 : 0;
-        stack.push(Utiles.intToBytes(result));
+        greaterThan(stack);
+    }
+
+    //cuerpo de OP_GREATERTHAN sin validar el tamaño de la pila
+    static void greaterThan(ScriptStack stack) {
+        int b = stack.popIntUnchecked();
+        int a = stack.popIntUnchecked();
+        stack.pushBool(a > b);
     }
 
     /**
@@ -109,13 +131,18 @@ public class Arithmetic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opLessThanOrEqual(Deque<byte[]> stack) {
+    public static void opLessThanOrEqual(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_LESSTHANOREQUAL: se necesitan al menos 2 elementos");
         }
-        int b = Utiles.bytesToInt(stack.pop());
-        int a = Utiles.bytesToInt(stack.pop());
-        stack.push(a <= b ? Utiles.intToBytes(1) : new byte[0]);
+        lessThanOrEqual(stack);
+    }
+
+    //cuerpo de OP_LESSTHANOREQUAL sin validar el tamaño de la pila
+    static void lessThanOrEqual(ScriptStack stack) {
+        int b = stack.popIntUnchecked();
+        int a = stack.popIntUnchecked();
+        stack.pushBool(a <= b);
     }
 
     /**
@@ -124,13 +151,18 @@ public class Arithmetic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opGreaterThanOrEqual(Deque<byte[]> stack) {
+    public static void opGreaterThanOrEqual(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_GREATERTHANOREQUAL: se necesitan al menos 2 elementos");
         }
-        int b = Utiles.bytesToInt(stack.pop());
-        int a = Utiles.bytesToInt(stack.pop());
-        stack.push(a >= b ? Utiles.intToBytes(1) : new byte[0]);
+        greaterThanOrEqual(stack);
+    }
+
+    //cuerpo de OP_GREATERTHANOREQUAL sin validar el tamaño de la pila
+    static void greaterThanOrEqual(ScriptStack stack) {
+        int b = stack.popIntUnchecked();
+        int a = stack.popIntUnchecked();
+        stack.pushBool(a >= b);
     }
 }
 
@@ -1,9 +1,11 @@
 package com.scriptbitcoin.operations;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Deque;
+import java.util.Arrays;
 
+import com.scriptbitcoin.crypto.HashProvider;
+import com.scriptbitcoin.crypto.MockHashProvider;
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Abigail Escobar
@@ -16,53 +18,83 @@ import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
  * 
  */
 public class Crypto {
+    //funciones hash de los tres opcodes
+    private enum Funcion { SHA256, HASH160, HASH256 }
+
     private Crypto() {
         // Clase utilitaria, no instanciable
     }
 
+    /**
+     * OP_SHA256 con la simulacion (MockHashProvider).
+     *
+     * @param stack la pila principal
+     * @throws ExceptionsInterpreter si la pila esta vacia
+     */
+    public static void opSha256(ScriptStack stack) {
+        opSha256(stack, MockHashProvider.INSTANCE);
+    }
+
     /**
      * OP_SHA256: Calcula el hash SHA-256 del elemento superior de la pila.
      *
      * @param stack la pila principal
-     * @throws InterpreterException si la pila esta vacia
+     * @param hashes implementacion de los hash
+     * @throws ExceptionsInterpreter si la pila esta vacia
      */
-    public static void opSha256(Deque<byte[]> stack) {
+    public static void opSha256(ScriptStack stack, HashProvider hashes) {
         if (stack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_SHA256: pila vacia");
         }
-        byte[] data = stack.pop();
-        byte[] hashed = mockSha256(data);
-        stack.push(hashed);
+        hashInPlace(stack, hashes, Funcion.SHA256);
+    }
+
+    /**
+     * OP_HASH160 con la simulacion (MockHashProvider).
+     *
+     * @param stack la pila principal
+     * @throws ExceptionsInterpreter si la pila esta vacia
+     */
+    public static void opHash160(ScriptStack stack) {
+        opHash160(stack, MockHashProvider.INSTANCE);
     }
 
     /**
      * OP_HASH160: Calcula HASH160 (SHA-256 seguido de RIPEMD-160) del elemento superior.
      *
      * @param stack la pila principal
+     * @param hashes implementacion de los hash
      * @throws ExceptionsInterpreter si la pila esta vacia
      */
-    public static void opHash160(Deque<byte[]> stack) {
+    public static void opHash160(ScriptStack stack, HashProvider hashes) {
         if (stack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_HASH160: pila vacia");
         }
-        byte[] data = stack.pop();
-        byte[] hashed = mockHash160(data);
-        stack.push(hashed);
+        hashInPlace(stack, hashes, Funcion.HASH160);
+    }
+
+    /**
+     * OP_HASH256 con la simulacion (MockHashProvider).
+     *
+     * @param stack la pila principal
+     * @throws ExceptionsInterpreter si la pila esta vacia
+     */
+    public static void opHash256(ScriptStack stack) {
+        opHash256(stack, MockHashProvider.INSTANCE);
     }
 
     /**
      * OP_HASH256: Calcula el doble hash SHA-256 del elemento superior.
      *
      * @param stack la pila principal
+     * @param hashes implementacion de los hash
      * @throws ExceptionsInterpreter si la pila esta vacia
      */
-    public static void opHash256(Deque<byte[]> stack) {
+    public static void opHash256(ScriptStack stack, HashProvider hashes) {
         if (stack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_HASH256: pila vacia");
         }
-        byte[] data = stack.pop();
-        byte[] hashed = mockHash256(data);
-        stack.push(hashed);
+        hashInPlace(stack, hashes, Funcion.HASH256);
     }
 
 
@@ -75,12 +107,7 @@ public class Crypto {
      * @return el hash simulado
      */
     public static byte[] mockSha256(byte[] data) {
-        String prefix = "SHA256:";
-        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
-        byte[] result = new byte[prefixBytes.length + data.length];
-        System.arraycopy(prefixBytes, 0, result, 0, prefixBytes.length);
-        System.arraycopy(data, 0, result, prefixBytes.length, data.length);
-        return result;
+        return hash(MockHashProvider.INSTANCE, Funcion.SHA256, data);
     }
 
     /**
@@ -90,12 +117,7 @@ public class Crypto {
      * @return el hash simulado
      */
     public static byte[] mockHash160(byte[] data) {
-        String prefix = "HASH160:";
-        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
-        byte[] result = new byte[prefixBytes.length + data.length];
-        System.arraycopy(prefixBytes, 0, result, 0, prefixBytes.length);
-        System.arraycopy(data, 0, result, prefixBytes.length, data.length);
-        return result;
+        return hash(MockHashProvider.INSTANCE, Funcion.HASH160, data);
     }
 
     /**
@@ -105,11 +127,40 @@ public class Crypto {
      * @return el hash simulado
      */
     public static byte[] mockHash256(byte[] data) {
-        String prefix = "HASH256:";
-        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
-        byte[] result = new byte[prefixBytes.length + data.length];
-        System.arraycopy(prefixBytes, 0, result, 0, prefixBytes.length);
-        System.arraycopy(data, 0, result, prefixBytes.length, data.length);
-        return result;
+        return hash(MockHashProvider.INSTANCE, Funcion.HASH256, data);
+    }
+
+    /**
+     * Calcula un hash en un arreglo nuevo del tamaño exacto.
+     */
+    private static byte[] hash(HashProvider hashes, Funcion funcion, byte[] data) {
+        byte[] out = new byte[hashes.maxOutputLength(data.length)];
+        int len = apply(hashes, funcion, data, 0, data.length, out, 0);
+        return len == out.length ? out : Arrays.copyOf(out, len);
+    }
+
+    private static int apply(HashProvider hashes, Funcion funcion, byte[] data, int off, int len, byte[] out, int outOff) {
+        switch (funcion) {
+            case SHA256:
+                return hashes.sha256(data, off, len, out, outOff);
+            case HASH160:
+                return hashes.hash160(data, off, len, out, outOff);
+            default:
+                return hashes.hash256(data, off, len, out, outOff);
+        }
+    }
+
+    /**
+     * Calcula el hash directamente en la arena de la pila: reserva el tamaño maximo del resultado encima
+     * de la cima, escribe ahi, lo recorta a lo escrito y luego quita el elemento original, sin arreglos intermedios.
+     */
+    private static void hashInPlace(ScriptStack stack, HashProvider hashes, Funcion funcion) {
+        stack.ensureBytes(1);
+        int len = stack.length(0);
+        int dst = stack.reserve(hashes.maxOutputLength(len));
+        byte[] arena = stack.arena();
+        int escritos = apply(hashes, funcion, arena, stack.offset(1), len, arena, dst);
+        stack.truncateTop(escritos);
+        stack.nip();
     }
 }
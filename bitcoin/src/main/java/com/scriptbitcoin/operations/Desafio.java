@@ -1,11 +1,8 @@
 package com.scriptbitcoin.operations;
 
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.Map;
-
+import com.scriptbitcoin.crypto.SignatureChecker;
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
-import com.scriptbitcoin.utils.Utiles;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Abigail Escobar
@@ -14,33 +11,11 @@ import com.scriptbitcoin.utils.Utiles;
  * Descripción: OP_CHECKMULTISIG, OP_CHECKMULTISIGVERIFY (requiere el elemento OP_0 de relleno por compatibilidad histórica)
  */
 public class Desafio {
-    private static final Map<String, String> mockValidSignatures = new HashMap<>();
-
     private Desafio() {
         // constructor que no es insatanciable :)
     }
 
 
-    /**
-     * Registra un par (firma, clave publica) como valido en el almacen mock.
-     *
-     * @param signature la firma (como byte array)
-     * @param pubKey la clave publica (como byte array)
-     */
-    public static void registerValidSignature(byte[] signature, byte[] pubKey) {
-        String key = Utiles.bytesToHex(signature) + ":" + Utiles.bytesToHex(pubKey);
-        mockValidSignatures.put(key, "valid");
-        System.out.println("Registered: " + key);
-    }
-
-    /**
-     * Limpia todas las firmas registradas en el almacen mock.
-     */
-    public static void clearSignatures() {
-        mockValidSignatures.clear();
-    }
-
-
     /**
      * OP_CHECKMULTISIG: Verificacion M-de-N multifirma.
      * Formato de la pila: [dummy, sig1, ..., sigM, M, pubKey1, ..., pubKeyN, N]
@@ -48,94 +23,81 @@ public class Desafio {
      * luego el dummy element OP_0 por compatibilidad historica).
      *
      * @param stack la pila principal
+     * @param checker verificador de firmas de la ejecucion
      * @throws ExceptionsInterpreter si el formato es incorrecto o la verificacion falla
      */
-    public static void opCheckMultiSig(Deque<byte[]> stack) {
+    public static void opCheckMultiSig(ScriptStack stack, SignatureChecker checker) {
         if (stack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_CHECKMULTISIG: pila vacia");
         }
 
         // Leer N (numero de claves publicas)
-        int n = Utiles.bytesToInt(stack.pop());
+        int n = stack.popInt();
         if (n < 0 || stack.size() < n) {
             throw new ExceptionsInterpreter("OP_CHECKMULTISIG: N invalido o pila insuficiente");
         }
 
-        // Leer N claves publicas
-        byte[][] pubKeys = new byte[n][];
-        for (int i = 0; i < n; i++) {
-            pubKeys[i] = stack.pop();
-        }
-
-        // Leer M (numero de firmas requeridas)
-        if (stack.isEmpty()) {
+        // Las N claves publicas quedan en su lugar: la clave i esta en la profundidad i
+        // Leer M (numero de firmas requeridas), justo debajo de las claves
+        if (stack.size() == n) {
+            stack.drop(n);
             throw new ExceptionsInterpreter("OP_CHECKMULTISIG: falta M");
         }
-        int m = Utiles.bytesToInt(stack.pop());
-        if (m < 0 || m > n || stack.size() < m) {
+        int m = stack.getInt(n);
+        if (m < 0 || m > n || stack.size() - n - 1 < m) {
+            stack.drop(n + 1);
             throw new ExceptionsInterpreter("OP_CHECKMULTISIG: M invalido o pila insuficiente");
         }
 
-        // Leer M firmas
-        byte[][] sigs = new byte[m][];
-        for (int i = 0; i < m; i++) {
-            sigs[i] = stack.pop();
-        }
-
-        // Consumir el dummy element (bug historico de Bitcoin)
-        if (stack.isEmpty()) {
+        // Las M firmas estan debajo de M: la firma i esta en la profundidad n + 1 + i
+        // Debajo de las firmas debe estar el dummy element (bug historico de Bitcoin)
+        if (stack.size() - n - 1 - m == 0) {
+            stack.drop(n + 1 + m);
             throw new ExceptionsInterpreter("OP_CHECKMULTISIG: falta elemento dummy (OP_0)");
         }
-        stack.pop();
 
         // Verificar firmas: cada firma debe coincidir con una clave publica
         // Las firmas deben estar en el mismo orden que las claves publicas
-        boolean valid = verifyMultiSig(sigs, pubKeys, m);
-        stack.push(valid ? Utiles.intToBytes(1) : new byte[0]);
+        stack.ensureBytes(n + 1 + m);
+        boolean valid = verifyMultiSig(stack, checker, n, m);
+        // Consumir claves, M, firmas y el dummy element
+        stack.drop(n + m + 2);
+        stack.pushBool(valid);
     }
 
     /**
      * OP_CHECKMULTISIGVERIFY: Igual que OP_CHECKMULTISIG seguido de OP_VERIFY.
      *
      * @param stack la pila principal
+     * @param checker verificador de firmas de la ejecucion
      * @throws ExceptionsInterpreter si la verificacion falla
      */
-    public static void opCheckMultiSigVerify(Deque<byte[]> stack) {
-        opCheckMultiSig(stack);
-        byte[] result = stack.pop();
-        if (!Utiles.isTruthy(result)) {
+    public static void opCheckMultiSigVerify(ScriptStack stack, SignatureChecker checker) {
+        opCheckMultiSig(stack, checker);
+        if (!stack.popBool()) {
             throw new ExceptionsInterpreter("OP_CHECKMULTISIGVERIFY: verificacion multifirma fallida");
         }
     }
 
     /**
-     * Verifica una firma contra una clave publica usando el almacen mock.
-     *
-     * @param sig la firma
-     * @param pubKey la clave publica
-     * @return true si el par (firma, clave) esta registrado como valido
-     */
-    private static boolean mockVerify(byte[] sig, byte[] pubKey) {
-        String key = Utiles.bytesToHex(sig) + ":" + Utiles.bytesToHex(pubKey);
-        System.out.println("Checking: " + key);
-        return mockValidSignatures.containsKey(key);
-    }
-
-    /**
-     * Verifica M firmas contra N claves publicas en orden.
+     * Verifica M firmas contra N claves publicas en orden, leyendolas en su lugar dentro de la pila.
      * Las firmas se verifican secuencialmente contra las claves publicas restantes.
+     * La clave i esta en la profundidad i y la firma i en la profundidad n + 1 + i.
      */
-    private static boolean verifyMultiSig(byte[][] sigs, byte[][] pubKeys, int m) {
+    private static boolean verifyMultiSig(ScriptStack stack, SignatureChecker checker, int n, int m) {
+        byte[] arena = stack.arena();
         int sigIndex = 0;
         int keyIndex = 0;
 
-        while (sigIndex < m && keyIndex < pubKeys.length) {
-            if (mockVerify(sigs[sigIndex], pubKeys[keyIndex])) {
+        while (sigIndex < m && keyIndex < n) {
+            int sigDepth = n + 1 + sigIndex;
+            if (checker.verify(arena, stack.offset(sigDepth), stack.length(sigDepth),
+                    arena, stack.offset(keyIndex), stack.length(keyIndex))) {
                 sigIndex++;
             }
             keyIndex++;
             // Si quedan mas firmas que claves, falla
-            if (m - sigIndex > pubKeys.length - keyIndex) {
+            if (m - sigIndex > n - keyIndex) {
                 return false;
             }
         }
@@ -1,11 +1,8 @@
 package com.scriptbitcoin.operations;
 
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.Map;
-
+import com.scriptbitcoin.crypto.SignatureChecker;
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
-import com.scriptbitcoin.utils.Utiles;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Abigail Escobar
@@ -16,51 +13,26 @@ import com.scriptbitcoin.utils.Utiles;
  *  - OP_CHECKSIGVERIFY: Verifica que la firma proporcionada corresponde a la clave pública
  */
 public class Firmas {
-    /**
-     * Almacen mock de firmas validas.
-     * Clave: representacion de la firma, Valor: clave publica asociada.
-     * Permite verificacion O(1) promedio.
-     */
-    private static final Map<String, String> mockValidSignatures = new HashMap<>();
-
     private Firmas() {
         // Clase utilitaria, no instanciable
     }
 
-    /**
-     * Registra un par (firma, clave publica) como valido en el almacen mock.
-     *
-     * @param signature la firma (como byte array)
-     * @param pubKey la clave publica (como byte array)
-     */
-    public static void registerValidSignature(byte[] signature, byte[] pubKey) {
-        String key = Utiles.bytesToHex(signature) + ":" + Utiles.bytesToHex(pubKey);
-        mockValidSignatures.put(key, "valid");
-    }
-
-    /**
-     * Limpia todas las firmas registradas en el almacen mock.
-     */
-    public static void clearSignatures() {
-        mockValidSignatures.clear();
-    }
-
     /**
      * OP_CHECKSIG: Verifica una firma contra una clave publica.
      * Toma la clave publica (cima) y la firma (segundo) de la pila.
      * Empuja 1 si la firma es valida, 0 si no.
      *
      * @param stack la pila principal
+     * @param checker verificador de firmas de la ejecucion
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opCheckSig(Deque<byte[]> stack) {
+    public static void opCheckSig(ScriptStack stack, SignatureChecker checker) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_CHECKSIG: se necesitan al menos 2 elementos");
         }
-        byte[] pubKey = stack.pop();
-        byte[] sig = stack.pop();
-        boolean valid = mockVerify(sig, pubKey);
-        stack.push(valid ? Utiles.intToBytes(1) : new byte[0]);
+        boolean valid = verifyTopPair(stack, checker);
+        stack.drop(2);
+        stack.pushBool(valid);
     }
 
 
@@ -69,30 +41,28 @@ public class Firmas {
      * Si la firma no es valida, falla el script inmediatamente.
      *
      * @param stack la pila principal
+     * @param checker verificador de firmas de la ejecucion
      * @throws ExceptionsInterpreter si firma invalida o pila insuficiente
      */
-    public static void opCheckSigVerify(Deque<byte[]> stack) {
+    public static void opCheckSigVerify(ScriptStack stack, SignatureChecker checker) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_CHECKSIGVERIFY: se necesitan al menos 2 elementos");
         }
-        byte[] pubKey = stack.pop();
-        byte[] sig = stack.pop();
-        if (!mockVerify(sig, pubKey)) {
+        boolean valid = verifyTopPair(stack, checker);
+        stack.drop(2);
+        if (!valid) {
             throw new ExceptionsInterpreter("OP_CHECKSIGVERIFY: firma invalida");
         }
     }
 
 
     /**
-     * Verifica una firma contra una clave publica usando el almacen mock.
-     *
-     * @param sig la firma
-     * @param pubKey la clave publica
-     * @return true si el par (firma, clave) esta registrado como valido
+     * Verifica la firma (segundo elemento) contra la clave publica (cima) leyendolas en su lugar.
      */
-    private static boolean mockVerify(byte[] sig, byte[] pubKey) {
-        String key = Utiles.bytesToHex(sig) + ":" + Utiles.bytesToHex(pubKey);
-        return mockValidSignatures.containsKey(key);
+    private static boolean verifyTopPair(ScriptStack stack, SignatureChecker checker) {
+        stack.ensureBytes(2);
+        byte[] arena = stack.arena();
+        return checker.verify(arena, stack.offset(1), stack.length(1), arena, stack.offset(0), stack.length(0));
     }
 
 }
@@ -1,14 +1,13 @@
 package com.scriptbitcoin.operations;
 
-import java.util.Deque;
-
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
-import com.scriptbitcoin.utils.Utiles;
+import com.scriptbitcoin.model.ConditionStack;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Paola Merida
  * @author Abigail Escobar
- * Fecha de modificación: 18/03/2026
+ * Fecha de modificación: 18/10/2026
  * Estado: completa
  * Descripción: implementa las operaciones de control de flujo de Bitcoin Script:
  *  - OP_IF: Ejecuta el bloque de código siguiente si el elemento superior de la pila
@@ -31,12 +30,11 @@ public class FlowOperations {
      * @param conditionStack la pila de condiciones
      * @throws ExceptionsInterpreter si la pila principal esta vacia
      */
-    public static void opIf(Deque<byte[]> mainStack, Deque<Boolean> conditionStack) {
+    public static void opIf(ScriptStack mainStack, ConditionStack conditionStack) {
         if (mainStack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_IF: pila vacia");
         }
-        byte[] top = mainStack.pop();
-        boolean condition = Utiles.isTruthy(top);
+        boolean condition = mainStack.popBool();
         conditionStack.push(condition);
     }
 
@@ -47,12 +45,11 @@ public class FlowOperations {
      * @param conditionStack la pila de condiciones
      * @throws ExceptionsInterpreter si la pila principal esta vacia
      */
-    public static void opNotIf(Deque<byte[]> mainStack, Deque<Boolean> conditionStack) {
+    public static void opNotIf(ScriptStack mainStack, ConditionStack conditionStack) {
         if (mainStack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_NOTIF: pila vacia");
         }
-        byte[] top = mainStack.pop();
-        boolean condition = !Utiles.isTruthy(top);
+        boolean condition = !mainStack.popBool();
         conditionStack.push(condition);
     }
 
@@ -62,12 +59,11 @@ public class FlowOperations {
      * @param conditionStack la pila de condiciones
      * @throws ExceptionsInterpreter si la pila de condiciones esta vacia
      */
-    public static void opElse(Deque<Boolean> conditionStack) {
+    public static void opElse(ConditionStack conditionStack) {
         if (conditionStack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_ELSE: sin OP_IF correspondiente");
         }
-        boolean current = conditionStack.pop();
-        conditionStack.push(!current);
+        conditionStack.toggleTop();
     }
 
     /**
@@ -76,7 +72,7 @@ public class FlowOperations {
      * @param conditionStack la pila de condiciones
      * @throws ExceptionsInterpreter si la pila de condiciones esta vacia
      */
-    public static void opEndIf(Deque<Boolean> conditionStack) {
+    public static void opEndIf(ConditionStack conditionStack) {
         if (conditionStack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_ENDIF: sin OP_IF correspondiente");
         }
@@ -91,12 +87,16 @@ public class FlowOperations {
      * @param mainStack la pila principal
      * @throws ExceptionsInterpreter si el valor es falsy o la pila esta vacia
      */
-    public static void opVerify(Deque<byte[]> mainStack) {
+    public static void opVerify(ScriptStack mainStack) {
         if (mainStack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_VERIFY: pila vacia");
         }
-        byte[] top = mainStack.pop();
-        if (!Utiles.isTruthy(top)) {
+        verify(mainStack);
+    }
+
+    //cuerpo de OP_VERIFY sin validar el tamaño de la pila
+    static void verify(ScriptStack mainStack) {
+        if (!mainStack.popBoolUnchecked()) {
             throw new ExceptionsInterpreter("OP_VERIFY: el valor en la cima es falso");
         }
     }
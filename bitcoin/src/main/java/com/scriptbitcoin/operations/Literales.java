@@ -1,9 +1,7 @@
 package com.scriptbitcoin.operations;
 
-import java.util.Deque;
-
 import com.scriptbitcoin.model.OpCode;
-import com.scriptbitcoin.utils.Utiles;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Abigail Escobar
@@ -19,10 +17,10 @@ public class Literales {
         // Clase utilitaria, no instanciable
     }
 
-    public static void executeLiteral(OpCode opCode, Deque<byte[]> stack) {
+    public static void executeLiteral(OpCode opCode, ScriptStack stack) {
 
         if (opCode == OpCode.OP_0 || opCode == OpCode.OP_FALSE) {
-            stack.push(new byte[0]);
+            stack.pushInt(0);
             return;
         }
 
@@ -30,7 +28,7 @@ public class Literales {
             opCode.ordinal() <= OpCode.OP_16.ordinal()) {
 
             int value = opCode.ordinal() - OpCode.OP_1.ordinal() + 1;
-            stack.push(Utiles.intToBytes(value));
+            stack.pushInt(value);
             return;
         }
 
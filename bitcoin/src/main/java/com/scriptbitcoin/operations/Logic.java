@@ -1,10 +1,7 @@
 package com.scriptbitcoin.operations;
 
-import java.util.Arrays;
-import java.util.Deque;
-
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
-import com.scriptbitcoin.utils.Utiles;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Abigail Escobar
@@ -31,14 +28,18 @@ public class Logic {
      * @param stack la pila principal
      * @throws InterpreterException si la pila tiene menos de 2 elementos
      */
-    public static void opEqual(Deque<byte[]> stack) {
+    public static void opEqual(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_EQUAL: se necesitan al menos 2 elementos");
         }
-        byte[] b = stack.pop();
-        byte[] a = stack.pop();
-        boolean equal = Arrays.equals(a, b);
-        stack.push(equal ? Utiles.intToBytes(1) : new byte[0]);
+        equal(stack);
+    }
+
+    //cuerpo de OP_EQUAL sin validar el tamaño de la pila
+    static void equal(ScriptStack stack) {
+        boolean equal = stack.bytesEqualUnchecked(0, 1);
+        stack.dropUnchecked(2);
+        stack.pushBool(equal);
     }
 
     /**
@@ -49,17 +50,43 @@ public class Logic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si no son iguales o pila insuficiente
      */
-    public static void opEqualVerify(Deque<byte[]> stack) {
+    public static void opEqualVerify(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_EQUALVERIFY: se necesitan al menos 2 elementos");
         }
-        byte[] b = stack.pop();
-        byte[] a = stack.pop();
-        if (!Arrays.equals(a, b)) {
+        equalVerify(stack);
+    }
+
+    //cuerpo de OP_EQUALVERIFY sin validar el tamaño de la pila
+    static void equalVerify(ScriptStack stack) {
+        boolean equal = stack.bytesEqualUnchecked(0, 1);
+        stack.dropUnchecked(2);
+        if (!equal) {
             throw new ExceptionsInterpreter("OP_EQUALVERIFY: los valores no son iguales");
         }
     }
 
+    /**
+     * OP_EQUAL seguido de OP_VERIFY en un solo paso (opcode interno del optimizador).
+     * A diferencia de OP_EQUALVERIFY conserva los mensajes de las dos operaciones originales.
+     * Pila: [..., a, b] -> [...] (falla si a != b)
+     *
+     * @param stack la pila principal
+     * @throws ExceptionsInterpreter si no son iguales o pila insuficiente
+     */
+    public static void opEqualThenVerify(ScriptStack stack) {
+        if (stack.size() < 2) {
+            throw new ExceptionsInterpreter("OP_EQUAL: se necesitan al menos 2 elementos");
+        }
+        equalThenVerify(stack);
+    }
+
+    //cuerpo de OP_EQUAL + OP_VERIFY sin validar el tamaño de la pila: los mismos cuerpos de las dos operaciones
+    static void equalThenVerify(ScriptStack stack) {
+        equal(stack);
+        FlowOperations.verify(stack);
+    }
+
     /**
      * OP_NOT: Invierte el valor logico del elemento superior.
      * Si es 0, empuja 1. Si es distinto de 0, empuja 0.
@@ -68,13 +95,17 @@ public class Logic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila esta vacia
      */
-    public static void opNot(Deque<byte[]> stack) {
+    public static void opNot(ScriptStack stack) {
         if (stack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_NOT: pila vacia");
         }
-        byte[] top = stack.pop();
-        boolean truthy = Utiles.isTruthy(top);
-        stack.push(truthy ? new byte[0] : Utiles.intToBytes(1));
+        not(stack);
+    }
+
+    //cuerpo de OP_NOT sin validar el tamaño de la pila
+    static void not(ScriptStack stack) {
+        boolean truthy = stack.popBoolUnchecked();
+        stack.pushBool(!truthy);
     }
 
     /**
@@ -85,13 +116,18 @@ public class Logic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opBoolAnd(Deque<byte[]> stack) {
+    public static void opBoolAnd(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_BOOLAND: se necesitan al menos 2 elementos");
         }
-        boolean b = Utiles.isTruthy(stack.pop());
-        boolean a = Utiles.isTruthy(stack.pop());
-        stack.push((a && b) ? Utiles.intToBytes(1) : new byte[0]);
+        boolAnd(stack);
+    }
+
+    //cuerpo de OP_BOOLAND sin validar el tamaño de la pila
+    static void boolAnd(ScriptStack stack) {
+        boolean b = stack.popBoolUnchecked();
+        boolean a = stack.popBoolUnchecked();
+        stack.pushBool(a && b);
     }
 
     /**
@@ -102,12 +138,17 @@ public class Logic {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila tiene menos de 2 elementos
      */
-    public static void opBoolOr(Deque<byte[]> stack) {
+    public static void opBoolOr(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_BOOLOR: se necesitan al menos 2 elementos");
         }
-        boolean b = Utiles.isTruthy(stack.pop());
-        boolean a = Utiles.isTruthy(stack.pop());
-        stack.push((a || b) ? Utiles.intToBytes(1) : new byte[0]);
+        boolOr(stack);
+    }
+
+    //cuerpo de OP_BOOLOR sin validar el tamaño de la pila
+    static void boolOr(ScriptStack stack) {
+        boolean b = stack.popBoolUnchecked();
+        boolean a = stack.popBoolUnchecked();
+        stack.pushBool(a || b);
     }
 }
@@ -1,9 +1,7 @@
 package com.scriptbitcoin.operations;
 
-import java.util.Arrays;
-import java.util.Deque;
-
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ScriptStack;
 
 /**
  * @author Abigail Escobar
@@ -29,12 +27,11 @@ public class StackOperations {
      * @param stack la pila principal
      * @throws InterpreterException si la pila esta vacia
      */
-    public static void opDup(Deque<byte[]> stack) {
+    public static void opDup(ScriptStack stack) {
         if (stack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_DUP: pila vacia");
         }
-        byte[] top = stack.peek();
-        stack.push(Arrays.copyOf(top, top.length));
+        stack.pushCopyOfUnchecked(0);
     }
 
     /**
@@ -44,11 +41,11 @@ public class StackOperations {
      * @param stack la pila principal
      * @throws ExceptionsInterpreter si la pila esta vacia
      */
-    public static void opDrop(Deque<byte[]> stack) {
+    public static void opDrop(ScriptStack stack) {
         if (stack.isEmpty()) {
             throw new ExceptionsInterpreter("OP_DROP: pila vacia");
         }
-        stack.pop();
+        stack.dropUnchecked(1);
     }
 
     /**
@@ -58,14 +55,11 @@ public class StackOperations {
      * @param stack la pila principal
      * @throws InterpreterException si la pila tiene menos de 2 elementos
      */
-    public static void opSwap(Deque<byte[]> stack) {
+    public static void opSwap(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_SWAP: se necesitan al menos 2 elementos");
         }
-        byte[] top = stack.pop();
-        byte[] second = stack.pop();
-        stack.push(top);
-        stack.push(second);
+        stack.swapUnchecked();
     }
 
     /**
@@ -75,13 +69,10 @@ public class StackOperations {
      * @param stack la pila principal
      * @throws InterpreterException si la pila tiene menos de 2 elementos
      */
-    public static void opOver(Deque<byte[]> stack) {
+    public static void opOver(ScriptStack stack) {
         if (stack.size() < 2) {
             throw new ExceptionsInterpreter("OP_OVER: se necesitan al menos 2 elementos");
         }
-        byte[] top = stack.pop();
-        byte[] second = stack.peek();
-        stack.push(top);
-        stack.push(Arrays.copyOf(second, second.length));
+        stack.pushCopyOfUnchecked(1);
     }
 }
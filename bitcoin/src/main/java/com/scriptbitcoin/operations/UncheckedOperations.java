@@ -0,0 +1,88 @@
+package com.scriptbitcoin.operations;
+
+import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptStack;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Ejecuta las operaciones de pila, lógicas y aritméticas sin la validación de tamaño de la pila:
+ * llama directo al cuerpo de cada operación (el mismo que usa la operación normal después de su validación),
+ * que lee la pila con los accesores *Unchecked de ScriptStack. Solo se debe usar con scripts que el análisis
+ * de pila del compilador ya demostró que nunca se quedan sin elementos; las fallas que no dependen del tamaño
+ * (OP_VERIFY falso, valores distintos en OP_EQUALVERIFY, etc.) son las de la propia operación.
+ * Estado: completa
+ */
+public final class UncheckedOperations {
+    private UncheckedOperations() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * Ejecuta la operacion si tiene variante sin validacion.
+     * @param opCode el opcode
+     * @param stack la pila principal (con elementos suficientes garantizados)
+     * @return false si el opcode no tiene variante y hay que usar la operacion normal
+     * @throws ExceptionsInterpreter si la operacion falla por su valor (no por falta de elementos)
+     */
+    public static boolean execute(OpCode opCode, ScriptStack stack) {
+        switch (opCode) {
+            case OP_DUP:
+                stack.pushCopyOfUnchecked(0);
+                return true;
+            case OP_DROP:
+                stack.dropUnchecked(1);
+                return true;
+            case OP_SWAP:
+                stack.swapUnchecked();
+                return true;
+            case OP_OVER:
+                stack.pushCopyOfUnchecked(1);
+                return true;
+            case OP_EQUAL:
+                Logic.equal(stack);
+                return true;
+            case OP_EQUALVERIFY:
+                Logic.equalVerify(stack);
+                return true;
+            case OP_EQUAL_OP_VERIFY:
+                Logic.equalThenVerify(stack);
+                return true;
+            case OP_VERIFY:
+                FlowOperations.verify(stack);
+                return true;
+            case OP_NOT:
+                Logic.not(stack);
+                return true;
+            case OP_BOOLAND:
+                Logic.boolAnd(stack);
+                return true;
+            case OP_BOOLOR:
+                Logic.boolOr(stack);
+                return true;
+            case OP_ADD:
+                Arithmetic.add(stack);
+                return true;
+            case OP_SUB:
+                Arithmetic.sub(stack);
+                return true;
+            case OP_NUMEQUALVERIFY:
+                Arithmetic.numEqualVerify(stack);
+                return true;
+            case OP_LESSTHAN:
+                Arithmetic.lessThan(stack);
+                return true;
+            case OP_GREATERTHAN:
+                Arithmetic.greaterThan(stack);
+                return true;
+            case OP_LESSTHANOREQUAL:
+                Arithmetic.lessThanOrEqual(stack);
+                return true;
+            case OP_GREATERTHANOREQUAL:
+                Arithmetic.greaterThanOrEqual(stack);
+                return true;
+            default:
+                return false;
+        }
+    }
+}
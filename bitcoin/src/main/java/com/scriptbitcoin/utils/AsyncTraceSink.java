@@ -0,0 +1,290 @@
+package com.scriptbitcoin.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.scriptbitcoin.interpreters.ExecutionListener;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.model.Valor;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Listener que escribe el trace completo (las mismas líneas que --trace) en un archivo sin que
+ * los hilos que validan esperen por la escritura. Cada hilo arma sus líneas en su propio ByteBuffer directo;
+ * cuando se llena lo entrega a una cola sin bloqueos (ConcurrentLinkedQueue) y sigue con otro búfer libre.
+ * Un hilo escritor en segundo plano saca los búferes en lotes y los escribe con una sola escritura
+ * de varios búferes en el FileChannel del archivo de la corrida.
+ * Si el escritor se atrasa más de 64MB, los búferes nuevos se descartan (y se cuentan) en lugar de frenar la validación.
+ * Una misma instancia se comparte entre todos los hilos (por ejemplo con BatchValidator.validate(scripts, sink)).
+ * Cada línea empieza con #n, el número de la ejecución, porque las de varios hilos quedan intercaladas.
+ * close() se llama cuando ya no hay ejecuciones en curso: entrega lo que queda en los búferes de cada hilo,
+ * espera al escritor y cierra el archivo.
+ * Estado: completa
+ */
+public final class AsyncTraceSink implements ExecutionListener, Closeable {
+    private static final int TAMANO_BUFER = 64 * 1024;
+    //bytes entregados que el escritor todavia no escribe, por encima de esto se descarta
+    private static final long MAX_PENDIENTE = 64L << 20;
+    //buferes por escritura
+    private static final int MAX_LOTE = 64;
+    //lo que duerme el escritor cuando no hay nada que escribir
+    private static final long ESPERA_NANOS = 1_000_000L;
+
+    private final Path archivo;
+    private final FileChannel canal;
+    //buferes llenos en orden de entrega, listos para escribir
+    private final ConcurrentLinkedQueue<ByteBuffer> llenos = new ConcurrentLinkedQueue<>();
+    //buferes ya escritos, para reutilizarlos
+    private final ConcurrentLinkedQueue<ByteBuffer> libres = new ConcurrentLinkedQueue<>();
+    //el bufer de cada hilo, para vaciarlos al cerrar
+    private final ConcurrentLinkedQueue<Bufer> buferes = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Bufer> porHilo = new ThreadLocal<Bufer>() {
+        @Override
+        protected Bufer initialValue() {
+            Bufer bufer = new Bufer(tomarLibre());
+            buferes.add(bufer);
+            return bufer;
+        }
+    };
+    private final AtomicLong pendiente = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong ejecuciones = new AtomicLong();
+    private final Thread escritor;
+    private volatile boolean cerrado;
+    //primer error de escritura, se lanza en close()
+    private volatile IOException error;
+
+    /**
+     * Abre (o vacía) el archivo y arranca el hilo escritor.
+     * @param archivo el archivo donde se escribe el trace
+     * @throws IOException si no se puede abrir el archivo
+     */
+    public AsyncTraceSink(Path archivo) throws IOException {
+        this.archivo = archivo;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.escritor = new Thread(this::escribirPendientes, "async-trace-" + archivo.getFileName());
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Crea un archivo nuevo trace-*.log en el directorio para esta corrida.
+     * @param directorio el directorio de los traces
+     * @return el sink que escribe en ese archivo
+     * @throws IOException si no se puede crear el archivo
+     */
+    public static AsyncTraceSink enDirectorio(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        return new AsyncTraceSink(Files.createTempFile(directorio, "trace-", ".log"));
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * @return bytes de trace que se descartaron porque el escritor iba atrasado o falló
+     */
+    public long getDescartados() {
+        return descartados.get();
+    }
+
+    ////////////// LISTENER (hilos de validacion) //////////////
+
+    @Override
+    public void onTokenEnd(int index, Valor valor, ScriptStack stack) {
+        if (cerrado) {
+            return;
+        }
+        Bufer b = iniciar();
+        b.paso++;
+        StringBuilder linea = b.linea(String.format("Step %2d: %-20s | Stack: %s", b.paso, valor, TraceAplication.formatStack(stack)));
+        escribir(b, linea);
+    }
+
+    @Override
+    public void onFailure(int index, Valor valor, String mensaje, ScriptStack stack) {
+        if (cerrado) {
+            return;
+        }
+        Bufer b = iniciar();
+        escribir(b, b.linea("Error: " + mensaje));
+    }
+
+    @Override
+    public void onResult(ScriptResult resultado) {
+        if (cerrado) {
+            return;
+        }
+        Bufer b = iniciar();
+        escribir(b, b.linea(resultado.isExito() ? "Result: VALID" : "Result: INVALID (" + resultado.getMensaje() + ")"));
+        b.ejecucion = 0;
+        b.paso = 0;
+    }
+
+    //numera la ejecucion en curso del hilo la primera vez que escribe
+    private Bufer iniciar() {
+        Bufer b = porHilo.get();
+        if (b.ejecucion == 0) {
+            b.ejecucion = ejecuciones.incrementAndGet();
+        }
+        return b;
+    }
+
+    //codifica la linea en el bufer del hilo; si no cabe, entrega el bufer y la escribe completa en el siguiente
+    //(asi las lineas de distintos hilos no se mezclan). Solo una linea mas larga que un bufer se parte.
+    private void escribir(Bufer b, CharSequence linea) {
+        CharBuffer chars = CharBuffer.wrap(linea);
+        int inicio = b.actual.position();
+        CoderResult r = b.encoder.encode(chars, b.actual, true);
+        if (r.isOverflow() && inicio > 0) {
+            b.actual.position(inicio);
+            chars.rewind();
+            b.encoder.reset();
+            entregar(b);
+            r = b.encoder.encode(chars, b.actual, true);
+        }
+        while (r.isOverflow()) {
+            entregar(b);
+            r = b.encoder.encode(chars, b.actual, true);
+        }
+        b.encoder.reset();
+    }
+
+    //pasa el bufer lleno del hilo al escritor (sin bloquear) y le da uno libre
+    private void entregar(Bufer b) {
+        ByteBuffer lleno = b.actual;
+        lleno.flip();
+        int bytes = lleno.remaining();
+        if (pendiente.get() + bytes > MAX_PENDIENTE) {
+            descartados.addAndGet(bytes);
+            lleno.clear();
+            return;
+        }
+        pendiente.addAndGet(bytes);
+        llenos.offer(lleno);
+        LockSupport.unpark(escritor);
+        b.actual = tomarLibre();
+    }
+
+    private ByteBuffer tomarLibre() {
+        ByteBuffer libre = libres.poll();
+        return libre != null ? libre : ByteBuffer.allocateDirect(TAMANO_BUFER);
+    }
+
+    ////////////// ESCRITOR //////////////
+
+    private void escribirPendientes() {
+        ByteBuffer[] lote = new ByteBuffer[MAX_LOTE];
+        while (true) {
+            int n = 0;
+            ByteBuffer b;
+            while (n < MAX_LOTE && (b = llenos.poll()) != null) {
+                lote[n++] = b;
+            }
+            if (n == 0) {
+                if (cerrado && llenos.isEmpty()) {
+                    return;
+                }
+                LockSupport.parkNanos(this, ESPERA_NANOS);
+                continue;
+            }
+            long bytes = 0;
+            for (int i = 0; i < n; i++) {
+                bytes += lote[i].remaining();
+            }
+            if (error == null) {
+                try {
+                    long escritos = 0;
+                    while (escritos < bytes) {
+                        escritos += canal.write(lote, 0, n);
+                    }
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+            if (error != null) {
+                descartados.addAndGet(bytes);
+            }
+            pendiente.addAndGet(-bytes);
+            for (int i = 0; i < n; i++) {
+                lote[i].clear();
+                libres.offer(lote[i]);
+                lote[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Entrega lo que quedó en el búfer de cada hilo, espera a que el escritor termine y cierra el archivo.
+     * Solo se debe llamar cuando ningún hilo está ejecutando un script con este sink.
+     * @throws IOException si falló alguna escritura
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        for (Bufer b : buferes) {
+            if (b.actual.position() > 0) {
+                entregar(b);
+            }
+        }
+        cerrado = true;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            canal.close();
+            throw new InterruptedIOException("Se interrumpió la espera del escritor del trace");
+        }
+        try {
+            if (error == null) {
+                canal.force(false);
+            }
+        } finally {
+            canal.close();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Estado de un hilo: su búfer actual, el codificador y la ejecución que está trazando.
+     */
+    private static final class Bufer {
+        ByteBuffer actual;
+        final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        final StringBuilder linea = new StringBuilder(128);
+        //numero de la ejecucion en curso, 0 si no hay ninguna
+        long ejecucion;
+        int paso;
+
+        Bufer(ByteBuffer actual) {
+            this.actual = actual;
+        }
+
+        //arma "#ejecucion texto\n" reutilizando el mismo StringBuilder
+        StringBuilder linea(String texto) {
+            linea.setLength(0);
+            return linea.append('#').append(ejecucion).append(' ').append(texto).append('\n');
+        }
+    }
+}
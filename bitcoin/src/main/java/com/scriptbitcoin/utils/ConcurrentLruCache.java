@@ -0,0 +1,263 @@
+package com.scriptbitcoin.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Caché concurrente con tamaño máximo y expulsión LRU (el menos usado recientemente sale primero).
+ * Las entradas se reparten en varios segmentos según el hash de la clave. Cada segmento es un
+ * LinkedHashMap en orden de acceso protegido por su propio lock, así hilos que usan claves distintas
+ * casi nunca se bloquean entre sí. El LRU es por segmento, que es una buena aproximación del LRU global.
+ * La capacidad se reparte entre los segmentos y nunca se supera, pero un segmento lleno puede expulsar
+ * aunque otros tengan lugar, así que el caché puede empezar a expulsar antes de tener capacidad entradas.
+ * Además del número de entradas se puede limitar el peso total (por ejemplo los bytes guardados)
+ * con una función que calcula el peso de cada entrada; cada segmento recibe una parte igual del peso máximo.
+ * Lleva contadores de aciertos, fallos y expulsiones para medir si el caché está sirviendo, y opcionalmente
+ * avisa de cada expulsión (por ejemplo para pasar la entrada a un nivel más lento).
+ * Estado: completa
+ */
+public class ConcurrentLruCache<K, V> {
+    //numero de segmentos (potencia de 2)
+    private static final int SEGMENTOS = 16;
+
+    private final Segmento<K, V>[] segmentos;
+    private final int capacidad;
+    private final long pesoMaximo;
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+
+    /**
+     * @param capacidad numero maximo de entradas del cache
+     * @throws IllegalArgumentException si la capacidad no es positiva
+     */
+    public ConcurrentLruCache(int capacidad) {
+        this(capacidad, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * @param capacidad numero maximo de entradas del cache
+     * @param pesoMaximo peso total maximo (por ejemplo en bytes)
+     * @param pesador calcula el peso de una entrada
+     * @throws IllegalArgumentException si la capacidad o el peso maximo no son positivos
+     */
+    public ConcurrentLruCache(int capacidad, long pesoMaximo, ToIntBiFunction<? super K, ? super V> pesador) {
+        this(capacidad, pesoMaximo, pesador, null);
+    }
+
+    /**
+     * @param capacidad numero maximo de entradas del cache
+     * @param pesoMaximo peso total maximo (Long.MAX_VALUE para no limitarlo)
+     * @param pesador calcula el peso de una entrada (null para contar entradas)
+     * @param alExpulsar se llama con cada entrada expulsada, con el lock de su segmento tomado (debe ser rapido
+     *                   y no usar este cache); null si no hace falta
+     * @throws IllegalArgumentException si la capacidad o el peso maximo no son positivos
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentLruCache(int capacidad, long pesoMaximo, ToIntBiFunction<? super K, ? super V> pesador,
+                              BiConsumer<? super K, ? super V> alExpulsar) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        if (pesoMaximo <= 0) {
+            throw new IllegalArgumentException("El peso maximo debe ser positivo: " + pesoMaximo);
+        }
+        this.capacidad = capacidad;
+        this.pesoMaximo = pesoMaximo;
+        // Con pocas entradas se usan menos segmentos para que cada uno tenga al menos una
+        int numSegmentos = Math.min(SEGMENTOS, Integer.highestOneBit(capacidad));
+        this.segmentos = new Segmento[numSegmentos];
+        // El resto se reparte entre los primeros segmentos, asi la suma de los limites es exactamente la capacidad
+        int porSegmento = capacidad / numSegmentos;
+        int resto = capacidad % numSegmentos;
+        long pesoPorSegmento = pesoMaximo == Long.MAX_VALUE ? Long.MAX_VALUE : Math.max(1, pesoMaximo / numSegmentos);
+        for (int i = 0; i < numSegmentos; i++) {
+            segmentos[i] = new Segmento<>(porSegmento + (i < resto ? 1 : 0), pesoPorSegmento, pesador, expulsiones, alExpulsar);
+        }
+    }
+
+    private Segmento<K, V> segmento(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segmentos[h & (segmentos.length - 1)];
+    }
+
+    /**
+     * @param key la clave
+     * @return el valor guardado o null si no esta (cuenta como acierto o fallo)
+     */
+    public V get(K key) {
+        Segmento<K, V> segmento = segmento(key);
+        V value;
+        synchronized (segmento) {
+            value = segmento.get(key);
+        }
+        if (value == null) {
+            fallos.increment();
+        } else {
+            aciertos.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Guarda un valor; si el segmento esta lleno expulsa sus entradas menos usadas.
+     * Una entrada que pesa mas que todo el segmento no se guarda.
+     * @param key la clave
+     * @param value el valor (no null)
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El cache no guarda valores null");
+        }
+        Segmento<K, V> segmento = segmento(key);
+        synchronized (segmento) {
+            segmento.put(key, value);
+        }
+    }
+
+    /**
+     * @return numero de entradas guardadas
+     */
+    public int size() {
+        int total = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Recorre las entradas guardadas, segmento por segmento (cada segmento con su lock tomado).
+     * @param accion se llama con cada clave y valor
+     */
+    public void forEach(BiConsumer<? super K, ? super V> accion) {
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.mapa.forEach(accion);
+            }
+        }
+    }
+
+    /**
+     * Elimina todas las entradas (los contadores se conservan).
+     */
+    public void clear() {
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.clear();
+            }
+        }
+    }
+
+    /**
+     * @return peso total de las entradas guardadas (el numero de entradas si no hay funcion de peso)
+     */
+    public long getPeso() {
+        long total = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.peso;
+            }
+        }
+        return total;
+    }
+
+    public long getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    /**
+     * @return aciertos / consultas, 0 si todavia no hubo consultas
+     */
+    public double getTasaAciertos() {
+        long a = aciertos.sum();
+        long total = a + fallos.sum();
+        return total == 0 ? 0.0 : (double) a / total;
+    }
+
+    /**
+     * Un segmento: LinkedHashMap en orden de acceso que expulsa las entradas mas antiguas al pasarse
+     * del limite de entradas o de peso. Todos los metodos se llaman con el lock del segmento tomado.
+     */
+    private static final class Segmento<K, V> {
+        private final LinkedHashMap<K, V> mapa = new LinkedHashMap<>(16, 0.75f, true);
+        private final int limite;
+        private final long limitePeso;
+        private final ToIntBiFunction<? super K, ? super V> pesador;
+        private final LongAdder expulsiones;
+        private final BiConsumer<? super K, ? super V> alExpulsar;
+        private long peso;
+
+        Segmento(int limite, long limitePeso, ToIntBiFunction<? super K, ? super V> pesador, LongAdder expulsiones,
+                 BiConsumer<? super K, ? super V> alExpulsar) {
+            this.limite = limite;
+            this.limitePeso = limitePeso;
+            this.pesador = pesador;
+            this.expulsiones = expulsiones;
+            this.alExpulsar = alExpulsar;
+        }
+
+        private long pesar(K key, V value) {
+            return pesador == null ? 1 : pesador.applyAsInt(key, value);
+        }
+
+        V get(Object key) {
+            return mapa.get(key);
+        }
+
+        void put(K key, V value) {
+            long nuevo = pesar(key, value);
+            if (nuevo > limitePeso) {
+                return;
+            }
+            V anterior = mapa.put(key, value);
+            if (anterior != null) {
+                peso -= pesar(key, anterior);
+            }
+            peso += nuevo;
+            Iterator<Map.Entry<K, V>> it = mapa.entrySet().iterator();
+            while (mapa.size() > limite || peso > limitePeso) {
+                Map.Entry<K, V> eldest = it.next();
+                peso -= pesar(eldest.getKey(), eldest.getValue());
+                it.remove();
+                expulsiones.increment();
+                if (alExpulsar != null) {
+                    alExpulsar.accept(eldest.getKey(), eldest.getValue());
+                }
+            }
+        }
+
+        int size() {
+            return mapa.size();
+        }
+
+        void clear() {
+            mapa.clear();
+            peso = 0;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.scriptbitcoin.utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.model.Valor;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Convierte un script serializado de Bitcoin (los bytes tal como van en una transacción)
+ * en la misma lista de valores que produce ScriptValores con el texto, sin pasar por hexadecimal ni texto.
+ * Soporta empujes directos (0x01..0x4b), OP_PUSHDATA1 y OP_PUSHDATA2 (longitud little-endian).
+ * Si el ByteBuffer tiene un arreglo accesible, los datos empujados son vistas de ese arreglo sin copiarlo,
+ * por lo que el buffer no se debe modificar mientras se usen los valores. Los buffers directos o de solo lectura se copian.
+ * Estado: completa
+ */
+public final class ScriptDecoder {
+    //valor de cada byte que es un opcode (Valor es inmutable, se comparte uno por opcode), null para los empujes y los no soportados
+    private static final Valor[] OPCODES = new Valor[256];
+    static {
+        for (int code = 0; code < 256; code++) {
+            OpCode op = OpCode.fromCode(code);
+            if (op != null && op != OpCode.OP_PUSHDATA1 && op != OpCode.OP_PUSHDATA2) {
+                OPCODES[code] = new Valor(op);
+            }
+        }
+    }
+
+    //mayor longitud de un empuje directo: el propio byte del opcode es la longitud
+    private static final int MAX_EMPUJE_DIRECTO = 0x4b;
+
+    private ScriptDecoder() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * Decodifica el script completo.
+     * @param script los bytes del script
+     * @return los valores en orden
+     * @throws IllegalArgumentException si hay un opcode no soportado o un empuje truncado
+     */
+    public static List<Valor> decode(byte[] script) {
+        return decode(ByteBuffer.wrap(script));
+    }
+
+    /**
+     * Decodifica los bytes entre la posicion y el limite del buffer (la posicion no se modifica).
+     * @param script el buffer con el script
+     * @return los valores en orden
+     * @throws IllegalArgumentException si hay un opcode no soportado o un empuje truncado
+     */
+    public static List<Valor> decode(ByteBuffer script) {
+        int pos = script.position();
+        int fin = script.limit();
+        List<Valor> valores = new ArrayList<>();
+        while (pos < fin) {
+            int inicio = pos;
+            int code = script.get(pos++) & 0xff;
+            int len;
+            if (code >= 0x01 && code <= MAX_EMPUJE_DIRECTO) {
+                len = code;
+            } else if (code == OpCode.OP_PUSHDATA1.getCode()) {
+                requerir(pos + 1, fin, inicio);
+                len = script.get(pos) & 0xff;
+                pos += 1;
+            } else if (code == OpCode.OP_PUSHDATA2.getCode()) {
+                requerir(pos + 2, fin, inicio);
+                len = (script.get(pos) & 0xff) | (script.get(pos + 1) & 0xff) << 8;
+                pos += 2;
+            } else {
+                Valor opcode = OPCODES[code];
+                if (opcode == null) {
+                    throw new IllegalArgumentException("Opcode no soportado: 0x" + Integer.toHexString(code) + " en la posicion " + inicio);
+                }
+                valores.add(opcode);
+                continue;
+            }
+            requerir(pos + len, fin, inicio);
+            valores.add(new Valor(slice(script, pos, len)));
+            pos += len;
+        }
+        return valores;
+    }
+
+    private static void requerir(int hasta, int fin, int inicio) {
+        if (hasta > fin) {
+            throw new IllegalArgumentException("Empuje de datos truncado en la posicion " + inicio);
+        }
+    }
+
+    /**
+     * Los bytes [pos, pos + len) del buffer, sin copiar si el buffer expone su arreglo.
+     */
+    private static ScriptBytes slice(ByteBuffer buffer, int pos, int len) {
+        if (buffer.hasArray()) {
+            return ScriptBytes.wrap(buffer.array(), buffer.arrayOffset() + pos, len);
+        }
+        byte[] copia = new byte[len];
+        for (int i = 0; i < len; i++) {
+            copia[i] = buffer.get(pos + i);
+        }
+        return ScriptBytes.wrap(copia);
+    }
+}
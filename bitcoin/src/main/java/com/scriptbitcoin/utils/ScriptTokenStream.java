@@ -0,0 +1,245 @@
+package com.scriptbitcoin.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.scriptbitcoin.model.Valor;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Tokenizador incremental: lee el script de un Reader por bloques y entrega los valores
+ * uno por uno, con las mismas reglas que ScriptValores.tokenize. Nunca tiene el script completo en memoria,
+ * solo un buffer de caracteres que crece únicamente si un token no cabe en él.
+ * Se crea con ScriptValores.stream(...) a partir de un Reader, un InputStream o un archivo mapeado en memoria.
+ * Un token no reconocido lanza IllegalArgumentException("Token no reconocido: ...") al llegar a él, y un error
+ * de lectura lanza UncheckedIOException.
+ * Estado: completa
+ */
+public class ScriptTokenStream implements Iterator<Valor>, Closeable {
+    private static final int BUFFER_INICIAL = 8192;
+
+    private final ScriptValores tokenizer;
+    private final Reader reader;
+    private char[] buffer = new char[BUFFER_INICIAL];
+    //caracteres validos en [pos, lim)
+    private int pos;
+    private int lim;
+    private boolean eof;
+    //siguiente valor ya leido por hasNext()
+    private Valor siguiente;
+
+    ScriptTokenStream(ScriptValores tokenizer, Reader reader) {
+        this.tokenizer = tokenizer;
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null) {
+            siguiente = leerToken();
+        }
+        return siguiente != null;
+    }
+
+    @Override
+    public Valor next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Valor valor = siguiente;
+        siguiente = null;
+        return valor;
+    }
+
+    /**
+     * @return un spliterator ordenado sobre los valores restantes
+     */
+    public Spliterator<Valor> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return un Stream secuencial de los valores restantes (al cerrarlo se cierra la fuente)
+     */
+    public Stream<Valor> toStream() {
+        return StreamSupport.stream(spliterator(), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Lee el siguiente token completo, pidiendo mas caracteres al Reader cuando se acaba el buffer.
+     * @return el valor o null al final de la entrada
+     */
+    private Valor leerToken() {
+        // saltar espacios
+        while (true) {
+            while (pos < lim && ScriptValores.isEspacio(buffer[pos])) {
+                pos++;
+            }
+            if (pos < lim) {
+                break;
+            }
+            pos = 0;
+            lim = 0;
+            if (eof) {
+                return null;
+            }
+            leerMas();
+        }
+        int i = pos;
+        while (true) {
+            while (i < lim && !ScriptValores.isEspacio(buffer[i])) {
+                i++;
+            }
+            if (i < lim || eof) {
+                break;
+            }
+            // El token sigue despues del buffer: moverlo al inicio, y agrandar el buffer si quedan menos de 2 libres
+            // (un caracter de dos unidades UTF-16 no se puede leer en un solo espacio)
+            if (pos > 0) {
+                System.arraycopy(buffer, pos, buffer, 0, lim - pos);
+                lim -= pos;
+                i -= pos;
+                pos = 0;
+            }
+            if (lim >= buffer.length - 1) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            leerMas();
+        }
+        int inicio = pos;
+        pos = i;
+        Valor valor = tokenizer.parseToken(buffer, inicio, i);
+        if (valor == null) {
+            throw new IllegalArgumentException("Token no reconocido: " + new String(buffer, inicio, i - inicio));
+        }
+        return valor;
+    }
+
+    private void leerMas() {
+        try {
+            int n = reader.read(buffer, lim, buffer.length - lim);
+            if (n < 0) {
+                eof = true;
+            } else {
+                lim += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reader UTF-8 sobre un archivo mapeado en memoria por ventanas, para no depender del limite de 2 GB
+     * de un solo MappedByteBuffer. Los caracteres de varios bytes que quedan cortados al final de una ventana
+     * se vuelven a leer al inicio de la siguiente. Si se pide un solo caracter y el siguiente es un par
+     * sustituto, se entrega la primera mitad y la segunda queda pendiente para la próxima lectura
+     * (como hace InputStreamReader), así read nunca devuelve 0.
+     */
+    static final class MappedFileReader extends Reader {
+        private static final long VENTANA = 64L * 1024 * 1024;
+
+        private final FileChannel channel;
+        private final long size;
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        //posicion del archivo donde empieza la ventana actual
+        private long inicioVentana;
+        private ByteBuffer ventana;
+        //segunda mitad de un par sustituto que no cupo en la lectura anterior
+        private final char[] par = new char[2];
+        private boolean hayPendiente;
+
+        MappedFileReader(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.size = channel.size();
+            mapear(0);
+        }
+
+        private void mapear(long inicio) throws IOException {
+            inicioVentana = inicio;
+            long largo = Math.min(VENTANA, size - inicio);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, inicio, largo);
+            ventana = mapped;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (hayPendiente) {
+                cbuf[off] = par[1];
+                hayPendiente = false;
+                return 1;
+            }
+            if (len == 1) {
+                // decodificar en dos espacios para no quedarse sin lugar ante un par sustituto
+                int n = leer(par, 0, 2);
+                if (n > 0) {
+                    cbuf[off] = par[0];
+                    hayPendiente = n == 2;
+                    return 1;
+                }
+                return n;
+            }
+            return leer(cbuf, off, len);
+        }
+
+        private int leer(char[] cbuf, int off, int len) throws IOException {
+            CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+            while (out.position() == off) {
+                boolean ultima = inicioVentana + ventana.limit() >= size;
+                CoderResult result = decoder.decode(ventana, out, ultima);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (out.position() > off || !result.isUnderflow()) {
+                    break;
+                }
+                if (ultima) {
+                    decoder.flush(out);
+                    return out.position() > off ? out.position() - off : -1;
+                }
+                // pasar a la siguiente ventana desde el primer byte sin decodificar
+                mapear(inicioVentana + ventana.position());
+            }
+            return out.position() - off;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.scriptbitcoin.utils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptBytes;
 import com.scriptbitcoin.model.Valor;
 /**
  * @author Abigail Escobar
@@ -13,17 +18,37 @@ import com.scriptbitcoin.model.Valor;
  */
 
 public class ScriptValores {
-    //mapa de "nombre" de cada opcode 
-    private final Map<String, OpCode> opcodeMap;
+    //valor que devuelve parseEntero cuando el token no es un int
+    private static final long NO_ES_ENTERO = Long.MIN_VALUE;
+
+    //tabla de direccionamiento abierto: nombre de cada opcode -> su Valor (Valor es inmutable, asi que se comparte un solo objeto por opcode)
+    //se busca directamente sobre los caracteres del script, sin crear substrings
+    private final char[][] nombres;
+    private final Valor[] opcodes;
+    private final int mascara;
+
     //constructor
     public ScriptValores() {
-        //inicializa el mapa de opcodes, recorriendo cada valor del enum OpCode y almacenándolo en el mapa con su nombre como clave
-        opcodeMap = new HashMap<>();
-        for (OpCode op : OpCode.values()) {
-            opcodeMap.put(op.name(), op);
+        //inicializa la tabla de opcodes, recorriendo cada valor del enum OpCode y almacenándolo con su nombre como clave
+        OpCode[] ops = OpCode.values();
+        int capacidad = Integer.highestOneBit(ops.length * 4 - 1) << 1;
+        nombres = new char[capacidad][];
+        opcodes = new Valor[capacidad];
+        mascara = capacidad - 1;
+        for (OpCode op : ops) {
+            if (op.isInterno()) {
+                continue; // los opcodes internos no se pueden escribir en el texto
+            }
+            char[] nombre = op.name().toCharArray();
+            int slot = hash(nombre, 0, nombre.length) & mascara;
+            while (nombres[slot] != null) {
+                slot = (slot + 1) & mascara;
+            }
+            nombres[slot] = nombre;
+            opcodes[slot] = new Valor(op);
         }
     }
-    
+
     /**
      * 
      * @param script
@@ -34,80 +59,196 @@ public class ScriptValores {
     //un opcode es una operación que se ejecuta durante la interpretación del script, mientras que un literal de datos es un valor que se empuja a la pila para ser utilizado por los opcodes.
     public List<Valor> tokenize(String script){
         List<Valor> tokens = new ArrayList<>();
-        //trim se usa para eliminar espacios en blanco al inicio y al final de la cadena, y split("\\s+") se usa para dividir la cadena en partes utilizando uno o más espacios como delimitador
-        if (script == null || script.trim().isEmpty()) {
-            return tokens;
-        }
-
-        String[] parts = script.trim().split("\\s+");
-
-        System.out.println("=== TOKENIZE DEBUG ===");
-        System.out.println("Input script: '" + script + "'");
-        System.out.println("Split into " + parts.length + " parts:");
-        for (int i = 0; i < parts.length; i++) {
-            System.out.println("  parts[" + i + "] = '" + parts[i] + "'");
-        }
-        System.out.println("======================");
-
-        for (String part : parts) {
-            try {
-                System.out.println("Parsing part: '" + part + "'"); // ADD THIS
-                Valor token = parseToken(part);
-                System.out.println("  -> Created token: " + token); // ADD THIS
-                tokens.add(token);
-            } 
-            catch (Exception e) {
-                throw new IllegalArgumentException("Token no reconocido: " + part);
+        String error = tokenize(script, tokens);
+        if (error != null) {
+            throw new IllegalArgumentException("Token no reconocido: " + error);
+        }
+        return tokens;
+    }
+
+    /**
+     * Igual que tokenize(String) pero sin lanzar excepciones: recorre el script una sola vez, separando los
+     * tokens por espacios en blanco, y agrega cada valor a la lista.
+     * @param script el script en texto (null o vacío no agrega nada)
+     * @param tokens lista donde se agregan los valores
+     * @return null si todo el script es válido, o el primer token no reconocido
+     *         (en ese caso la lista queda con los valores anteriores a ese token)
+     */
+    public String tokenize(String script, List<Valor> tokens) {
+        if (script == null) {
+            return null;
+        }
+        char[] chars = script.toCharArray();
+        int n = chars.length;
+        int i = 0;
+        while (true) {
+            while (i < n && isEspacio(chars[i])) {
+                i++;
+            }
+            if (i == n) {
+                return null;
+            }
+            int inicio = i;
+            while (i < n && !isEspacio(chars[i])) {
+                i++;
+            }
+            Valor token = parseToken(chars, inicio, i);
+            if (token == null) {
+                return new String(chars, inicio, i - inicio);
             }
+            tokens.add(token);
         }
-        
-        System.out.println("Total tokens created: " + tokens.size());
+    }
 
-        return tokens;
+    /**
+     * Tokeniza un script que llega por un Reader sin leerlo completo: los valores se entregan a medida
+     * que se leen (ver ScriptTokenStream).
+     * @param reader la fuente del script
+     * @return el iterador de valores (cerrarlo cierra el reader)
+     */
+    public ScriptTokenStream stream(Reader reader) {
+        return new ScriptTokenStream(this, reader);
+    }
+
+    /**
+     * Igual que stream(Reader) para un InputStream en UTF-8.
+     * @param in la fuente del script
+     * @return el iterador de valores (cerrarlo cierra el stream)
+     */
+    public ScriptTokenStream stream(InputStream in) {
+        return stream(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tokeniza un archivo UTF-8 mapeado en memoria (por ventanas, sirve para archivos de cualquier tamaño).
+     * @param path el archivo del script
+     * @return el iterador de valores (cerrarlo cierra el archivo)
+     * @throws IOException si no se puede abrir o mapear el archivo
+     */
+    public ScriptTokenStream stream(Path path) throws IOException {
+        return stream(new ScriptTokenStream.MappedFileReader(path));
+    }
+
+    /**
+     * Los mismos separadores que la expresion regular \s: espacio, tab, salto de linea, tab vertical, form feed y retorno.
+     */
+    static boolean isEspacio(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
+
     /**
      * este método se encarga de analizar cada parte del script para determinar si es un opcode conocido, un literal de datos entre angulares, un número entero o un dato hexadecimal.
-     * @param part
-     * @return
+     * @param s caracteres del script
+     * @param inicio posicion del primer caracter del token
+     * @param fin posicion siguiente al ultimo caracter
+     * @return el valor, o null si el token no se reconoce
      */
-    private Valor parseToken(String part) {
+    Valor parseToken(char[] s, int inicio, int fin) {
         // Verificar si es un opcode conocido
-        if (opcodeMap.containsKey(part)) {
-            return new Valor(opcodeMap.get(part));
+        Valor opcode = buscarOpcode(s, inicio, fin);
+        if (opcode != null) {
+            return opcode;
         }
+        int len = fin - inicio;
 
         // Verificar si es un dato entre angulares como <sig>, <pubKey>, <pubKeyHash>
-        if (part.startsWith("<") && part.endsWith(">")) {
-            String placeholder = part.substring(1, part.length() - 1);
-            return new Valor(placeholder.getBytes()); // Convertir el placeholder a bytes para simular un literal de datos
+        if (len >= 2 && s[inicio] == '<' && s[fin - 1] == '>') {
+            return new Valor(ScriptBytes.wrap(placeholder(s, inicio + 1, fin - 1)));
         }
 
         // Verificar si es un literal numerico entero
-        try {
-            int value = Integer.parseInt(part);
-            return new Valor(intToBytes(value));
-        } catch (NumberFormatException e) {
-            // No es un entero
+        long entero = parseEntero(s, inicio, fin);
+        if (entero != NO_ES_ENTERO) {
+            return new Valor(ScriptBytes.ofInt((int) entero)); // -1..16 usan las constantes canonicas
         }
 
         // Verificar si es un dato hexadecimal (prefijo 0x)
-        if (part.startsWith("0x") || part.startsWith("0X")) {
-            try {
-                byte[] hexData = hexToBytes(part.substring(2));
-                return new Valor(hexData);
-            } catch (IllegalArgumentException e) {
-                // No es hex valido
+        if (len >= 2 && s[inicio] == '0' && (s[inicio + 1] == 'x' || s[inicio + 1] == 'X')) {
+            byte[] hexData = hexToBytes(s, inicio + 2, fin, false);
+            if (hexData != null) {
+                return new Valor(ScriptBytes.wrap(hexData));
+            }
+        }
+        byte[] hexData = hexToBytes(s, inicio, fin, true);
+        if (hexData != null) {
+            return new Valor(ScriptBytes.wrap(hexData));
+        }
+        return null;
+    }
+
+    //mismo hash que String.hashCode, calculado sobre un rango
+    private static int hash(char[] s, int inicio, int fin) {
+        int h = 0;
+        for (int i = inicio; i < fin; i++) {
+            h = 31 * h + s[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Busca el rango en la tabla de opcodes (distingue mayúsculas y minúsculas).
+     */
+    private Valor buscarOpcode(char[] s, int inicio, int fin) {
+        int len = fin - inicio;
+        int slot = hash(s, inicio, fin) & mascara;
+        char[] nombre;
+        while ((nombre = nombres[slot]) != null) {
+            if (nombre.length == len) {
+                int i = 0;
+                while (i < len && nombre[i] == s[inicio + i]) {
+                    i++;
+                }
+                if (i == len) {
+                    return opcodes[slot];
+                }
+            }
+            slot = (slot + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Mismas reglas que Integer.parseInt (signo opcional + o -, al menos un digito, rango de int)
+     * pero sin lanzar excepciones.
+     * @return el valor o NO_ES_ENTERO
+     */
+    private static long parseEntero(char[] s, int inicio, int fin) {
+        boolean negativo = false;
+        int i = inicio;
+        if (s[i] == '-' || s[i] == '+') {
+            negativo = s[i] == '-';
+            i++;
+        }
+        if (i == fin) {
+            return NO_ES_ENTERO;
+        }
+        long limite = negativo ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long valor = 0;
+        for (; i < fin; i++) {
+            int digito = Character.digit(s[i], 10);
+            if (digito < 0) {
+                return NO_ES_ENTERO;
+            }
+            valor = valor * 10 + digito;
+            if (valor > limite) {
+                return NO_ES_ENTERO;
             }
         }
-        if (part.matches("[0-9a-fA-F]+")) {
-            try {
-                byte[] hexData = hexToBytes(part);
-                return new Valor(hexData);
-            } catch (IllegalArgumentException e) {
-                // No es hex valido, continuar
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Bytes de un placeholder. Si todos los caracteres son ASCII se copian directamente.
+     */
+    private static byte[] placeholder(char[] s, int inicio, int fin) {
+        byte[] bytes = new byte[fin - inicio];
+        for (int i = inicio; i < fin; i++) {
+            if (s[i] >= 0x80) {
+                return new String(s, inicio, fin - inicio).getBytes();
             }
+            bytes[i - inicio] = (byte) s[i];
         }
-        throw new IllegalArgumentException("Token no reconocido: " + part);
+        return bytes;
     }
 
     /**
@@ -155,21 +296,35 @@ public class ScriptValores {
 
         return result;
     }
-    //Convierte una cadena de hexadecimal a un array de bytes, lo que es útil para interpretar datos literales en formato hexadecimal dentro de los scripts de Bitcoin.
-    private byte[] hexToBytes(String hex){
-        if (hex.length() % 2 != 0) {
-            hex = "0" + hex;
-        }
-        byte[] result = new byte[hex.length() / 2];
-        for (int i = 0; i < result.length; i++) {
-            int high = Character.digit(hex.charAt(i * 2), 16);
-            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
-            if (high == -1 || low == -1) {
-                throw new IllegalArgumentException("Caracter hex invalido");
+    //Convierte un rango de caracteres hexadecimales a un array de bytes, lo que es útil para interpretar datos literales en formato hexadecimal dentro de los scripts de Bitcoin.
+    //Si la longitud es impar se agrega un 0 al inicio. Devuelve null si hay un caracter que no es hexadecimal.
+    //soloAscii: true para aceptar solo 0-9, a-f y A-F (los datos sin prefijo 0x)
+    private static byte[] hexToBytes(char[] s, int inicio, int fin, boolean soloAscii) {
+        int len = fin - inicio;
+        byte[] result = new byte[(len + 1) / 2];
+        // con longitud impar el primer caracter es el nibble bajo del primer byte
+        int nibble = len % 2;
+        for (int i = inicio; i < fin; i++, nibble++) {
+            int digito = soloAscii ? digitoHexAscii(s[i]) : Character.digit(s[i], 16);
+            if (digito < 0) {
+                return null;
             }
-            result[i] = (byte) ((high << 4) | low);
+            int index = nibble >>> 1;
+            result[index] = (byte) ((nibble & 1) == 0 ? digito << 4 : result[index] | digito);
         }
         return result;
+    }
 
+    private static int digitoHexAscii(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
     }
 }
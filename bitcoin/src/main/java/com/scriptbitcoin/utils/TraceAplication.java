@@ -1,17 +1,20 @@
 package com.scriptbitcoin.utils;
 
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.*;
+import java.util.List;
 
+import com.scriptbitcoin.interpreters.ExecutionListener;
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.model.Valor;
 
 /**
  * @author Abigail Escobar
  * Fecha: 12/02/2026    
  * Basicamente registra y muestra el estao de la pila despues de cada instruccion, o sea, "traza" literalmente el funcionamineto
+ * Es el listener que usa el modo --trace del ScriptInterpreter.
  */
-public class TraceAplication {
+public class TraceAplication implements ExecutionListener {
     /** Lista de entradas de traza acumuladas */
     private final List<String> traceLog;
     private int stepCounter;
@@ -30,7 +33,7 @@ public class TraceAplication {
      * @param token el token que se acaba de ejecutar
      * @param stack el estado actual de la pila
      */
-    public void log(Valor valor, Deque<byte[]> stack) {
+    public void log(Valor valor, ScriptStack stack) {
         stepCounter++;
         String stackStr = formatStack(stack);
         String entry = String.format("Step %2d: %-20s | Stack: %s",
@@ -39,6 +42,16 @@ public class TraceAplication {
         System.out.println(entry);
     }
 
+    @Override
+    public void onTokenEnd(int index, Valor valor, ScriptStack stack) {
+        log(valor, stack);
+    }
+
+    @Override
+    public void onFailure(int index, Valor valor, String mensaje, ScriptStack stack) {
+        System.out.println("Error: " + mensaje);
+    }
+
     /**
      * Formatea el contenido de la pila como una cadena legible.
      * Muestra los elementos de la cima a la base en formato hexadecimal.
@@ -46,19 +59,17 @@ public class TraceAplication {
      * @param stack la pila a formatear
      * @return representacion en cadena de la pila
      */
-    private String formatStack(Deque<byte[]> stack) {
+    static String formatStack(ScriptStack stack) {
         if (stack.isEmpty()) {
             return "[]";
         }
         StringBuilder sb = new StringBuilder("[");
-        Iterator<byte[]> it = stack.iterator();
-        boolean first = true;
-        while (it.hasNext()) {
-            if (!first) {
+        for (int depth = 0; depth < stack.size(); depth++) {
+            if (depth > 0) {
                 sb.append(", ");
             }
-            sb.append(Utiles.bytesToHex(it.next()));
-            first = false;
+            ScriptBytes value = stack.peekValue(depth);
+            sb.append(value.length() == 0 ? "[]" : value.toHex());
         }
         sb.append("]");
         return sb.toString();
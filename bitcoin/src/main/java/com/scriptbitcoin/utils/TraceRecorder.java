@@ -0,0 +1,269 @@
+package com.scriptbitcoin.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.scriptbitcoin.interpreters.ExecutionListener;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+
+/**
+ * Fecha: 18/10/2026
+ * Descripción: Trace compacto pensado para dejarlo encendido siempre. A diferencia de TraceAplication
+ * no formatea la pila en cada paso: guarda solo lo que cambió (cuántos elementos se sacaron y los bytes
+ * de los que se empujaron, usando la marca de agua baja de ScriptStack) en búferes circulares de tamaño fijo
+ * de tipos primitivos. Registrar un paso cuesta O(bytes empujados) sin crear objetos, y cuando se llena
+ * se descartan los pasos más viejos. Las líneas legibles solo se arman al leer el trace (getTraceLog),
+ * por ejemplo cuando la ejecución falla.
+ * Un recorder es para un hilo: se puede reutilizar entre ejecuciones llamando a reset().
+ * Estado: completa
+ */
+public final class TraceRecorder implements ExecutionListener {
+    //bytes que se guardan como maximo de cada elemento empujado (del resto solo queda la longitud)
+    private static final int MAX_BYTES_VALOR = 64;
+    //bytes de datos por paso que se reservan en el bufer circular
+    private static final int BYTES_POR_PASO = 48;
+    private static final OpCode[] OPCODES = OpCode.values();
+
+    //un registro por paso, el paso n esta en la posicion n % capacidad
+    private final int capacidad;
+    private final int[] indices;
+    //ordinal del opcode, o -1 si el token era un dato
+    private final int[] opcodes;
+    private final int[] sacados;
+    private final int[] empujados;
+    private final int[] profundidades;
+    //posicion absoluta en datos donde empiezan los elementos empujados del paso
+    private final long[] inicioDatos;
+
+    //elementos empujados: [longitud real (4 bytes)][hasta MAX_BYTES_VALOR bytes], uno detras de otro
+    private final byte[] datos;
+    //bytes escritos en total en datos (la posicion actual es escritos % datos.length)
+    private long escritos;
+    //pasos registrados en total
+    private long pasos;
+
+    //tamaño de la pila al empezar el token actual
+    private int tamanoAntes;
+    //datos del fallo, si hubo
+    private int indiceFallo = -1;
+    private int opcodeFallo = -1;
+    private String mensajeFallo;
+    private int profundidadFallo;
+    private boolean fallo;
+    private ScriptResult resultado;
+    //espacio para codificar los elementos numericos
+    private final byte[] numero = new byte[5];
+
+    /**
+     * Recorder que conserva los últimos 1024 pasos.
+     */
+    public TraceRecorder() {
+        this(1024);
+    }
+
+    /**
+     * @param capacidad número de pasos que se conservan
+     */
+    public TraceRecorder(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que 0");
+        }
+        this.capacidad = capacidad;
+        this.indices = new int[capacidad];
+        this.opcodes = new int[capacidad];
+        this.sacados = new int[capacidad];
+        this.empujados = new int[capacidad];
+        this.profundidades = new int[capacidad];
+        this.inicioDatos = new long[capacidad];
+        this.datos = new byte[Math.max(capacidad * BYTES_POR_PASO, 4 + MAX_BYTES_VALOR)];
+    }
+
+    @Override
+    public void onTokenStart(int index, Valor valor, ScriptStack stack) {
+        tamanoAntes = stack.size();
+        stack.resetLowWaterMark();
+    }
+
+    @Override
+    public void onTokenEnd(int index, Valor valor, ScriptStack stack) {
+        int slot = (int) (pasos % capacidad);
+        int marca = stack.lowWaterMark();
+        int size = stack.size();
+        indices[slot] = index;
+        opcodes[slot] = valor.getType() == ValorTipo.DATA_LITERAL ? -1 : valor.getOpCode().ordinal();
+        sacados[slot] = tamanoAntes - marca;
+        empujados[slot] = size - marca;
+        profundidades[slot] = size;
+        inicioDatos[slot] = escritos;
+        // de abajo hacia arriba, el orden en que quedaron en la pila
+        for (int depth = size - marca - 1; depth >= 0; depth--) {
+            escribirElemento(stack, depth);
+        }
+        pasos++;
+    }
+
+    @Override
+    public void onFailure(int index, Valor valor, String mensaje, ScriptStack stack) {
+        fallo = true;
+        indiceFallo = index;
+        opcodeFallo = valor == null || valor.getType() == ValorTipo.DATA_LITERAL ? -1 : valor.getOpCode().ordinal();
+        mensajeFallo = mensaje;
+        profundidadFallo = stack.size();
+    }
+
+    @Override
+    public void onResult(ScriptResult resultado) {
+        this.resultado = resultado;
+    }
+
+    /**
+     * Olvida todo lo registrado para usar el recorder en otra ejecución (no libera memoria).
+     */
+    public void reset() {
+        pasos = 0;
+        escritos = 0;
+        fallo = false;
+        indiceFallo = -1;
+        opcodeFallo = -1;
+        mensajeFallo = null;
+        resultado = null;
+    }
+
+    /**
+     * @return el número de pasos registrados desde el último reset, incluidos los ya descartados
+     */
+    public long getPasos() {
+        return pasos;
+    }
+
+    /**
+     * @return true si la ejecución registrada falló con un error
+     */
+    public boolean isFallido() {
+        return fallo;
+    }
+
+    /**
+     * @return el resultado de la ejecución registrada, o null si todavía no termina
+     */
+    public ScriptResult getResultado() {
+        return resultado;
+    }
+
+    /**
+     * Arma las líneas legibles de los pasos que se conservan (y del error, si hubo).
+     * Cada línea muestra el token, cuántos elementos sacó, los que empujó en hexadecimal, la profundidad de la pila
+     * y la posición del token en el script.
+     * @return las líneas, de la más vieja a la más nueva
+     */
+    public List<String> getTraceLog() {
+        List<String> lineas = new ArrayList<>();
+        long primero = Math.max(0, pasos - capacidad);
+        if (primero > 0) {
+            lineas.add("... " + primero + " pasos anteriores descartados");
+        }
+        StringBuilder sb = new StringBuilder();
+        for (long paso = primero; paso < pasos; paso++) {
+            int slot = (int) (paso % capacidad);
+            sb.setLength(0);
+            // los pasos de un dato se muestran como Valor.toString, con el dato empujado
+            if (opcodes[slot] < 0) {
+                sb.append("DATA[");
+                long pos = inicioDatos[slot];
+                if (empujados[slot] == 1 && disponible(pos)) {
+                    agregarElemento(sb, pos, "");
+                } else {
+                    sb.append('?');
+                }
+                sb.append(']');
+            } else {
+                sb.append(OPCODES[opcodes[slot]].name());
+            }
+            String token = sb.toString();
+            sb.setLength(0);
+            sb.append('-').append(sacados[slot]).append(" +[");
+            long pos = inicioDatos[slot];
+            if (!disponible(pos)) {
+                sb.append(empujados[slot]).append(" elementos descartados");
+            } else {
+                for (int i = 0; i < empujados[slot]; i++) {
+                    if (i > 0) {
+                        sb.append(", ");
+                    }
+                    pos = agregarElemento(sb, pos, "[]");
+                }
+            }
+            sb.append(']');
+            lineas.add(String.format("Step %2d: %-20s | %s | Depth: %d | Token: %d",
+                    paso + 1, token, sb.toString(), profundidades[slot], indices[slot]));
+        }
+        if (fallo) {
+            String token = opcodeFallo < 0 ? (indiceFallo < 0 ? "-" : "DATA") : OPCODES[opcodeFallo].name();
+            lineas.add(String.format("Error en el token %d (%s) con %d elementos en la pila: %s",
+                    indiceFallo, token, profundidadFallo, mensajeFallo));
+        }
+        return lineas;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(System.lineSeparator(), getTraceLog());
+    }
+
+    //copia un elemento de la pila al bufer circular
+    private void escribirElemento(ScriptStack stack, int depth) {
+        if (stack.isNumeric(depth)) {
+            int len = Utiles.encodeInt(stack.getInt(depth), numero, 0);
+            escribirInt(len);
+            escribir(numero, 0, len);
+        } else {
+            int len = stack.length(depth);
+            escribirInt(len);
+            escribir(stack.arena(), stack.offset(depth), Math.min(len, MAX_BYTES_VALOR));
+        }
+    }
+
+    private void escribirInt(int v) {
+        int pos = (int) (escritos % datos.length);
+        for (int i = 0; i < 4; i++) {
+            datos[(pos + i) % datos.length] = (byte) (v >>> (24 - 8 * i));
+        }
+        escritos += 4;
+    }
+
+    private void escribir(byte[] src, int off, int len) {
+        int pos = (int) (escritos % datos.length);
+        int primero = Math.min(len, datos.length - pos);
+        System.arraycopy(src, off, datos, pos, primero);
+        System.arraycopy(src, off + primero, datos, 0, len - primero);
+        escritos += len;
+    }
+
+    //true si los datos que empiezan en pos no se han sobrescrito
+    private boolean disponible(long pos) {
+        return escritos - pos <= datos.length;
+    }
+
+    //agrega el elemento guardado en pos en hexadecimal (o siVacio si no tiene bytes) y devuelve la posicion del siguiente
+    private long agregarElemento(StringBuilder sb, long pos, String siVacio) {
+        int len = 0;
+        for (int i = 0; i < 4; i++) {
+            len = (len << 8) | (datos[(int) ((pos + i) % datos.length)] & 0xff);
+        }
+        pos += 4;
+        int guardados = Math.min(len, MAX_BYTES_VALOR);
+        byte[] bytes = new byte[guardados];
+        for (int i = 0; i < guardados; i++) {
+            bytes[i] = datos[(int) ((pos + i) % datos.length)];
+        }
+        sb.append(len == 0 ? siVacio : Utiles.bytesToHex(bytes));
+        if (guardados < len) {
+            sb.append("...(").append(len).append(" bytes)");
+        }
+        return pos + guardados;
+    }
+}
@@ -8,6 +8,9 @@ package com.scriptbitcoin.utils;
 import java.util.Arrays;
 
 public class Utiles {
+    //digitos para bytesToHex (String.format por byte era muy lento)
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private Utiles() {
         // Clase utilitaria, no instanciable
     }
@@ -20,17 +23,29 @@ public class Utiles {
      * @return true si el valor es truthy
      */
     public static boolean isTruthy(byte[] value) {
-        if (value == null || value.length == 0) {
+        if (value == null) {
             return false;
         }
-        for (int i = 0; i < value.length; i++) {
-            if (i == value.length - 1) {
+        return isTruthy(value, 0, value.length);
+    }
+
+    /**
+     * Igual que isTruthy(byte[]) pero sobre un rango de un arreglo (por ejemplo la arena de ScriptStack).
+     *
+     * @param data arreglo que contiene el valor
+     * @param off posicion inicial del valor
+     * @param len longitud del valor
+     * @return true si el valor es truthy
+     */
+    public static boolean isTruthy(byte[] data, int off, int len) {
+        for (int i = 0; i < len; i++) {
+            if (i == len - 1) {
                 // El ultimo byte puede ser 0x80 (cero negativo)
-                if ((value[i] & 0xFF) != 0x00 && (value[i] & 0xFF) != 0x80) {
+                if ((data[off + i] & 0xFF) != 0x00 && (data[off + i] & 0xFF) != 0x80) {
                     return true;
                 }
             } else {
-                if (value[i] != 0x00) {
+                if (data[off + i] != 0x00) {
                     return true;
                 }
             }
@@ -50,28 +65,32 @@ public class Utiles {
         if (bytes == null || bytes.length == 0) {
             return 0;
         }
+        return bytesToInt(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Igual que bytesToInt(byte[]) pero sobre un rango de un arreglo, sin copiarlo.
+     *
+     * @param data arreglo que contiene el valor
+     * @param off posicion inicial del valor
+     * @param len longitud del valor
+     * @return el valor entero representado
+     */
+    public static int bytesToInt(byte[] data, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
 
         // Determinar si es negativo (bit 7 del ultimo byte)
-        boolean negative = (bytes[bytes.length - 1] & 0x80) != 0;
+        boolean negative = (data[off + len - 1] & 0x80) != 0;
 
+        // byte[0] es el menos significativo (little-endian)
         int result = 0;
-        for (int i = bytes.length - 1; i >= 0; i--) {
-            int b = bytes[i] & 0xFF;
-            if (i == bytes.length - 1) {
+        for (int i = 0; i < len; i++) {
+            int b = data[off + i] & 0xFF;
+            if (i == len - 1) {
                 b &= 0x7F; // Remover bit de signo del ultimo byte
             }
-            result = (result << 8) | b;
-        }
-
-        // Reordenar de big-endian del loop a little-endian correcto
-        // En realidad el loop ya lee correctamente:
-        // byte[0] es el menos significativo en little-endian
-        result = 0;
-        for (int i = 0; i < bytes.length; i++) {
-            int b = bytes[i] & 0xFF;
-            if (i == bytes.length - 1) {
-                b &= 0x7F;
-            }
             result |= (b << (8 * i));
         }
 
@@ -87,42 +106,61 @@ public class Utiles {
      * @return arreglo de bytes representando el valor
      */
     public static byte[] intToBytes(int value) {
+        byte[] result = new byte[encodedLength(value)];
+        encodeInt(value, result, 0);
+        return result;
+    }
+
+    /**
+     * Calcula cuantos bytes ocupa un entero con la codificacion de Bitcoin Script.
+     *
+     * @param value el valor entero
+     * @return numero de bytes (0 para el valor 0)
+     */
+    public static int encodedLength(int value) {
         if (value == 0) {
-            return new byte[0];
+            return 0;
         }
-
-        boolean negative = value < 0;
-        int absValue = Math.abs(value);
-
-        // Determinar cuantos bytes se necesitan
+        long absValue = Math.abs((long) value);
         int numBytes = 0;
-        int temp = absValue;
+        long temp = absValue;
         while (temp > 0) {
             numBytes++;
             temp >>= 8;
         }
-
-        byte[] result = new byte[numBytes];
-        temp = absValue;
-        for (int i = 0; i < numBytes; i++) {
-            result[i] = (byte) (temp & 0xFF);
-            temp >>= 8;
-        }
-
         // Si el bit mas significativo del ultimo byte esta encendido,
         // necesitamos un byte extra para el signo
-        if ((result[numBytes - 1] & 0x80) != 0) {
-            byte[] extended = new byte[numBytes + 1];
-            System.arraycopy(result, 0, extended, 0, numBytes);
-            extended[numBytes] = negative ? (byte) 0x80 : 0x00;
-            return extended;
+        if (((absValue >> (8 * (numBytes - 1))) & 0x80) != 0) {
+            numBytes++;
         }
+        return numBytes;
+    }
 
+    /**
+     * Escribe un entero con la codificacion de Bitcoin Script directamente en un arreglo,
+     * sin crear arreglos intermedios. Ocupa exactamente encodedLength(value) bytes.
+     *
+     * @param value el valor entero
+     * @param dst arreglo destino
+     * @param off posicion inicial en el destino
+     * @return numero de bytes escritos
+     */
+    public static int encodeInt(int value, byte[] dst, int off) {
+        int numBytes = encodedLength(value);
+        if (numBytes == 0) {
+            return 0;
+        }
+        boolean negative = value < 0;
+        long temp = Math.abs((long) value);
+        for (int i = 0; i < numBytes; i++) {
+            dst[off + i] = (byte) (temp & 0xFF);
+            temp >>= 8;
+        }
+        // El bit de signo va en el ultimo byte (que puede ser el byte extra en 0x00)
         if (negative) {
-            result[numBytes - 1] |= 0x80;
+            dst[off + numBytes - 1] |= (byte) 0x80;
         }
-
-        return result;
+        return numBytes;
     }
 
     /**
@@ -132,14 +170,31 @@ public class Utiles {
      * @return cadena hexadecimal
      */
     public static String bytesToHex(byte[] bytes) {
-        if (bytes == null || bytes.length == 0) {
+        if (bytes == null) {
+            return "[]";
+        }
+        return bytesToHex(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Igual que bytesToHex(byte[]) pero sobre un rango de un arreglo.
+     *
+     * @param data arreglo que contiene el valor
+     * @param off posicion inicial
+     * @param len numero de bytes
+     * @return cadena hexadecimal
+     */
+    public static String bytesToHex(byte[] data, int off, int len) {
+        if (len == 0) {
             return "[]";
         }
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b & 0xFF));
+        char[] hex = new char[len * 2];
+        for (int i = 0; i < len; i++) {
+            int b = data[off + i] & 0xFF;
+            hex[2 * i] = HEX_DIGITS[b >>> 4];
+            hex[2 * i + 1] = HEX_DIGITS[b & 0x0F];
         }
-        return sb.toString();
+        return new String(hex);
     }
 
     /**
@@ -0,0 +1,103 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.benchmarks;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.bitcoinproject.crypto.EcdsaSigner;
+import com.scriptbitcoin.crypto.EcdsaSignatureChecker;
+import com.scriptbitcoin.crypto.PublicKeyCache;
+
+/**
+ * Mide cuantas verificaciones ECDSA por segundo hace EcdsaSignatureChecker, con un hilo (por nucleo)
+ * y con todos los nucleos, primero decodificando cada clave y luego con un PublicKeyCache compartido
+ * (pocas claves que se repiten, como en un multisig de custodia). No es un test: se ejecuta con main().
+ * Argumentos opcionales: segundos por medicion (por defecto 5).
+ */
+public class EcdsaBenchmark {
+    private static final int FIRMAS = 64;
+    //claves distintas: cada una firma FIRMAS / CLAVES mensajes
+    private static final int CLAVES = 4;
+
+    private static final class Caso {
+        final EcdsaSignatureChecker checker;
+        final byte[] firma;
+        final byte[] clave;
+
+        Caso(EcdsaSignatureChecker checker, byte[] firma, byte[] clave) {
+            this.checker = checker;
+            this.firma = firma;
+            this.clave = clave;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int segundos = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        System.out.println("Sin cache de claves:");
+        correr(casos(null), segundos);
+        System.out.println("Con PublicKeyCache:");
+        correr(casos(new PublicKeyCache(1024)), segundos);
+    }
+
+    private static List<Caso> casos(PublicKeyCache claves) {
+        Random random = new Random(42);
+        EcdsaSigner[] signers = new EcdsaSigner[CLAVES];
+        for (int i = 0; i < CLAVES; i++) {
+            signers[i] = new EcdsaSigner(new BigInteger(250, random).add(BigInteger.ONE), i);
+        }
+        List<Caso> casos = new ArrayList<>();
+        for (int i = 0; i < FIRMAS; i++) {
+            EcdsaSigner signer = signers[i % CLAVES];
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            casos.add(new Caso(new EcdsaSignatureChecker(hash, claves), signer.sign(hash), signer.getPublica().encode(true)));
+        }
+        return casos;
+    }
+
+    private static void correr(final List<Caso> casos, int segundos) throws Exception {
+        // calentamiento para que el JIT compile todo
+        medir(casos, 2000);
+
+        long inicio = System.nanoTime();
+        long total = medir(casos, segundos * 1000L);
+        double porSegundo = total / ((System.nanoTime() - inicio) / 1e9);
+        System.out.printf("  1 hilo: %.0f verificaciones/s (%.1f us por verificacion)%n", porSegundo, 1e6 / porSegundo);
+
+        int hilos = Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        List<Future<Long>> futuros = new ArrayList<>();
+        final long duracion = segundos * 1000L;
+        inicio = System.nanoTime();
+        for (int i = 0; i < hilos; i++) {
+            futuros.add(executor.submit(() -> medir(casos, duracion)));
+        }
+        total = 0;
+        for (Future<Long> futuro : futuros) {
+            total += futuro.get();
+        }
+        executor.shutdown();
+        porSegundo = total / ((System.nanoTime() - inicio) / 1e9);
+        System.out.printf("  %d hilos: %.0f verificaciones/s (%.0f por nucleo)%n", hilos, porSegundo, porSegundo / hilos);
+    }
+
+    private static long medir(List<Caso> casos, long milisegundos) {
+        long fin = System.currentTimeMillis() + milisegundos;
+        long n = 0;
+        while (System.currentTimeMillis() < fin) {
+            Caso caso = casos.get((int) (n % casos.size()));
+            if (!caso.checker.verify(caso.firma, caso.clave)) {
+                throw new IllegalStateException("Firma invalida en el benchmark");
+            }
+            n++;
+        }
+        return n;
+    }
+}
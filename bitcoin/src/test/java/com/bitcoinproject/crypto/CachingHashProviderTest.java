@@ -0,0 +1,75 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.crypto;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.CachingHashProvider;
+import com.scriptbitcoin.crypto.DigestHashProvider;
+import com.scriptbitcoin.crypto.MockHashProvider;
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.operations.Crypto;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase CachingHashProvider (JUnit 4).
+ */
+public class CachingHashProviderTest {
+
+    private static final byte[] CLAVE = "clave_publica".getBytes(StandardCharsets.UTF_8);
+
+    private static byte[] hash160(CachingHashProvider hashes, byte[] data) {
+        ScriptStack stack = new ScriptStack();
+        stack.push(data);
+        Crypto.opHash160(stack, hashes);
+        return stack.peek();
+    }
+
+    @Test
+    public void testMismoResultadoQueElDelegado() {
+        CachingHashProvider hashes = new CachingHashProvider(DigestHashProvider.INSTANCE, 16, 4096);
+        ScriptStack directo = new ScriptStack();
+        directo.push(CLAVE);
+        Crypto.opHash160(directo, DigestHashProvider.INSTANCE);
+
+        assertArrayEquals(directo.peek(), hash160(hashes, CLAVE));
+        assertArrayEquals(directo.peek(), hash160(hashes, CLAVE));
+        assertEquals(1, hashes.getCache().getAciertos());
+        assertEquals(0.5, hashes.getTasaAciertos(), 1e-9);
+    }
+
+    @Test
+    public void testFuncionesNoSeMezclan() {
+        CachingHashProvider hashes = new CachingHashProvider(MockHashProvider.INSTANCE, 16, 4096);
+        ScriptStack stack = new ScriptStack();
+        stack.push(CLAVE);
+        Crypto.opSha256(stack, hashes);
+        stack.push(CLAVE);
+        Crypto.opHash256(stack, hashes);
+
+        assertArrayEquals(Crypto.mockHash256(CLAVE), stack.pop());
+        assertArrayEquals(Crypto.mockSha256(CLAVE), stack.pop());
+        assertEquals(0, hashes.getCache().getAciertos());
+    }
+
+    @Test
+    public void testLimiteDeBytes() {
+        CachingHashProvider hashes = new CachingHashProvider(DigestHashProvider.INSTANCE, 1000, 2000);
+        for (int i = 0; i < 200; i++) {
+            hash160(hashes, new byte[] {(byte) i, 1, 2, 3});
+        }
+        assertTrue(hashes.getCache().getPeso() <= 2000);
+        assertTrue(hashes.getCache().getExpulsiones() > 0);
+    }
+
+    @Test
+    public void testEntradaGrandeNoSeGuarda() {
+        CachingHashProvider hashes = new CachingHashProvider(DigestHashProvider.INSTANCE, 16, 1 << 20);
+        hash160(hashes, new byte[CachingHashProvider.MAX_ENTRADA + 1]);
+        assertEquals(0, hashes.getCache().size());
+    }
+}
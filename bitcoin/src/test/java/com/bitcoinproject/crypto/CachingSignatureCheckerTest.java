@@ -0,0 +1,64 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.crypto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.CachingSignatureChecker;
+import com.scriptbitcoin.crypto.SignatureChecker;
+import com.scriptbitcoin.crypto.SignatureRegistry;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase CachingSignatureChecker (JUnit 4).
+ */
+public class CachingSignatureCheckerTest {
+
+    @Test
+    public void testReutilizaResultado() {
+        final AtomicInteger llamadas = new AtomicInteger();
+        SignatureChecker contador = new SignatureChecker() {
+            @Override
+            public boolean verify(byte[] sig, int sigOff, int sigLen, byte[] pubKey, int keyOff, int keyLen) {
+                llamadas.incrementAndGet();
+                return sigLen == keyLen;
+            }
+        };
+        CachingSignatureChecker checker = new CachingSignatureChecker(contador, 16);
+
+        assertTrue(checker.verify("ab".getBytes(), "cd".getBytes()));
+        assertTrue(checker.verify("ab".getBytes(), "cd".getBytes()));
+        assertFalse(checker.verify("abc".getBytes(), "d".getBytes()));
+        assertFalse(checker.verify("abc".getBytes(), "d".getBytes()));
+
+        assertEquals(2, llamadas.get());
+        assertEquals(2, checker.getCache().getAciertos());
+        assertEquals(2, checker.getCache().getFallos());
+    }
+
+    @Test
+    public void testClaveDistingueLimiteEntreFirmaYClave() {
+        SignatureRegistry registry = new SignatureRegistry();
+        registry.register("ab".getBytes(), "c".getBytes());
+        CachingSignatureChecker checker = new CachingSignatureChecker(registry.snapshot(), 16);
+
+        assertTrue(checker.verify("ab".getBytes(), "c".getBytes()));
+        assertFalse(checker.verify("a".getBytes(), "bc".getBytes()));
+    }
+
+    @Test
+    public void testRangos() {
+        SignatureRegistry registry = new SignatureRegistry();
+        registry.register(new byte[] {1, 2}, new byte[] {3});
+        CachingSignatureChecker checker = new CachingSignatureChecker(registry, 16);
+        byte[] datos = {9, 1, 2, 3};
+
+        assertTrue(checker.verify(datos, 1, 2, datos, 3, 1));
+        assertTrue(checker.verify(new byte[] {1, 2}, new byte[] {3}));
+        assertEquals(1, checker.getCache().getAciertos());
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.crypto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.DigestHashProvider;
+import com.scriptbitcoin.crypto.Ripemd160;
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.operations.Crypto;
+import com.scriptbitcoin.utils.Utiles;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para DigestHashProvider y Ripemd160 con vectores conocidos (JUnit 4).
+ */
+public class DigestHashProviderTest {
+
+    private static final byte[] HELLO = "hello".getBytes(StandardCharsets.UTF_8);
+
+    private static byte[] hex(String s) {
+        byte[] out = new byte[s.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) Integer.parseInt(s.substring(2 * i, 2 * i + 2), 16);
+        }
+        return out;
+    }
+
+    @Test
+    public void testRipemd160Vectores() {
+        assertEquals("9c1185a5c5e9fc54612808977ee8f548b2258d31", Utiles.bytesToHex(Ripemd160.digest(new byte[0])));
+        assertEquals("8eb208f7e05d987a9b044a8e98c6b087f15a0bfc",
+            Utiles.bytesToHex(Ripemd160.digest("abc".getBytes(StandardCharsets.UTF_8))));
+        byte[] mil = new byte[1000];
+        Arrays.fill(mil, (byte) 'a');
+        assertEquals("aa69deee9a8922e92f8105e007f76110f381e9cf", Utiles.bytesToHex(Ripemd160.digest(mil)));
+    }
+
+    @Test
+    public void testSha256() {
+        byte[] out = new byte[32];
+        assertEquals(32, DigestHashProvider.INSTANCE.sha256(HELLO, 0, HELLO.length, out, 0));
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", Utiles.bytesToHex(out));
+    }
+
+    @Test
+    public void testHash256() {
+        byte[] out = new byte[34];
+        assertEquals(32, DigestHashProvider.INSTANCE.hash256(HELLO, 0, HELLO.length, out, 2));
+        assertEquals("9595c9df90075148eb06860365df33584b75bff782a510c6cd4883a419833d50",
+            Utiles.bytesToHex(out, 2, 32));
+    }
+
+    @Test
+    public void testOpHash160ClavePublica() {
+        ScriptStack stack = new ScriptStack();
+        stack.push(hex("0279be667ef9dcbbac55a06295ce870b07029bfcdb2dce28d959f2815b16f81798"));
+        Crypto.opHash160(stack, DigestHashProvider.INSTANCE);
+        assertEquals(1, stack.size());
+        assertEquals("751e76e8199196d454941c45d1b3a323f1433bd6", Utiles.bytesToHex(stack.peek()));
+    }
+
+    @Test
+    public void testHashRepetidoNoCrece() {
+        ScriptStack stack = new ScriptStack();
+        stack.push(HELLO);
+        for (int i = 0; i < 10; i++) {
+            Crypto.opSha256(stack, DigestHashProvider.INSTANCE);
+        }
+        assertEquals(32, stack.peek().length);
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.crypto;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.EcdsaSignatureChecker;
+import com.scriptbitcoin.crypto.Secp256k1;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.Valor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para Secp256k1 y EcdsaSignatureChecker (JUnit 4).
+ * Los vectores se generaron con la libreria "cryptography" de Python (OpenSSL).
+ */
+public class EcdsaSignatureCheckerTest {
+
+    private static final BigInteger PRIVADA =
+        new BigInteger("1d3c5a7e9b2f4c6d8e0a1b3c5d7e9f1a2b4c6d8e0f1a3b5c7d9e1f2a4b6c8d0e", 16);
+    private static final byte[] COMPRIMIDA = hex("03ef796c92f6fa0751e8cc4b99ac41a52f3ab0f85b129aad914173752dc65d18bf");
+    private static final byte[] SIN_COMPRIMIR = hex("04ef796c92f6fa0751e8cc4b99ac41a52f3ab0f85b129aad914173752dc65d18bf"
+        + "2acf08551a9f202f04f5f3669ecdc18d05137a416f75169a232cc28e97bdeb21");
+    private static final byte[] HASH = hex("789f289612bb711e6fda22a76c5b912a7832752d528ba2957af4b271137afdd8");
+    private static final byte[] FIRMA = hex("3045022100c2dc8a4bc7d7736ddeb6a9c83ae9b5c14352f347eba9bc03604bca4a2b1840d4"
+        + "0220455fe6a066fdaffc4d60b01822bb0e19ce019c081b5ec0f98a81a8508a68e8ef");
+
+    static byte[] hex(String s) {
+        byte[] out = new byte[s.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) Integer.parseInt(s.substring(2 * i, 2 * i + 2), 16);
+        }
+        return out;
+    }
+
+    private static byte[] conSighash(byte[] firma) {
+        byte[] out = new byte[firma.length + 1];
+        System.arraycopy(firma, 0, out, 0, firma.length);
+        out[firma.length] = 0x01;
+        return out;
+    }
+
+    @Test
+    public void testClavePublicaDesdePrivada() {
+        Secp256k1.Punto publica = Secp256k1.multiplyG(PRIVADA);
+        assertArrayEquals(COMPRIMIDA, publica.encode(true));
+        assertArrayEquals(SIN_COMPRIMIR, publica.encode(false));
+    }
+
+    @Test
+    public void testDescomprimir() {
+        assertEquals(Secp256k1.decodePoint(SIN_COMPRIMIR, 0, 65), Secp256k1.decodePoint(COMPRIMIDA, 0, 33));
+    }
+
+    @Test
+    public void testFirmaDeOpenSsl() {
+        EcdsaSignatureChecker checker = new EcdsaSignatureChecker(HASH);
+        assertTrue(checker.verify(FIRMA, COMPRIMIDA));
+        assertTrue(checker.verify(FIRMA, SIN_COMPRIMIR));
+        assertTrue(checker.verify(conSighash(FIRMA), COMPRIMIDA));
+    }
+
+    @Test
+    public void testFirmaAlterada() {
+        byte[] alterada = FIRMA.clone();
+        alterada[10] ^= 1;
+        assertFalse(new EcdsaSignatureChecker(HASH).verify(alterada, COMPRIMIDA));
+        byte[] otroHash = HASH.clone();
+        otroHash[0] ^= 1;
+        assertFalse(new EcdsaSignatureChecker(otroHash).verify(FIRMA, COMPRIMIDA));
+    }
+
+    @Test
+    public void testDatosMalFormados() {
+        EcdsaSignatureChecker checker = new EcdsaSignatureChecker(HASH);
+        assertFalse(checker.verify(new byte[] {0x30, 0x00}, COMPRIMIDA));
+        assertFalse(checker.verify(FIRMA, new byte[] {0x02, 0x01}));
+        byte[] fueraDeCurva = SIN_COMPRIMIR.clone();
+        fueraDeCurva[64] ^= 1;
+        assertFalse(checker.verify(FIRMA, fueraDeCurva));
+    }
+
+    @Test
+    public void testFirmasGeneradas() {
+        for (int i = 1; i <= 5; i++) {
+            EcdsaSigner signer = new EcdsaSigner(BigInteger.valueOf(1000 + i).pow(9), i);
+            byte[] hash = HASH.clone();
+            hash[31] = (byte) i;
+            byte[] firma = signer.sign(hash);
+            EcdsaSignatureChecker checker = new EcdsaSignatureChecker(hash);
+            assertTrue(checker.verify(firma, signer.getPublica().encode(true)));
+            assertFalse(checker.verify(firma, COMPRIMIDA));
+        }
+    }
+
+    @Test
+    public void testCheckSigEnInterprete() {
+        List<Valor> script = new ArrayList<>();
+        script.add(new Valor(conSighash(FIRMA)));
+        script.add(new Valor(COMPRIMIDA));
+        script.add(new Valor(OpCode.OP_CHECKSIG));
+        assertTrue(new ScriptInterpreter(new EcdsaSignatureChecker(HASH)).execute(script, false).isExito());
+    }
+}
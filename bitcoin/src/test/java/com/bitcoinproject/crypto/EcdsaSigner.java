@@ -0,0 +1,65 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.crypto;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.Random;
+
+import com.scriptbitcoin.crypto.Secp256k1;
+
+/**
+ * Firma mensajes con ECDSA sobre secp256k1 para generar datos de prueba (no es para uso real:
+ * el nonce sale de un Random con semilla).
+ */
+public final class EcdsaSigner {
+    private final BigInteger privada;
+    private final Secp256k1.Punto publica;
+    private final Random random;
+
+    public EcdsaSigner(BigInteger privada, long semilla) {
+        this.privada = privada;
+        this.publica = Secp256k1.multiplyG(privada);
+        this.random = new Random(semilla);
+    }
+
+    public Secp256k1.Punto getPublica() {
+        return publica;
+    }
+
+    /**
+     * @param hash el hash de 32 bytes a firmar
+     * @return la firma en DER seguida del byte SIGHASH_ALL (0x01)
+     */
+    public byte[] sign(byte[] hash) {
+        BigInteger z = new BigInteger(1, hash);
+        while (true) {
+            BigInteger k = new BigInteger(256, random);
+            if (k.signum() == 0 || k.compareTo(Secp256k1.N) >= 0) {
+                continue;
+            }
+            BigInteger r = Secp256k1.multiplyG(k).getX().mod(Secp256k1.N);
+            BigInteger s = k.modInverse(Secp256k1.N).multiply(z.add(r.multiply(privada))).mod(Secp256k1.N);
+            if (r.signum() != 0 && s.signum() != 0) {
+                return der(r, s);
+            }
+        }
+    }
+
+    private static byte[] der(BigInteger r, BigInteger s) {
+        byte[] rb = r.toByteArray();
+        byte[] sb = s.toByteArray();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0x30);
+        out.write(4 + rb.length + sb.length);
+        out.write(0x02);
+        out.write(rb.length);
+        out.write(rb, 0, rb.length);
+        out.write(0x02);
+        out.write(sb.length);
+        out.write(sb, 0, sb.length);
+        out.write(0x01);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.crypto;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.EcdsaSignatureChecker;
+import com.scriptbitcoin.crypto.PublicKeyCache;
+import com.scriptbitcoin.crypto.Secp256k1;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase PublicKeyCache (JUnit 4).
+ */
+public class PublicKeyCacheTest {
+
+    private static final EcdsaSigner SIGNER = new EcdsaSigner(new BigInteger("123456789abcdef123456789abcdef", 16), 7);
+    private static final byte[] CLAVE = SIGNER.getPublica().encode(true);
+
+    private static byte[] hash(int i) {
+        byte[] hash = new byte[32];
+        hash[0] = (byte) i;
+        hash[31] = (byte) (i * 13);
+        return hash;
+    }
+
+    @Test
+    public void testClaveRepetidaSeReutiliza() {
+        PublicKeyCache cache = new PublicKeyCache(16);
+        Secp256k1.ClavePrecalculada primera = cache.get(CLAVE, 0, CLAVE.length);
+        Secp256k1.ClavePrecalculada segunda = cache.get(CLAVE, 0, CLAVE.length);
+        assertSame(primera, segunda);
+        assertEquals(1, cache.getCache().getAciertos());
+        assertEquals(SIGNER.getPublica(), primera.getPunto());
+    }
+
+    @Test
+    public void testClaveCalienteRecibeTablasPorTrozos() {
+        PublicKeyCache cache = new PublicKeyCache(16, 3);
+        assertFalse(cache.get(CLAVE, 0, CLAVE.length).isDividida());
+        assertFalse(cache.get(CLAVE, 0, CLAVE.length).isDividida());
+        assertTrue(cache.get(CLAVE, 0, CLAVE.length).isDividida());
+        assertTrue(cache.get(CLAVE, 0, CLAVE.length).isDividida());
+    }
+
+    @Test
+    public void testVerificarConClaveCaliente() {
+        PublicKeyCache cache = new PublicKeyCache(16, 2);
+        for (int i = 0; i < 6; i++) {
+            byte[] firma = SIGNER.sign(hash(i));
+            assertTrue(new EcdsaSignatureChecker(hash(i), cache).verify(firma, CLAVE));
+            assertFalse(new EcdsaSignatureChecker(hash(i + 100), cache).verify(firma, CLAVE));
+        }
+        assertTrue(cache.get(CLAVE, 0, CLAVE.length).isDividida());
+    }
+
+    @Test
+    public void testClaveInvalidaNoSeGuarda() {
+        PublicKeyCache cache = new PublicKeyCache(16);
+        try {
+            cache.get(new byte[] {0x02, 0x01}, 0, 2);
+            fail("Se esperaba excepción");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, cache.getCache().size());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.crypto;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.SignatureChecker;
+import com.scriptbitcoin.crypto.SignatureRegistry;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase SignatureRegistry (JUnit 4).
+ */
+public class SignatureRegistryTest {
+
+    private SignatureRegistry registry;
+
+    @Before
+    public void setup() {
+        registry = new SignatureRegistry();
+    }
+
+    @Test
+    public void testRegistrarYVerificar() {
+        registry.register("firma".getBytes(), "clave".getBytes());
+        assertTrue(registry.verify("firma".getBytes(), "clave".getBytes()));
+        assertFalse(registry.verify("firma".getBytes(), "otra".getBytes()));
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testVerificarRango() {
+        registry.register(new byte[] {2, 3}, new byte[] {9});
+        byte[] datos = {1, 2, 3, 9};
+        assertTrue(registry.verify(datos, 1, 2, datos, 3, 1));
+        assertFalse(registry.verify(datos, 0, 2, datos, 3, 1));
+    }
+
+    @Test
+    public void testSnapshotNoCambia() {
+        registry.register("a".getBytes(), "b".getBytes());
+        SignatureChecker snapshot = registry.snapshot();
+        registry.register("c".getBytes(), "d".getBytes());
+        registry.clear();
+
+        assertTrue(snapshot.verify("a".getBytes(), "b".getBytes()));
+        assertFalse(snapshot.verify("c".getBytes(), "d".getBytes()));
+        assertFalse(registry.verify("a".getBytes(), "b".getBytes()));
+    }
+
+    @Test
+    public void testNoneRechazaTodo() {
+        assertFalse(SignatureChecker.NONE.verify(new byte[0], new byte[0]));
+    }
+
+    @Test
+    public void testCrecerTabla() {
+        for (int i = 0; i < 200; i++) {
+            registry.register(new byte[] {(byte) i, 1}, new byte[] {(byte) (i * 7)});
+        }
+        assertEquals(200, registry.size());
+        for (int i = 0; i < 200; i++) {
+            assertTrue(registry.verify(new byte[] {(byte) i, 1}, new byte[] {(byte) (i * 7)}));
+            assertFalse(registry.verify(new byte[] {(byte) i, 2}, new byte[] {(byte) (i * 7)}));
+        }
+    }
+
+    @Test
+    public void testRegistroDuplicado() {
+        registry.register("a".getBytes(), "b".getBytes());
+        registry.register("a".getBytes(), "b".getBytes());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testLimiteEntreFirmaYClave() {
+        registry.register("ab".getBytes(), "c".getBytes());
+        assertFalse(registry.verify("a".getBytes(), "bc".getBytes()));
+    }
+
+    @Test
+    public void testArregloRegistradoSeCopia() {
+        byte[] sig = {1, 2};
+        registry.register(sig, new byte[] {3});
+        sig[0] = 9;
+        assertTrue(registry.verify(new byte[] {1, 2}, new byte[] {3}));
+    }
+}
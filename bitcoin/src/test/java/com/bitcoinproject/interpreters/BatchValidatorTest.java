@@ -0,0 +1,62 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.BatchResult;
+import com.scriptbitcoin.interpreters.BatchValidator;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase BatchValidator (JUnit 4).
+ */
+public class BatchValidatorTest {
+
+    @Test
+    public void testLoteVacio() {
+        BatchResult result = new BatchValidator(new ScriptInterpreter()).validate(Collections.<String>emptyList());
+        assertEquals(0, result.size());
+        assertEquals(0, result.getValidos());
+        assertEquals(0, result.getInvalidos());
+    }
+
+    @Test
+    public void testConteosYMotivos() {
+        BatchResult result = new BatchValidator(new ScriptInterpreter()).validate(Arrays.asList(
+            "OP_1", "OP_0", "OP_2 OP_3 OP_ADD OP_5 OP_EQUAL", "OP_0", "OP_NOEXISTE"));
+        assertEquals(2, result.getValidos());
+        assertEquals(3, result.getInvalidos());
+        assertEquals(Integer.valueOf(2), result.getMotivosFallo().get("Cima del stack falsa"));
+        assertTrue(result.getResultado(4).getMensaje().startsWith("Error de tokenizacion"));
+    }
+
+    @Test
+    public void testOrdenDeEntradaConservado() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<String> scripts = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                // los multiplos de 3 son falsos
+                scripts.add(i % 3 == 0 ? "OP_1 OP_2 OP_GREATERTHAN" : "OP_2 OP_1 OP_GREATERTHAN");
+            }
+            BatchResult result = new BatchValidator(new ScriptInterpreter(), pool).validate(scripts);
+            assertEquals(500, result.size());
+            for (int i = 0; i < 500; i++) {
+                assertEquals(i % 3 != 0, result.getResultado(i).isExito());
+            }
+            assertEquals(167, result.getInvalidos());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
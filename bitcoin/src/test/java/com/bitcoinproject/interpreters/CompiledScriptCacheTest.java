@@ -0,0 +1,105 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.CompiledScriptCache;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptProgram;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase CompiledScriptCache (JUnit 4).
+ */
+public class CompiledScriptCacheTest {
+
+    private static final String SCRIPT_A = "2 3 OP_ADD 5 OP_EQUAL";
+    private static final String SCRIPT_B = "1 OP_IF 7 OP_ELSE 0 OP_ENDIF";
+
+    private Path archivo;
+
+    @Before
+    public void setUp() throws IOException {
+        archivo = File.createTempFile("scripts", ".cache").toPath();
+        Files.delete(archivo);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Test
+    public void testSoloMemoria() {
+        CompiledScriptCache cache = new CompiledScriptCache(16);
+        ScriptProgram primero = cache.get(SCRIPT_A);
+        assertSame(primero, cache.get(SCRIPT_A));
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+        assertTrue(new ScriptInterpreter().execute(primero, false).isExito());
+    }
+
+    @Test
+    public void testExpulsionAlNivelFrio() throws IOException {
+        try (CompiledScriptCache cache = new CompiledScriptCache(1, archivo, 1 << 16)) {
+            cache.get(SCRIPT_A);
+            cache.get(SCRIPT_B);
+            assertEquals(1, cache.getExpulsiones());
+            assertEquals(1, cache.getEntradasFrias());
+
+            ScriptProgram leido = cache.get(SCRIPT_A);
+            assertEquals(1, cache.getAciertosFrios());
+            assertEquals(2, cache.getFallos());
+            assertTrue(new ScriptInterpreter().execute(leido, false).isExito());
+        }
+    }
+
+    @Test
+    public void testRecargaAlIniciar() throws IOException {
+        try (CompiledScriptCache cache = new CompiledScriptCache(8, archivo, 1 << 16)) {
+            cache.get(SCRIPT_A);
+            cache.get(SCRIPT_B);
+        }
+        try (CompiledScriptCache cache = new CompiledScriptCache(8, archivo, 1 << 16)) {
+            assertEquals(2, cache.getEntradasFrias());
+            assertEquals(7, new ScriptInterpreter().execute(cache.get(SCRIPT_B), false).getFinalStack().peek()[0]);
+            cache.get(SCRIPT_A);
+            assertEquals(2, cache.getAciertosFrios());
+            assertEquals(0, cache.getFallos());
+        }
+    }
+
+    @Test
+    public void testArchivoIncompatibleSeDescarta() throws IOException {
+        Files.write(archivo, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+        try (CompiledScriptCache cache = new CompiledScriptCache(8, archivo, 1 << 16)) {
+            assertEquals(0, cache.getEntradasFrias());
+            cache.get(SCRIPT_A);
+        }
+        try (CompiledScriptCache cache = new CompiledScriptCache(8, archivo, 1 << 16)) {
+            assertEquals(1, cache.getEntradasFrias());
+        }
+    }
+
+    @Test
+    public void testErroresNoSeGuardan() {
+        CompiledScriptCache cache = new CompiledScriptCache(8);
+        try {
+            cache.get("1 OP_NOEXISTE");
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Token no reconocido: OP_NOEXISTE", e.getMessage());
+        }
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.scriptbitcoin.interpreters.ScriptResult;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Comparación para las pruebas diferenciales del intérprete: un camino rápido (plantillas, optimizador,
+ * análisis de pila) debe terminar igual que el camino de referencia.
+ */
+final class MismoResultado {
+    private MismoResultado() {
+        // Clase utilitaria, no instanciable
+    }
+
+    /**
+     * Mismo éxito, mismo mensaje y misma pila final.
+     * @param script el script, para el mensaje de la falla
+     */
+    static void assertMismoResultado(String script, ScriptResult esperado, ScriptResult obtenido) {
+        assertEquals(script, esperado.isExito(), obtenido.isExito());
+        assertEquals(script, esperado.getMensaje(), obtenido.getMensaje());
+        assertEquals(script, Arrays.deepToString(esperado.getFinalStack().toArray()),
+            Arrays.deepToString(obtenido.getFinalStack().toArray()));
+    }
+
+    /**
+     * @return casos scripts de 1 a maxTokens tokens elegidos al azar del alfabeto (siempre los mismos para la semilla)
+     */
+    static List<String> scriptsAleatorios(String[] alfabeto, long semilla, int casos, int maxTokens) {
+        Random random = new Random(semilla);
+        List<String> scripts = new ArrayList<>(casos);
+        for (int caso = 0; caso < casos; caso++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + random.nextInt(maxTokens);
+            for (int i = 0; i < len; i++) {
+                sb.append(alfabeto[random.nextInt(alfabeto.length)]).append(' ');
+            }
+            scripts.add(sb.toString());
+        }
+        return scripts;
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.SignatureRegistry;
+import com.scriptbitcoin.interpreters.ScriptCompiler;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptProgram;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.utils.ScriptValores;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de las rutinas dedicadas para scripts estándar (JUnit 4): deben dar exactamente el mismo
+ * resultado que el camino genérico (la ejecución en streaming no usa plantillas).
+ */
+public class PlantillasTest {
+
+    private final ScriptValores tokenizer = new ScriptValores();
+    private final ScriptInterpreter interpreter;
+
+    public PlantillasTest() {
+        SignatureRegistry firmas = new SignatureRegistry();
+        firmas.register("sig".getBytes(), "pk".getBytes());
+        firmas.register("s1".getBytes(), "k1".getBytes());
+        firmas.register("s3".getBytes(), "k3".getBytes());
+        interpreter = new ScriptInterpreter(firmas.snapshot());
+    }
+
+    private void comparar(String script, boolean plantilla) {
+        List<Valor> valores = tokenizer.tokenize(script);
+        ScriptProgram programa = ScriptCompiler.compile(valores);
+        assertEquals(script, plantilla, programa.isPlantilla());
+        MismoResultado.assertMismoResultado(script, interpreter.execute(valores.iterator(), false),
+            interpreter.execute(programa, false));
+    }
+
+    @Test
+    public void testP2PKH() {
+        comparar("<sig> <pk> OP_DUP OP_HASH160 <HASH160:pk> OP_EQUALVERIFY OP_CHECKSIG", true);
+        comparar("<mala> <pk> OP_DUP OP_HASH160 <HASH160:pk> OP_EQUALVERIFY OP_CHECKSIG", true);
+        comparar("<sig> <pk> OP_DUP OP_HASH160 <HASH160:otra> OP_EQUALVERIFY OP_CHECKSIG", true);
+        comparar("<sig> <pk> OP_DUP OP_HASH160 <HASH160:pk> OP_EQUAL OP_CHECKSIG", false);
+    }
+
+    @Test
+    public void testP2SH() {
+        comparar("<script> OP_HASH160 <HASH160:script> OP_EQUAL", true);
+        comparar("<script> OP_HASH160 <HASH160:otro> OP_EQUAL", true);
+        comparar("OP_1 OP_HASH160 <HASH160:script> OP_EQUAL", false);
+    }
+
+    @Test
+    public void testMultisig() {
+        comparar("0 <s1> <s3> 2 <k1> <k2> <k3> 3 OP_CHECKMULTISIG", true);
+        comparar("OP_0 <s1> OP_1 <k1> <k2> OP_2 OP_CHECKMULTISIG", true);
+        comparar("0 <s3> <s1> 2 <k1> <k2> <k3> 3 OP_CHECKMULTISIG", true);
+        comparar("0 <s1> <s9> 2 <k1> <k2> 2 OP_CHECKMULTISIG", true);
+        // M > N, cuentas que no cuadran o sin dummy: camino generico
+        comparar("0 <s1> <s3> 3 <k1> <k2> 2 OP_CHECKMULTISIG", false);
+        comparar("<s1> 1 <k1> 1 OP_CHECKMULTISIG", false);
+        comparar("0 0 <s1> 1 <k1> 1 OP_CHECKMULTISIG", false);
+        // un opcode en el lugar de la ultima clave tampoco es la plantilla
+        comparar("OP_0 <sig> <sig2> 2 <pk> <pk> OP_DUP 3 OP_CHECKMULTISIG", false);
+        comparar("OP_0 <sig> 1 <pk> OP_ADD 2 OP_CHECKMULTISIG", false);
+    }
+
+    @Test
+    public void testTraceUsaCaminoGenerico() {
+        ScriptResult result = interpreter.execute(
+            tokenizer.tokenize("<sig> <pk> OP_DUP OP_HASH160 <HASH160:pk> OP_EQUALVERIFY OP_CHECKSIG"), true);
+        assertTrue(result.getMensaje(), result.isExito());
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.interpreters.ScriptCompiler;
+import com.scriptbitcoin.interpreters.ScriptProgram;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.Valor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ScriptCompiler (JUnit 4).
+ */
+public class ScriptCompilerTest {
+
+    private static List<Valor> script(OpCode... ops) {
+        List<Valor> valores = new ArrayList<>();
+        for (OpCode op : ops) {
+            valores.add(new Valor(op));
+        }
+        return valores;
+    }
+
+    @Test
+    public void testSaltosIfElseEndIf() {
+        ScriptProgram programa = ScriptCompiler.compile(script(
+            OpCode.OP_1, OpCode.OP_IF, OpCode.OP_2, OpCode.OP_ELSE, OpCode.OP_3, OpCode.OP_ENDIF));
+        assertEquals(3, programa.getSalto(1));
+        assertEquals(5, programa.getSalto(3));
+        assertEquals(-1, programa.getSalto(0));
+        assertEquals(-1, programa.getSalto(5));
+    }
+
+    @Test
+    public void testSaltosAnidados() {
+        ScriptProgram programa = ScriptCompiler.compile(script(
+            OpCode.OP_0, OpCode.OP_IF, OpCode.OP_1, OpCode.OP_IF, OpCode.OP_ENDIF, OpCode.OP_ENDIF));
+        assertEquals(5, programa.getSalto(1));
+        assertEquals(4, programa.getSalto(3));
+    }
+
+    @Test
+    public void testElseSinIf() {
+        try {
+            ScriptCompiler.compile(script(OpCode.OP_1, OpCode.OP_ELSE));
+            fail("Debió lanzar excepción OP_ELSE");
+        } catch (ExceptionsInterpreter e) {
+            assertTrue(e.getMessage().contains("OP_ELSE"));
+        }
+    }
+
+    @Test
+    public void testEndIfSinIf() {
+        try {
+            ScriptCompiler.compile(script(OpCode.OP_1, OpCode.OP_ENDIF));
+            fail("Debió lanzar excepción OP_ENDIF");
+        } catch (ExceptionsInterpreter e) {
+            assertTrue(e.getMessage().contains("OP_ENDIF"));
+        }
+    }
+
+    @Test
+    public void testIfSinEndIf() {
+        try {
+            ScriptCompiler.compile(script(OpCode.OP_1, OpCode.OP_IF, OpCode.OP_1));
+            fail("Debió lanzar excepción por falta de OP_ENDIF");
+        } catch (ExceptionsInterpreter e) {
+            assertTrue(e.getMessage().contains("OP_ENDIF"));
+        }
+    }
+}
@@ -10,11 +10,16 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.scriptbitcoin.crypto.SignatureChecker;
+import com.scriptbitcoin.crypto.SignatureRegistry;
+import com.scriptbitcoin.interpreters.ExecutionListener;
 import com.scriptbitcoin.interpreters.ScriptInterpreter;
 import com.scriptbitcoin.interpreters.ScriptResult;
 import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.model.Valor;
-import com.scriptbitcoin.operations.Firmas;
+import com.scriptbitcoin.utils.ScriptValores;
+import com.scriptbitcoin.utils.TraceAplication;
 import com.scriptbitcoin.utils.Utiles;
 
 import static org.junit.Assert.*;
@@ -29,7 +34,6 @@ public class ScriptInterpreterTest {
     @Before
     public void setup() {
         interpreter = new ScriptInterpreter();
-        Firmas.clearSignatures();
     }
 
     @Test
@@ -194,16 +198,194 @@ public class ScriptInterpreterTest {
     }
 
     @Test
-    public void testGetStack_AntesDeEjecutar() {
-        assertNull(interpreter.getStack());
+    public void testScript_IF_RamaFalsaSeSalta() {
+        List<Valor> script = new ArrayList<>();
+        script.add(new Valor(OpCode.OP_0));
+        script.add(new Valor(OpCode.OP_IF));
+        script.add(new Valor(OpCode.OP_RETURN));
+        script.add(new Valor(OpCode.OP_ELSE));
+        script.add(new Valor(OpCode.OP_7));
+        script.add(new Valor(OpCode.OP_ENDIF));
+        ScriptResult result = interpreter.execute(script, false);
+        assertTrue(result.isExito());
+        assertEquals(7, Utiles.bytesToInt(result.getFinalStack().peek()));
+    }
+
+    @Test
+    public void testScript_IF_AnidadoDentroDeRamaFalsa() {
+        List<Valor> script = new ArrayList<>();
+        script.add(new Valor(OpCode.OP_0));
+        script.add(new Valor(OpCode.OP_IF));
+        script.add(new Valor(OpCode.OP_1));
+        script.add(new Valor(OpCode.OP_IF));
+        script.add(new Valor(OpCode.OP_RETURN));
+        script.add(new Valor(OpCode.OP_ENDIF));
+        script.add(new Valor(OpCode.OP_ELSE));
+        script.add(new Valor(OpCode.OP_3));
+        script.add(new Valor(OpCode.OP_ENDIF));
+        ScriptResult result = interpreter.execute(script, false);
+        assertTrue(result.isExito());
+        assertEquals(3, Utiles.bytesToInt(result.getFinalStack().peek()));
+    }
+
+    @Test
+    public void testScript_IF_SinEndIf_Falla() {
+        List<Valor> script = new ArrayList<>();
+        script.add(new Valor(OpCode.OP_1));
+        script.add(new Valor(OpCode.OP_IF));
+        script.add(new Valor(OpCode.OP_1));
+        ScriptResult result = interpreter.execute(script, false);
+        assertFalse(result.isExito());
+        assertTrue(result.getMensaje().contains("OP_ENDIF"));
     }
 
     @Test
-    public void testGetStack_DespuesDeEjecutar() {
+    public void testReutilizarInterprete_NoCompartePila() {
         List<Valor> script = new ArrayList<>();
         script.add(new Valor(OpCode.OP_1));
-        interpreter.execute(script, false);
-        assertNotNull(interpreter.getStack());
-        assertFalse(interpreter.getStack().isEmpty());
+        script.add(new Valor(OpCode.OP_2));
+        ScriptResult primero = interpreter.execute(script, false);
+        ScriptResult segundo = interpreter.execute(script, false);
+        assertEquals(2, primero.getFinalStack().size());
+        assertEquals(2, segundo.getFinalStack().size());
+        assertNotSame(primero.getFinalStack(), segundo.getFinalStack());
+    }
+
+    @Test
+    public void testInterpreteCompartidoEntreHilos() throws Exception {
+        final List<Valor> script = new ArrayList<>();
+        script.add(new Valor(OpCode.OP_2));
+        script.add(new Valor(OpCode.OP_3));
+        script.add(new Valor(OpCode.OP_ADD));
+        script.add(new Valor(OpCode.OP_5));
+        script.add(new Valor(OpCode.OP_EQUAL));
+        final boolean[] resultados = new boolean[4];
+        Thread[] hilos = new Thread[resultados.length];
+        for (int h = 0; h < hilos.length; h++) {
+            final int indice = h;
+            hilos[h] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    boolean ok = true;
+                    for (int i = 0; i < 200; i++) {
+                        ok &= interpreter.execute(script, false).isExito();
+                    }
+                    resultados[indice] = ok;
+                }
+            });
+            hilos[h].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        for (boolean ok : resultados) {
+            assertTrue(ok);
+        }
+    }
+
+    private static List<Valor> scriptCheckSig(int sig, int pubKey) {
+        List<Valor> script = new ArrayList<>();
+        script.add(new Valor(Utiles.intToBytes(sig)));
+        script.add(new Valor(Utiles.intToBytes(pubKey)));
+        script.add(new Valor(OpCode.OP_CHECKSIG));
+        return script;
+    }
+
+    @Test
+    public void testCheckSig_SinFirmasRegistradas_Falla() {
+        ScriptResult result = interpreter.execute(scriptCheckSig(7, 7), false);
+        assertFalse(result.isExito());
+    }
+
+    @Test
+    public void testCheckSig_VerificadorPorEjecucion() {
+        SignatureRegistry registroA = new SignatureRegistry();
+        registroA.register(Utiles.intToBytes(7), Utiles.intToBytes(7));
+        SignatureRegistry registroB = new SignatureRegistry();
+        registroB.register(Utiles.intToBytes(8), Utiles.intToBytes(8));
+
+        ScriptInterpreter compartido = new ScriptInterpreter(registroA);
+        assertTrue(compartido.execute(scriptCheckSig(7, 7), false).isExito());
+        assertFalse(compartido.execute(scriptCheckSig(8, 8), false).isExito());
+        assertTrue(compartido.execute(scriptCheckSig(8, 8), false, registroB).isExito());
+        assertFalse(compartido.execute(scriptCheckSig(7, 7), false, SignatureChecker.NONE).isExito());
+    }
+
+    /**
+     * Listener que anota cada llamada como texto.
+     */
+    private static class Registro implements ExecutionListener {
+        final List<String> eventos = new ArrayList<>();
+
+        @Override
+        public void onTokenStart(int index, Valor valor, ScriptStack stack) {
+            eventos.add("inicio " + index + " " + valor + " " + stack.size());
+        }
+
+        @Override
+        public void onTokenEnd(int index, Valor valor, ScriptStack stack) {
+            eventos.add("fin " + index + " " + valor + " " + stack.size());
+        }
+
+        @Override
+        public void onFailure(int index, Valor valor, String mensaje, ScriptStack stack) {
+            eventos.add("fallo " + index + " " + valor + " " + mensaje);
+        }
+
+        @Override
+        public void onResult(ScriptResult resultado) {
+            eventos.add("resultado " + resultado.isExito());
+        }
+    }
+
+    @Test
+    public void testListener_RecibeCadaPasoYElResultado() {
+        Registro registro = new Registro();
+        List<Valor> script = new ScriptValores().tokenize("0 OP_IF 5 OP_ELSE 2 OP_ENDIF OP_1 OP_ADD");
+        ScriptResult result = interpreter.execute(script, registro);
+        assertTrue(result.isExito());
+        // la rama del IF no se ejecuta, asi que sus tokens no se avisan
+        assertEquals("[inicio 0 DATA[] 0, fin 0 DATA[] 1, inicio 1 OP_IF 1, fin 1 OP_IF 0, inicio 3 OP_ELSE 0, fin 3 OP_ELSE 0, "
+                + "inicio 4 DATA[02] 0, fin 4 DATA[02] 1, inicio 5 OP_ENDIF 1, fin 5 OP_ENDIF 1, inicio 6 OP_1 1, fin 6 OP_1 2, "
+                + "inicio 7 OP_ADD 2, fin 7 OP_ADD 1, resultado true]", registro.eventos.toString());
+    }
+
+    @Test
+    public void testListener_Fallo() {
+        Registro registro = new Registro();
+        ScriptResult result = interpreter.execute(new ScriptValores().tokenize("OP_1 OP_ADD"), registro);
+        assertFalse(result.isExito());
+        assertEquals("fallo 1 OP_ADD " + result.getMensaje(), registro.eventos.get(3));
+        assertEquals("resultado false", registro.eventos.get(4));
+        assertEquals(5, registro.eventos.size());
+    }
+
+    @Test
+    public void testListener_MismoResultadoQueSinListener() {
+        String[] scripts = {"2 3 OP_ADD 5 OP_EQUAL", "OP_1 OP_ADD", "1 OP_IF 0 OP_ENDIF", "OP_DUP", "OP_0 OP_NOTIF OP_1 OP_ENDIF"};
+        ScriptValores lexer = new ScriptValores();
+        for (String script : scripts) {
+            ScriptResult sinListener = interpreter.execute(lexer.tokenize(script), false);
+            ScriptResult conListener = interpreter.execute(lexer.tokenize(script), new ExecutionListener() { });
+            assertEquals(script, sinListener.isExito(), conListener.isExito());
+            assertEquals(script, sinListener.getMensaje(), conListener.getMensaje());
+        }
+    }
+
+    @Test
+    public void testListener_Streaming() {
+        Registro registro = new Registro();
+        ScriptResult result = interpreter.execute(new ScriptValores().tokenize("OP_1 OP_IF").iterator(), registro);
+        assertFalse(result.isExito());
+        assertEquals("fallo -1 null " + result.getMensaje(), registro.eventos.get(4));
+        assertEquals("resultado false", registro.eventos.get(5));
+    }
+
+    @Test
+    public void testTrace_EsUnListener() {
+        TraceAplication trace = new TraceAplication();
+        interpreter.execute(new ScriptValores().tokenize("2 3 OP_ADD"), trace);
+        assertEquals(3, trace.getStepCount());
+        assertTrue(trace.getTraceLog().get(2).contains("OP_ADD"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.crypto.DigestHashProvider;
+import com.scriptbitcoin.crypto.SignatureChecker;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.utils.ScriptValores;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ScriptOptimizer (JUnit 4).
+ */
+public class ScriptOptimizerTest {
+
+    private final ScriptValores tokenizer = new ScriptValores();
+    private final ScriptInterpreter interpreter = new ScriptInterpreter();
+
+    private String optimizar(String script) {
+        return interpreter.optimize(tokenizer.tokenize(script)).toString();
+    }
+
+    private String texto(String script) {
+        return tokenizer.tokenize(script).toString();
+    }
+
+    @Test
+    public void testPlegadoDeConstantes() {
+        assertEquals(texto("7"), optimizar("3 4 OP_ADD"));
+        assertEquals(texto("12 OP_DUP"), optimizar("3 4 OP_ADD 5 OP_ADD OP_DUP"));
+        assertEquals(texto("OP_DUP"), optimizar("2 OP_2 OP_EQUAL OP_VERIFY OP_DUP"));
+        assertEquals(texto("<SHA256:abc>"), optimizar("<abc> OP_SHA256"));
+        // con otras funciones hash el resultado plegado es otro
+        ScriptInterpreter real = new ScriptInterpreter(SignatureChecker.NONE, DigestHashProvider.INSTANCE);
+        assertEquals(texto("0xba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"),
+            real.optimize(tokenizer.tokenize("<abc> OP_SHA256")).toString());
+    }
+
+    @Test
+    public void testOperacionesQueFallanNoSePliegan() {
+        assertEquals(texto("0 OP_VERIFY"), optimizar("0 OP_VERIFY"));
+        assertEquals(texto("1 2 OP_NUMEQUALVERIFY"), optimizar("1 2 OP_NUMEQUALVERIFY"));
+        assertEquals(texto("OP_DUP OP_ADD"), optimizar("OP_DUP OP_ADD"));
+    }
+
+    @Test
+    public void testFusionEqualVerify() {
+        List<Valor> valores = interpreter.optimize(tokenizer.tokenize("OP_DUP OP_EQUAL OP_VERIFY"));
+        assertEquals(2, valores.size());
+        assertEquals(OpCode.OP_EQUAL_OP_VERIFY, valores.get(1).getOpCode());
+        // conserva el mensaje de OP_VERIFY (OP_EQUALVERIFY tendria otro)
+        ScriptResult result = interpreter.execute(interpreter.optimize(tokenizer.tokenize("<a> <b> OP_EQUAL OP_VERIFY")), false);
+        assertEquals("OP_VERIFY: el valor en la cima es falso", result.getMensaje());
+        // el opcode interno no existe en el texto
+        try {
+            tokenizer.tokenize("OP_EQUAL_OP_VERIFY");
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Token no reconocido: OP_EQUAL_OP_VERIFY", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testRamasMuertas() {
+        assertEquals(texto("OP_DUP 5"), optimizar("OP_DUP OP_1 OP_IF 5 OP_ELSE 6 OP_ENDIF"));
+        assertEquals(texto("OP_DUP 6"), optimizar("OP_DUP 0 OP_IF 5 OP_ELSE 6 OP_ENDIF"));
+        assertEquals(texto("OP_DUP 7"), optimizar("OP_DUP 1 2 OP_LESSTHAN OP_NOTIF 5 OP_ELSE 0 OP_IF 9 OP_ENDIF 7 OP_ENDIF"));
+        assertEquals(texto("1 3"), optimizar("1 1 OP_IF 3 OP_ELSE 4 OP_ELSE OP_ENDIF"));
+        // desbalanceado: sin cambios, el error de compilacion es el mismo
+        assertEquals(texto("1 OP_IF 2"), optimizar("1 OP_IF 2"));
+    }
+
+    @Test
+    public void testMismoResultadoQueSinOptimizar() {
+        String[] alfabeto = {"0", "1", "2", "3", "-1", "OP_0", "OP_1", "OP_16", "<a>", "0x80", "OP_DUP", "OP_DROP",
+            "OP_SWAP", "OP_OVER", "OP_ADD", "OP_SUB", "OP_EQUAL", "OP_EQUALVERIFY", "OP_VERIFY", "OP_NOT",
+            "OP_BOOLAND", "OP_BOOLOR", "OP_LESSTHAN", "OP_GREATERTHANOREQUAL", "OP_NUMEQUALVERIFY", "OP_SHA256",
+            "OP_HASH160", "OP_IF", "OP_NOTIF", "OP_ELSE", "OP_ENDIF", "OP_RETURN", "2147483647"};
+        for (String script : MismoResultado.scriptsAleatorios(alfabeto, 21, 3000, 12)) {
+            List<Valor> valores = tokenizer.tokenize(script);
+            MismoResultado.assertMismoResultado(script, interpreter.execute(valores, false),
+                interpreter.execute(interpreter.optimize(valores), false));
+        }
+    }
+}
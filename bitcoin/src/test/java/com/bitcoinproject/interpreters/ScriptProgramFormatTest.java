@@ -0,0 +1,137 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.ScriptCompiler;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptProgram;
+import com.scriptbitcoin.interpreters.ScriptProgramFormat;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.utils.ScriptValores;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ScriptProgramFormat (JUnit 4).
+ */
+public class ScriptProgramFormatTest {
+
+    private final ScriptValores tokenizer = new ScriptValores();
+
+    private ScriptProgram compilar(String script) {
+        return ScriptCompiler.compile(tokenizer.tokenize(script));
+    }
+
+    @Test
+    public void testIdaYVuelta() throws IOException {
+        ScriptProgram original = compilar("1 OP_IF <sig> 0x0a0b OP_DROP OP_ELSE 0 OP_NOTIF 300 OP_ENDIF OP_ENDIF OP_DUP");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ScriptProgramFormat.write(original, out);
+        assertArrayEquals(ScriptProgramFormat.write(original), out.toByteArray());
+
+        ScriptProgram leido = ScriptProgramFormat.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(original.getValores().toString(), leido.getValores().toString());
+        for (int i = 0; i < original.size(); i++) {
+            assertEquals(original.getSalto(i), leido.getSalto(i));
+        }
+    }
+
+    @Test
+    public void testEjecutarProgramaLeido() {
+        ScriptProgram programa = ScriptProgramFormat.read(ScriptProgramFormat.write(compilar("2 3 OP_ADD 5 OP_EQUAL OP_IF 7 OP_ELSE 0 OP_ENDIF")));
+        ScriptResult result = new ScriptInterpreter().execute(programa, false);
+        assertTrue(result.getMensaje(), result.isExito());
+    }
+
+    @Test
+    public void testCompatibilidad() {
+        byte[] data = ScriptProgramFormat.write(compilar("OP_1"));
+        assertTrue(ScriptProgramFormat.isCompatible(data));
+        data[4] = (byte) (ScriptProgramFormat.VERSION + 1);
+        assertFalse(ScriptProgramFormat.isCompatible(data));
+        try {
+            ScriptProgramFormat.read(data);
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("incompatible"));
+        }
+        assertFalse(ScriptProgramFormat.isCompatible(new byte[] {'B', 'S'}));
+    }
+
+    @Test
+    public void testDatosCorruptos() {
+        byte[] data = ScriptProgramFormat.write(compilar("1 OP_IF 2 OP_ENDIF"));
+        // el salto del OP_IF (ultimo byte antes de "2") apunta ahora al dato en lugar del OP_ENDIF
+        int salto = data.length - 5;
+        assertEquals(2, data[salto]);
+        data[salto] = 1;
+        try {
+            ScriptProgramFormat.read(data);
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Formato de script compilado invalido: la tabla de saltos no corresponde a los OP_IF/OP_ELSE/OP_ENDIF", e.getMessage());
+        }
+        byte[] truncado = ScriptProgramFormat.write(compilar("0x0102030405"));
+        try {
+            ScriptProgramFormat.read(Arrays.copyOf(truncado, truncado.length - 1));
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Formato de script compilado invalido: dato truncado", e.getMessage());
+        }
+    }
+
+    private static int buscar(byte[] data, int code, int desde) {
+        for (int i = desde; i < data.length; i++) {
+            if ((data[i] & 0xff) == code) {
+                return i;
+            }
+        }
+        throw new AssertionError("No se encontro 0x" + Integer.toHexString(code));
+    }
+
+    private static void assertInvalido(byte[] data) {
+        try {
+            ScriptProgramFormat.read(data);
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Formato de script compilado invalido: "));
+        }
+    }
+
+    @Test
+    public void testTablaDeSaltosDistintaALaDelCompilador() {
+        // el OP_IF interno salta al OP_ENDIF externo en lugar del suyo
+        byte[] data = ScriptProgramFormat.write(compilar("1 OP_IF 0 OP_IF 2 OP_ENDIF OP_ENDIF"));
+        int interno = buscar(data, OpCode.OP_IF.getCode(), buscar(data, OpCode.OP_IF.getCode(), 0) + 2);
+        assertEquals(2, data[interno + 1]);
+        data[interno + 1] = 3;
+        assertInvalido(data);
+
+        // un OP_ENDIF sin OP_IF (no tiene salto propio, pero tampoco bloque que cerrar)
+        byte[] suelto = ScriptProgramFormat.write(compilar("1 OP_DUP OP_DROP"));
+        suelto[buscar(suelto, OpCode.OP_DUP.getCode(), 0)] = (byte) OpCode.OP_ENDIF.getCode();
+        assertInvalido(suelto);
+
+        // un OP_IF que queda sin cerrar
+        byte[] abierto = ScriptProgramFormat.write(compilar("1 OP_IF 2 OP_ENDIF"));
+        abierto[abierto.length - 1] = (byte) OpCode.OP_DUP.getCode();
+        assertInvalido(abierto);
+    }
+
+    @Test
+    public void testOpcodeInternoDelOptimizador() {
+        ScriptInterpreter interpreter = new ScriptInterpreter();
+        ScriptProgram original = ScriptCompiler.compile(interpreter.optimize(tokenizer.tokenize("OP_DUP OP_EQUAL OP_VERIFY")));
+        ScriptProgram leido = ScriptProgramFormat.read(ScriptProgramFormat.write(original));
+        assertEquals(original.getValores().toString(), leido.getValores().toString());
+    }
+}
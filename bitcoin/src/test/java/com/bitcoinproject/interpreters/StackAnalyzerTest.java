@@ -0,0 +1,98 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.interpreters;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.ExecutionListener;
+import com.scriptbitcoin.interpreters.ScriptCompiler;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptProgram;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.utils.ScriptValores;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests del análisis estático de pila (JUnit 4).
+ */
+public class StackAnalyzerTest {
+
+    private final ScriptValores tokenizer = new ScriptValores();
+    private final ScriptInterpreter interpreter = new ScriptInterpreter();
+
+    private ScriptProgram compilar(String script) {
+        return ScriptCompiler.compile(tokenizer.tokenize(script));
+    }
+
+    @Test
+    public void testScriptSeguro() {
+        ScriptProgram programa = compilar("1 2 OP_ADD OP_DUP OP_SWAP OP_EQUAL");
+        assertTrue(programa.isPilaSegura());
+        assertEquals(-1, programa.getIndiceRechazo());
+        assertTrue(compilar("1 OP_IF 2 3 OP_ELSE 4 5 OP_ENDIF OP_ADD").isPilaSegura());
+    }
+
+    @Test
+    public void testFalloSeguro() {
+        ScriptProgram programa = compilar("<sig> <pk> OP_CHECKSIG OP_ADD");
+        assertFalse(programa.isPilaSegura());
+        assertEquals(3, programa.getIndiceRechazo());
+        ScriptResult result = interpreter.execute(programa, false);
+        assertFalse(result.isExito());
+        assertEquals("OP_ADD: se necesitan al menos 2 elementos", result.getMensaje());
+        // la pila final es la misma que sin el analisis: la del momento en que falla OP_ADD
+        assertEquals(1, result.getFinalStack().size());
+        MismoResultado.assertMismoResultado("con listener", result, interpreter.execute(programa, new ExecutionListener() { }));
+        assertEquals(0, compilar("OP_IF 1 OP_ENDIF").getIndiceRechazo());
+    }
+
+    @Test
+    public void testSinRechazoSiAntesPuedeFallar() {
+        // OP_VERIFY falla primero con otro mensaje
+        ScriptProgram programa = compilar("0 OP_VERIFY OP_ADD");
+        assertEquals(-1, programa.getIndiceRechazo());
+        assertFalse(programa.isPilaSegura());
+        assertEquals("OP_VERIFY: el valor en la cima es falso", interpreter.execute(programa, false).getMensaje());
+        // dentro de una rama la instruccion puede no ejecutarse
+        assertEquals(-1, compilar("0 OP_IF OP_ADD OP_ENDIF 1").getIndiceRechazo());
+    }
+
+    @Test
+    public void testRamasConDistintaAltura() {
+        ScriptProgram programa = compilar("1 OP_DUP OP_IF 2 OP_ELSE OP_DROP OP_ENDIF OP_ADD");
+        assertFalse(programa.isPilaSegura());
+        assertEquals(-1, programa.getIndiceRechazo());
+        assertEquals(-1, compilar("1 OP_IF 2 OP_ELSE OP_RETURN OP_ENDIF OP_ADD").getIndiceRechazo());
+        // multifirma depende de los datos
+        assertFalse(compilar("0 <s1> 1 <k1> 1 OP_CHECKMULTISIG").isPilaSegura());
+    }
+
+    @Test
+    public void testMismoResultadoQueSinAnalisis() {
+        String[] alfabeto = {"0", "1", "2", "<a>", "OP_DUP", "OP_DROP", "OP_SWAP", "OP_OVER", "OP_ADD", "OP_SUB",
+            "OP_EQUAL", "OP_EQUALVERIFY", "OP_VERIFY", "OP_NOT", "OP_BOOLOR", "OP_LESSTHAN", "OP_NUMEQUALVERIFY",
+            "OP_HASH256", "OP_CHECKSIG", "OP_IF", "OP_NOTIF", "OP_ELSE", "OP_ENDIF", "OP_RETURN"};
+        int seguros = 0;
+        for (String script : MismoResultado.scriptsAleatorios(alfabeto, 22, 3000, 10)) {
+            List<Valor> valores = tokenizer.tokenize(script);
+            ScriptProgram programa;
+            try {
+                programa = ScriptCompiler.compile(valores);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            if (programa.isPilaSegura()) {
+                seguros++;
+            }
+            // la ejecucion en streaming no usa el analisis
+            MismoResultado.assertMismoResultado(script, interpreter.execute(valores.iterator(), false),
+                interpreter.execute(programa, false));
+        }
+        assertTrue(seguros > 100);
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.model;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptBytes;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.utils.Utiles;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ScriptBytes (JUnit 4).
+ */
+public class ScriptBytesTest {
+
+    @Test
+    public void testConstantesCanonicas() {
+        assertSame(ScriptBytes.EMPTY, ScriptBytes.ofInt(0));
+        assertSame(ScriptBytes.TRUE, ScriptBytes.ofInt(1));
+        assertSame(ScriptBytes.smallNumber(16), ScriptBytes.ofInt(16));
+        assertArrayEquals(Utiles.intToBytes(-1), ScriptBytes.ofInt(-1).toByteArray());
+        assertArrayEquals(Utiles.intToBytes(1000), ScriptBytes.ofInt(1000).toByteArray());
+    }
+
+    @Test
+    public void testOf_CopiaDefensiva() {
+        byte[] data = {1, 2, 3};
+        ScriptBytes value = ScriptBytes.of(data);
+        data[0] = 9;
+        assertEquals(1, value.byteAt(0));
+    }
+
+    @Test
+    public void testWrap_RangoIgualQueCopia() {
+        byte[] data = {9, 1, 2, 3, 9};
+        ScriptBytes slice = ScriptBytes.wrap(data, 1, 3);
+        ScriptBytes copy = ScriptBytes.of(new byte[] {1, 2, 3});
+        assertEquals(copy, slice);
+        assertEquals(copy.hashCode(), slice.hashCode());
+        assertEquals("010203", slice.toHex());
+    }
+
+    @Test
+    public void testValor_GetBytesSinCopia() {
+        ScriptBytes value = ScriptBytes.of(new byte[] {5});
+        Valor valor = new Valor(value);
+        assertSame(value, valor.getBytes());
+        assertArrayEquals(new byte[] {5}, valor.getData());
+        assertNull(new Valor(OpCode.OP_DUP).getBytes());
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.model;
+
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.utils.Utiles;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ScriptStack (JUnit 4).
+ */
+public class ScriptStackTest {
+
+    private ScriptStack stack;
+
+    @Before
+    public void setup() {
+        stack = new ScriptStack();
+    }
+
+    @Test
+    public void testPushPop_LIFO() {
+        stack.push("a".getBytes());
+        stack.push("bb".getBytes());
+        assertEquals(2, stack.size());
+        assertArrayEquals("bb".getBytes(), stack.pop());
+        assertArrayEquals("a".getBytes(), stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void testSwap_LongitudesDistintas() {
+        stack.push("uno".getBytes());
+        stack.push("dos_largo".getBytes());
+        stack.swap();
+        assertArrayEquals("uno".getBytes(), stack.peek(0));
+        assertArrayEquals("dos_largo".getBytes(), stack.peek(1));
+        stack.drop();
+        stack.push("x".getBytes());
+        assertArrayEquals("dos_largo".getBytes(), stack.peek(1));
+    }
+
+    @Test
+    public void testPushCopyOf() {
+        stack.push("a".getBytes());
+        stack.push("b".getBytes());
+        stack.pushCopyOf(1);
+        assertEquals(3, stack.size());
+        assertArrayEquals("a".getBytes(), stack.peek());
+    }
+
+    @Test
+    public void testNip() {
+        stack.push("base".getBytes());
+        stack.push("segundo".getBytes());
+        stack.push("cima".getBytes());
+        stack.nip();
+        assertEquals(2, stack.size());
+        assertArrayEquals("cima".getBytes(), stack.peek(0));
+        assertArrayEquals("base".getBytes(), stack.peek(1));
+    }
+
+    @Test
+    public void testPushInt_MismaCodificacion() {
+        int[] valores = {0, 1, -1, 127, 128, -128, 255, 256, -32768, 100000, Integer.MAX_VALUE};
+        for (int v : valores) {
+            stack.pushInt(v);
+            assertArrayEquals(Utiles.intToBytes(v), stack.peek());
+            assertEquals(v, stack.popInt());
+        }
+    }
+
+    @Test
+    public void testNumerico_NoOcupaArenaHastaMaterializar() {
+        stack.push("abc".getBytes());
+        stack.pushInt(300);
+        stack.push("xy".getBytes());
+        assertTrue(stack.isNumeric(1));
+        stack.ensureBytes(3);
+        assertFalse(stack.isNumeric(1));
+        assertArrayEquals(Utiles.intToBytes(300), stack.peek(1));
+        assertArrayEquals("xy".getBytes(), stack.peek(0));
+        assertArrayEquals("abc".getBytes(), stack.peek(2));
+        assertEquals(2, stack.length(0));
+    }
+
+    @Test
+    public void testBytesEqual_NumericoContraBytes() {
+        stack.push(Utiles.intToBytes(7));
+        stack.pushInt(7);
+        assertTrue(stack.bytesEqual(0, 1));
+        stack.pushInt(0);
+        stack.push(new byte[0]);
+        assertTrue(stack.bytesEqual(0, 1));
+        assertFalse(stack.bytesEqual(0, 2));
+    }
+
+    @Test
+    public void testSwap_NumericoYBytes() {
+        stack.pushInt(5);
+        stack.push("datos".getBytes());
+        stack.swap();
+        assertEquals(5, stack.getInt(0));
+        assertArrayEquals("datos".getBytes(), stack.peek(1));
+    }
+
+    @Test
+    public void testAccesoresSinValidar() {
+        stack.push("ab".getBytes());
+        stack.pushInt(3);
+        stack.pushCopyOfUnchecked(1);
+        stack.swapUnchecked();
+        assertEquals(3, stack.popIntUnchecked());
+        assertTrue(stack.bytesEqualUnchecked(0, 1));
+        stack.dropUnchecked(2);
+        assertTrue(stack.isEmpty());
+        stack.pushBool(true);
+        assertTrue(stack.popBoolUnchecked());
+        // la version con validacion sigue rechazando la pila vacia
+        try {
+            stack.popInt();
+            fail("Se esperaba NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            assertEquals("Pila sin elemento en la profundidad 0", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCrecimiento() {
+        for (int i = 0; i < 1000; i++) {
+            stack.push(new byte[] {(byte) i, 1, 2, 3});
+        }
+        assertEquals(1000, stack.size());
+        assertEquals((byte) 999, stack.peek()[0]);
+        assertEquals((byte) 0, stack.peek(999)[0]);
+    }
+
+    @Test
+    public void testToDeque_CimaPrimero() {
+        stack.pushInt(1);
+        stack.pushInt(2);
+        Deque<byte[]> deque = stack.toDeque();
+        assertEquals(2, Utiles.bytesToInt(deque.peek()));
+        assertEquals(2, deque.size());
+    }
+}
@@ -4,13 +4,12 @@
  */
 package com.bitcoinproject.operations;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.operations.Arithmetic;
 import com.scriptbitcoin.utils.Utiles;
 
@@ -22,11 +21,11 @@ import static org.junit.Assert.*;
  */
 public class ArithmeticTest {
 
-    private Deque<byte[]> stack;
+    private ScriptStack stack;
 
     @Before
     public void setup() {
-        stack = new ArrayDeque<>();
+        stack = new ScriptStack();
     }
 
     // ===================== OP_ADD =====================
@@ -5,13 +5,12 @@
 package com.bitcoinproject.operations;
 
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayDeque;
-import java.util.Deque;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.operations.Crypto;
 
 import static org.junit.Assert.*;
@@ -21,11 +20,11 @@ import static org.junit.Assert.*;
  */
 public class CryptoTest {
 
-    private Deque<byte[]> stack;
+    private ScriptStack stack;
 
     @Before
     public void setup() {
-        stack = new ArrayDeque<>();
+        stack = new ScriptStack();
     }
 
     // ===================== OP_SHA256 =====================
@@ -5,12 +5,14 @@
 package com.bitcoinproject.operations;
 
 import com.scriptbitcoin.operations.Desafio;
-import java.util.ArrayDeque;
-import java.util.Deque;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.scriptbitcoin.crypto.SignatureChecker;
+import com.scriptbitcoin.crypto.SignatureRegistry;
+import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.utils.Utiles;
 
 import static org.junit.Assert.*;
@@ -20,11 +22,11 @@ import static org.junit.Assert.*;
  */
 public class DesafioTest {
 
-    private Deque<byte[]> stack;
+    private ScriptStack stack;
 
     @Before
     public void setup() {
-        stack = new ArrayDeque<>();
+        stack = new ScriptStack();
     }
 
     // ===================== TESTS DE EXISTENCIA =====================
@@ -78,6 +80,40 @@ public class DesafioTest {
         assertEquals(8, stack.size());
     }
 
+    @Test
+    public void testOpCheckMultiSig_2de3Valido() {
+        SignatureRegistry registry = new SignatureRegistry();
+        registry.register("firma1".getBytes(), "pubKey1".getBytes());
+        registry.register("firma3".getBytes(), "pubKey3".getBytes());
+        stack.push(new byte[0]);
+        stack.push("firma3".getBytes());
+        stack.push("firma1".getBytes());
+        stack.push(Utiles.intToBytes(2));
+        stack.push("pubKey3".getBytes());
+        stack.push("pubKey2".getBytes());
+        stack.push("pubKey1".getBytes());
+        stack.push(Utiles.intToBytes(3));
+
+        Desafio.opCheckMultiSig(stack, registry);
+
+        assertEquals(1, stack.size());
+        assertTrue(Utiles.isTruthy(stack.peek()));
+    }
+
+    @Test
+    public void testOpCheckMultiSig_FaltaDummy() {
+        stack.push("firma1".getBytes());
+        stack.push(Utiles.intToBytes(1));
+        stack.push("pubKey1".getBytes());
+        stack.push(Utiles.intToBytes(1));
+        try {
+            Desafio.opCheckMultiSig(stack, SignatureChecker.NONE);
+            fail("Se esperaba excepción");
+        } catch (ExceptionsInterpreter e) {
+            assertTrue(e.getMessage().contains("dummy"));
+        }
+    }
+
     @Test
     public void testDummyOP0EsFalsy() {
         byte[] dummy = new byte[0];
@@ -4,14 +4,13 @@
  */
 package com.bitcoinproject.operations;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 
-import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.scriptbitcoin.crypto.SignatureRegistry;
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.operations.Firmas;
 import com.scriptbitcoin.utils.Utiles;
 
@@ -22,17 +21,13 @@ import static org.junit.Assert.*;
  */
 public class FirmasTest {
 
-    private Deque<byte[]> stack;
+    private ScriptStack stack;
+    private SignatureRegistry registry;
 
     @Before
     public void setup() {
-        stack = new ArrayDeque<>();
-        Firmas.clearSignatures();
-    }
-
-    @After
-    public void tearDown() {
-        Firmas.clearSignatures();
+        stack = new ScriptStack();
+        registry = new SignatureRegistry();
     }
 
     // ===================== OP_CHECKSIG =====================
@@ -41,11 +36,11 @@ public class FirmasTest {
     public void testOpCheckSig_FirmaValida() {
         byte[] sig = "mi_firma".getBytes();
         byte[] pubKey = "mi_clave_publica".getBytes();
-        Firmas.registerValidSignature(sig, pubKey);
+        registry.register(sig, pubKey);
 
         stack.push(sig);
         stack.push(pubKey);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
 
         assertEquals(1, stack.size());
         assertEquals(1, Utiles.bytesToInt(stack.peek()));
@@ -58,7 +53,7 @@ public class FirmasTest {
 
         stack.push(sig);
         stack.push(pubKey);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
 
         assertEquals(1, stack.size());
         assertFalse(Utiles.isTruthy(stack.peek()));
@@ -69,11 +64,11 @@ public class FirmasTest {
         byte[] sig = "firma_real".getBytes();
         byte[] pubKeyCorrecta = "clave_correcta".getBytes();
         byte[] pubKeyIncorrecta = "clave_incorrecta".getBytes();
-        Firmas.registerValidSignature(sig, pubKeyCorrecta);
+        registry.register(sig, pubKeyCorrecta);
 
         stack.push(sig);
         stack.push(pubKeyIncorrecta);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
 
         assertFalse(Utiles.isTruthy(stack.peek()));
     }
@@ -89,7 +84,7 @@ public class FirmasTest {
 
         assertEquals(3, stack.size());
 
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
 
         assertEquals(2, stack.size());
     }
@@ -97,7 +92,7 @@ public class FirmasTest {
     @Test
     public void testOpCheckSig_PilaVacia() {
         try {
-            Firmas.opCheckSig(stack);
+            Firmas.opCheckSig(stack, registry);
             fail("Se esperaba excepción");
         } catch (ExceptionsInterpreter e) {
             // OK
@@ -109,7 +104,7 @@ public class FirmasTest {
         stack.push("solo_uno".getBytes());
 
         try {
-            Firmas.opCheckSig(stack);
+            Firmas.opCheckSig(stack, registry);
             fail("Se esperaba excepción");
         } catch (ExceptionsInterpreter e) {
             // OK
@@ -125,17 +120,17 @@ public class FirmasTest {
         byte[] sig2 = "firma2".getBytes();
         byte[] pub2 = "pub2".getBytes();
 
-        Firmas.registerValidSignature(sig1, pub1);
-        Firmas.registerValidSignature(sig2, pub2);
+        registry.register(sig1, pub1);
+        registry.register(sig2, pub2);
 
         stack.push(sig1);
         stack.push(pub1);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
         assertTrue(Utiles.isTruthy(stack.pop()));
 
         stack.push(sig2);
         stack.push(pub2);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
         assertTrue(Utiles.isTruthy(stack.pop()));
     }
 
@@ -143,18 +138,18 @@ public class FirmasTest {
     public void testClearSignatures() {
         byte[] sig = "firma".getBytes();
         byte[] pubKey = "clave".getBytes();
-        Firmas.registerValidSignature(sig, pubKey);
+        registry.register(sig, pubKey);
 
         stack.push(sig);
         stack.push(pubKey);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
         assertTrue(Utiles.isTruthy(stack.pop()));
 
-        Firmas.clearSignatures();
+        registry.clear();
 
         stack.push(sig);
         stack.push(pubKey);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
         assertFalse(Utiles.isTruthy(stack.pop()));
     }
 
@@ -162,12 +157,25 @@ public class FirmasTest {
     public void testOpCheckSig_BytesArbitrarios() {
         byte[] sig = {0x00, (byte) 0xFF, 0x7F, (byte) 0x80};
         byte[] pubKey = {(byte) 0xAA, (byte) 0xBB, (byte) 0xCC};
-        Firmas.registerValidSignature(sig, pubKey);
+        registry.register(sig, pubKey);
 
         stack.push(sig);
         stack.push(pubKey);
-        Firmas.opCheckSig(stack);
+        Firmas.opCheckSig(stack, registry);
 
         assertTrue(Utiles.isTruthy(stack.peek()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testOpCheckSigVerify_FirmaInvalida() {
+        stack.push("firma".getBytes());
+        stack.push("clave".getBytes());
+        try {
+            Firmas.opCheckSigVerify(stack, registry);
+            fail("Se esperaba excepción");
+        } catch (ExceptionsInterpreter e) {
+            assertTrue(e.getMessage().contains("OP_CHECKSIGVERIFY"));
+            assertEquals(0, stack.size());
+        }
+    }
+}
@@ -5,8 +5,6 @@
 
 package com.bitcoinproject.operations;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -16,18 +14,20 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ConditionStack;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.operations.FlowOperations;
 import com.scriptbitcoin.utils.Utiles;
 
 public class FlowOperationsTest {
 
-    private Deque<byte[]> stack;
-    private Deque<Boolean> conditionStack;
+    private ScriptStack stack;
+    private ConditionStack conditionStack;
 
     @Before
     public void setup() {
-        stack = new ArrayDeque<>();
-        conditionStack = new ArrayDeque<>();
+        stack = new ScriptStack();
+        conditionStack = new ConditionStack();
     }
 
     @Test
@@ -61,6 +61,28 @@ public class FlowOperationsTest {
         assertFalse(conditionStack.peek());
     }
 
+    @Test
+    public void testOpElse_Anidado() {
+        conditionStack.push(false);
+        conditionStack.push(true);
+        assertFalse(conditionStack.isExecuting());
+        FlowOperations.opElse(conditionStack);
+        assertFalse(conditionStack.peek());
+        FlowOperations.opEndIf(conditionStack);
+        FlowOperations.opElse(conditionStack);
+        assertTrue(conditionStack.isExecuting());
+    }
+
+    @Test
+    public void testOpEndIf_SinIf() {
+        try {
+            FlowOperations.opEndIf(conditionStack);
+            fail("Debió lanzar excepción OP_ENDIF");
+        } catch (ExceptionsInterpreter e) {
+            assertTrue(e.getMessage().contains("OP_ENDIF"));
+        }
+    }
+
     @Test
     public void testOpElse_SinIf() {
         try {
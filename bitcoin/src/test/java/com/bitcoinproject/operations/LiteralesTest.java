@@ -4,8 +4,6 @@
  */
 package com.bitcoinproject.operations;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -15,16 +13,17 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.operations.Literales;
 import com.scriptbitcoin.utils.Utiles;
 
 public class LiteralesTest {
 
-    private Deque<byte[]> stack;
+    private ScriptStack stack;
 
     @Before
     public void setup() {
-        stack = new ArrayDeque<>();
+        stack = new ScriptStack();
     }
 
     @Test
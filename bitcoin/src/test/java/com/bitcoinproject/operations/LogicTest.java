@@ -5,8 +5,6 @@
 
 package com.bitcoinproject.operations;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -16,16 +14,17 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.scriptbitcoin.interpreters.ExceptionsInterpreter;
+import com.scriptbitcoin.model.ScriptStack;
 import com.scriptbitcoin.operations.Logic;
 import com.scriptbitcoin.utils.Utiles;
 
 public class LogicTest {
 
-    private Deque<byte[]> stack;
+    private ScriptStack stack;
 
     @Before
     public void setup() {
-        stack = new ArrayDeque<>();
+        stack = new ScriptStack();
     }
 
     @Test
@@ -0,0 +1,110 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.BatchResult;
+import com.scriptbitcoin.interpreters.BatchValidator;
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.utils.AsyncTraceSink;
+import com.scriptbitcoin.utils.ScriptValores;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para AsyncTraceSink (JUnit 4).
+ */
+public class AsyncTraceSinkTest {
+
+    private Path archivo;
+
+    @Before
+    public void setup() throws IOException {
+        archivo = File.createTempFile("trace", ".log").toPath();
+    }
+
+    @After
+    public void limpiar() throws IOException {
+        Files.deleteIfExists(archivo);
+    }
+
+    @Test
+    public void testEscribeLasMismasLineasQueElTrace() throws IOException {
+        try (AsyncTraceSink sink = new AsyncTraceSink(archivo)) {
+            new ScriptInterpreter().execute(new ScriptValores().tokenize("2 3 OP_ADD"), sink);
+        }
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        assertEquals(4, lineas.size());
+        assertEquals("#1 Step  1: DATA[02]             | Stack: [02]", lineas.get(0));
+        assertEquals("#1 Step  3: OP_ADD               | Stack: [05]", lineas.get(2));
+        assertEquals("#1 Result: VALID", lineas.get(3));
+    }
+
+    @Test
+    public void testLoteEnParalelo() throws IOException {
+        List<String> scripts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            scripts.add(i % 3 == 0 ? "OP_1 OP_ADD" : i + " " + i + " OP_EQUAL");
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        BatchResult result;
+        AsyncTraceSink sink = new AsyncTraceSink(archivo);
+        try {
+            result = new BatchValidator(new ScriptInterpreter(), pool).validate(scripts, sink);
+        } finally {
+            sink.close();
+            pool.shutdown();
+        }
+        assertEquals(0, sink.getDescartados());
+
+        // cada ejecucion queda completa y con sus lineas en orden aunque esten intercaladas con las de otros hilos
+        Map<String, List<String>> porEjecucion = new HashMap<>();
+        for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+            String id = linea.substring(0, linea.indexOf(' '));
+            List<String> propias = porEjecucion.get(id);
+            if (propias == null) {
+                propias = new ArrayList<>();
+                porEjecucion.put(id, propias);
+            }
+            propias.add(linea.substring(id.length() + 1));
+        }
+        assertEquals(2000, porEjecucion.size());
+        int validos = 0;
+        for (List<String> propias : porEjecucion.values()) {
+            String ultima = propias.get(propias.size() - 1);
+            if (ultima.equals("Result: VALID")) {
+                validos++;
+                assertEquals(4, propias.size());
+                assertTrue(propias.get(2).startsWith("Step  3: OP_EQUAL"));
+            } else {
+                assertTrue(ultima, ultima.startsWith("Result: INVALID"));
+                assertTrue(propias.get(propias.size() - 2).startsWith("Error: "));
+            }
+        }
+        assertEquals(result.getValidos(), validos);
+    }
+
+    @Test
+    public void testDespuesDeCerrarNoEscribe() throws IOException {
+        AsyncTraceSink sink = new AsyncTraceSink(archivo);
+        sink.close();
+        new ScriptInterpreter().execute(new ScriptValores().tokenize("OP_1"), sink);
+        sink.close();
+        assertEquals(0, Files.size(archivo));
+    }
+}
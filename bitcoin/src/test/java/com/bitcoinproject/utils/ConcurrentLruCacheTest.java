@@ -0,0 +1,87 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.utils;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.utils.ConcurrentLruCache;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ConcurrentLruCache (JUnit 4).
+ */
+public class ConcurrentLruCacheTest {
+
+    @Test
+    public void testGetYPut() {
+        ConcurrentLruCache<String, Integer> cache = new ConcurrentLruCache<>(8);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+        assertEquals(0.5, cache.getTasaAciertos(), 1e-9);
+    }
+
+    @Test
+    public void testExpulsaElMenosUsado() {
+        // capacidad 1: un solo segmento
+        ConcurrentLruCache<String, Integer> cache = new ConcurrentLruCache<>(1);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertNull(cache.get("a"));
+        assertEquals(Integer.valueOf(2), cache.get("b"));
+        assertEquals(1, cache.getExpulsiones());
+    }
+
+    @Test
+    public void testNuncaSuperaLaCapacidad() {
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(64);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertTrue(cache.size() <= 64);
+        assertEquals(1000 - cache.size(), cache.getExpulsiones());
+    }
+
+    @Test
+    public void testCapacidadNoMultiploDeLosSegmentos() {
+        // 17 entradas en 16 segmentos: un segmento recibe 2 y el resto 1
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(17);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(17, cache.size());
+    }
+
+    @Test
+    public void testClear() {
+        ConcurrentLruCache<String, Integer> cache = new ConcurrentLruCache<>(4);
+        cache.put("a", 1);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacidadInvalida() {
+        new ConcurrentLruCache<String, Integer>(0);
+    }
+
+    @Test
+    public void testLimitePorPeso() {
+        ConcurrentLruCache<String, byte[]> cache = new ConcurrentLruCache<>(1, 10,
+            (String key, byte[] value) -> value.length);
+        cache.put("a", new byte[6]);
+        cache.put("b", new byte[6]);
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertEquals(6, cache.getPeso());
+        // una entrada mas pesada que el limite no se guarda
+        cache.put("c", new byte[11]);
+        assertNull(cache.get("c"));
+        assertEquals(6, cache.getPeso());
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.utils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+import com.scriptbitcoin.utils.ScriptDecoder;
+import com.scriptbitcoin.utils.ScriptValores;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ScriptDecoder (JUnit 4).
+ */
+public class ScriptDecoderTest {
+
+    private static byte[] bytes(int... valores) {
+        byte[] result = new byte[valores.length];
+        for (int i = 0; i < valores.length; i++) {
+            result[i] = (byte) valores[i];
+        }
+        return result;
+    }
+
+    @Test
+    public void testMismosValoresQueElTexto() {
+        // 0x02 0a0b, OP_DUP, OP_HASH160, OP_EQUALVERIFY, OP_5, OP_0, OP_CHECKSIG
+        List<Valor> valores = ScriptDecoder.decode(bytes(0x02, 0x0a, 0x0b, 0x76, 0xa9, 0x88, 0x55, 0x00, 0xac));
+        List<Valor> texto = new ScriptValores().tokenize("0x0a0b OP_DUP OP_HASH160 OP_EQUALVERIFY OP_5 OP_0 OP_CHECKSIG");
+        assertEquals(texto.toString(), valores.toString());
+    }
+
+    @Test
+    public void testPushData() {
+        byte[] script = new byte[2 + 100 + 3 + 300];
+        script[0] = 0x4c;
+        script[1] = 100;
+        script[2 + 100] = 0x4d;
+        script[3 + 100] = (byte) (300 & 0xff);
+        script[4 + 100] = (byte) (300 >> 8);
+        script[script.length - 1] = 0x7f;
+        List<Valor> valores = ScriptDecoder.decode(script);
+        assertEquals(2, valores.size());
+        assertEquals(100, valores.get(0).getBytes().length());
+        assertEquals(300, valores.get(1).getBytes().length());
+        assertEquals(0x7f, valores.get(1).getBytes().byteAt(299));
+    }
+
+    @Test
+    public void testSinCopiaYPosicion() {
+        byte[] arreglo = bytes(0xff, 0x01, 0x2a, 0x76);
+        ByteBuffer buffer = ByteBuffer.wrap(arreglo);
+        buffer.position(1);
+        List<Valor> valores = ScriptDecoder.decode(buffer);
+        assertEquals(1, buffer.position());
+        assertEquals(ValorTipo.DATA_LITERAL, valores.get(0).getType());
+        assertEquals(OpCode.OP_DUP, valores.get(1).getOpCode());
+        // el dato es una vista del arreglo original
+        arreglo[2] = 0x2b;
+        assertEquals(0x2b, valores.get(0).getBytes().byteAt(0));
+    }
+
+    @Test
+    public void testBufferDirecto() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(3);
+        buffer.put(bytes(0x01, 0x07, 0x87)).flip();
+        List<Valor> valores = ScriptDecoder.decode(buffer);
+        assertEquals("[DATA[07], OP_EQUAL]", valores.toString());
+    }
+
+    @Test
+    public void testErrores() {
+        try {
+            ScriptDecoder.decode(bytes(0x51, 0x03, 0x01));
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Empuje de datos truncado en la posicion 1", e.getMessage());
+        }
+        try {
+            ScriptDecoder.decode(bytes(0x4d, 0x01));
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Empuje de datos truncado en la posicion 0", e.getMessage());
+        }
+        try {
+            ScriptDecoder.decode(bytes(0x51, 0xb0));
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Opcode no soportado: 0xb0 en la posicion 1", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTablaDeOpcodes() {
+        assertEquals(OpCode.OP_0, OpCode.fromCode(0x00));
+        assertEquals(0x00, OpCode.OP_FALSE.getCode());
+        assertEquals(OpCode.OP_16, OpCode.fromCode(0x60));
+        assertEquals(OpCode.OP_CHECKMULTISIGVERIFY, OpCode.fromCode(0xaf));
+        assertNull(OpCode.fromCode(0x20));
+    }
+
+    @Test
+    public void testEjecutarScriptDecodificado() {
+        // OP_2 OP_3 OP_ADD OP_PUSHDATA1 <05> OP_EQUAL
+        ScriptResult result = new ScriptInterpreter().execute(ScriptDecoder.decode(bytes(0x52, 0x53, 0x93, 0x4c, 0x01, 0x05, 0x87)), false);
+        assertTrue(result.getMensaje(), result.isExito());
+        // en texto OP_PUSHDATA1 solo marca el dato siguiente
+        ScriptValores tokenizer = new ScriptValores();
+        assertTrue(new ScriptInterpreter().execute(tokenizer.tokenize("OP_PUSHDATA1 0x05 5 OP_EQUAL"), false).isExito());
+    }
+}
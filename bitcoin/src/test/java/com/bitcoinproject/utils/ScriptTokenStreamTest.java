@@ -0,0 +1,140 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.utils.ScriptTokenStream;
+import com.scriptbitcoin.utils.ScriptValores;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para ScriptTokenStream y la ejecución en streaming (JUnit 4).
+ */
+public class ScriptTokenStreamTest {
+
+    private final ScriptValores tokenizer = new ScriptValores();
+    private final ScriptInterpreter interpreter = new ScriptInterpreter();
+
+    // Valor no define equals, se comparan por su representacion en texto
+    private List<Valor> leer(ScriptTokenStream stream) {
+        List<Valor> valores = new ArrayList<>();
+        while (stream.hasNext()) {
+            valores.add(stream.next());
+        }
+        return valores;
+    }
+
+    @Test
+    public void testMismosValoresQueTokenize() {
+        String script = " 2 3 OP_ADD\n0x0a0B <sig>\tOP_DUP ff -7 OP_EQUAL ";
+        assertEquals(tokenizer.tokenize(script).toString(), leer(tokenizer.stream(new StringReader(script))).toString());
+    }
+
+    @Test
+    public void testTokenQueCruzaElBuffer() {
+        // tokens que quedan partidos entre lecturas y uno mas grande que el buffer inicial
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            sb.append(i).append(' ');
+        }
+        for (int i = 0; i < 10000; i++) {
+            sb.append('a');
+        }
+        sb.append(" OP_DROP");
+        String script = sb.toString();
+        List<Valor> esperado = tokenizer.tokenize(script);
+        List<Valor> valores = leer(tokenizer.stream(new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(esperado.toString(), valores.toString());
+        assertEquals(5000, valores.get(3000).getBytes().length());
+    }
+
+    @Test
+    public void testTokenNoReconocido() {
+        ScriptTokenStream stream = tokenizer.stream(new StringReader("1 OP_NOEXISTE 2"));
+        assertTrue(stream.hasNext());
+        stream.next();
+        try {
+            stream.hasNext();
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Token no reconocido: OP_NOEXISTE", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testArchivoMapeado() throws IOException {
+        File file = File.createTempFile("script", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "<ñandú> 5 OP_DUP OP_EQUAL".getBytes(StandardCharsets.UTF_8));
+        try (ScriptTokenStream stream = tokenizer.stream(file.toPath())) {
+            List<Valor> valores = leer(stream);
+            assertEquals(tokenizer.tokenize("<ñandú> 5 OP_DUP OP_EQUAL").toString(), valores.toString());
+        }
+        try (ScriptTokenStream stream = tokenizer.stream(file.toPath())) {
+            assertEquals(4, stream.toStream().count());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testParSustitutoAlFinalDelBuffer() throws IOException {
+        // el caracter de 4 bytes llega cuando solo queda un espacio libre en el buffer inicial
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 8191; i++) {
+            sb.append('a');
+        }
+        sb.append("\uD83D\uDE00 OP_DROP");
+        String token = sb.substring(0, 8193);
+        File file = File.createTempFile("script", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        try (ScriptTokenStream stream = tokenizer.stream(file.toPath())) {
+            stream.hasNext();
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Token no reconocido: " + token, e.getMessage());
+        }
+    }
+
+    @Test
+    public void testEjecucionIgualQueCompilada() {
+        String[] scripts = {
+            "2 3 OP_ADD 5 OP_EQUAL",
+            "0 OP_IF 1 OP_IF 2 OP_ELSE 3 OP_ENDIF OP_ELSE 4 OP_ENDIF",
+            "1 OP_NOTIF 7 OP_ELSE 0 OP_IF 8 OP_ENDIF 9 OP_ENDIF",
+            "1 OP_IF 2",
+            "OP_ENDIF 1",
+            "1 OP_VERIFY",
+            "0",
+            "OP_RETURN",
+        };
+        for (String script : scripts) {
+            ScriptResult compilado = interpreter.execute(tokenizer.tokenize(script), false);
+            ScriptResult streaming = interpreter.execute(tokenizer.stream(new StringReader(script)), false);
+            assertEquals(script, compilado.isExito(), streaming.isExito());
+            assertEquals(script, compilado.getMensaje(), streaming.getMensaje());
+        }
+    }
+
+    @Test
+    public void testEjecucionConTokenInvalido() {
+        ScriptResult result = interpreter.execute(tokenizer.stream(new StringReader("1 2 zz")), false);
+        assertFalse(result.isExito());
+        assertEquals("Error de tokenizacion: Token no reconocido: zz", result.getMensaje());
+        assertEquals(2, result.getFinalStack().size());
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.model.OpCode;
+import com.scriptbitcoin.model.Valor;
+import com.scriptbitcoin.model.ValorTipo;
+import com.scriptbitcoin.utils.ScriptValores;
+import com.scriptbitcoin.utils.Utiles;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para la clase ScriptValores (JUnit 4).
+ */
+public class ScriptValoresTest {
+
+    private final ScriptValores tokenizer = new ScriptValores();
+
+    private String hex(String token) {
+        return tokenizer.tokenize(token).get(0).getBytes().toHex();
+    }
+
+    @Test
+    public void testOpcodesYEspacios() {
+        List<Valor> tokens = tokenizer.tokenize("  OP_DUP\tOP_HASH160\n<pk>\r\nOP_EQUALVERIFY   OP_CHECKSIG ");
+        assertEquals(5, tokens.size());
+        assertEquals(OpCode.OP_DUP, tokens.get(0).getOpCode());
+        assertEquals(ValorTipo.DATA_LITERAL, tokens.get(2).getType());
+        assertEquals("pk", new String(tokens.get(2).getData()));
+        assertEquals(OpCode.OP_CHECKSIG, tokens.get(4).getOpCode());
+    }
+
+    @Test
+    public void testScriptVacio() {
+        assertTrue(tokenizer.tokenize("").isEmpty());
+        assertTrue(tokenizer.tokenize(" \t ").isEmpty());
+        assertTrue(tokenizer.tokenize(null).isEmpty());
+    }
+
+    @Test
+    public void testEnteros() {
+        assertEquals(Utiles.bytesToHex(Utiles.intToBytes(-1)), hex("-1"));
+        assertEquals(Utiles.bytesToHex(Utiles.intToBytes(5)), hex("+5"));
+        assertEquals("", hex("-0"));
+        assertEquals(Utiles.bytesToHex(Utiles.intToBytes(7)), hex("007"));
+        assertEquals(Utiles.bytesToHex(Utiles.intToBytes(Integer.MIN_VALUE)), hex("-2147483648"));
+    }
+
+    @Test
+    public void testHex() {
+        assertEquals("0abc", hex("0xabc"));
+        assertEquals("", hex("0x"));
+        assertEquals("abcdef", hex("ABCdef"));
+        // un decimal fuera del rango de int se interpreta como hex
+        assertEquals("2147483648", hex("2147483648"));
+    }
+
+    @Test
+    public void testOpcodeDistingueMayusculas() {
+        try {
+            tokenizer.tokenize("op_dup");
+            fail("Se esperaba excepción");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Token no reconocido: op_dup", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testErrorSinExcepcion() {
+        List<Valor> tokens = new ArrayList<>();
+        assertEquals("0xZZ", tokenizer.tokenize("OP_1 0xZZ OP_2", tokens));
+        assertEquals(1, tokens.size());
+        tokens.clear();
+        assertNull(tokenizer.tokenize("OP_1 OP_2", tokens));
+        assertEquals(2, tokens.size());
+    }
+}
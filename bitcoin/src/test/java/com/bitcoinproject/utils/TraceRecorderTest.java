@@ -0,0 +1,100 @@
+/**
+ * Fecha: 18/10/2026
+ */
+package com.bitcoinproject.utils;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.scriptbitcoin.interpreters.ScriptInterpreter;
+import com.scriptbitcoin.interpreters.ScriptResult;
+import com.scriptbitcoin.model.ScriptStack;
+import com.scriptbitcoin.utils.ScriptValores;
+import com.scriptbitcoin.utils.TraceRecorder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests unitarios para TraceRecorder y la marca de agua baja de ScriptStack (JUnit 4).
+ */
+public class TraceRecorderTest {
+
+    private final ScriptValores tokenizer = new ScriptValores();
+    private final ScriptInterpreter interpreter = new ScriptInterpreter();
+
+    @Test
+    public void testMarcaDeAguaBaja() {
+        ScriptStack stack = new ScriptStack();
+        stack.pushInt(1);
+        stack.pushInt(2);
+        stack.pushInt(3);
+        stack.resetLowWaterMark();
+        assertEquals(3, stack.lowWaterMark());
+        stack.pushInt(4);
+        assertEquals(3, stack.lowWaterMark());
+        stack.drop(2);
+        assertEquals(2, stack.lowWaterMark());
+        stack.resetLowWaterMark();
+        stack.swap();
+        assertEquals(0, stack.lowWaterMark());
+    }
+
+    @Test
+    public void testRegistraSoloLosCambios() {
+        TraceRecorder recorder = new TraceRecorder();
+        ScriptResult result = interpreter.execute(tokenizer.tokenize("2 3 OP_SWAP OP_ADD OP_0 OP_DROP"), recorder);
+        assertTrue(result.isExito());
+        List<String> log = recorder.getTraceLog();
+        assertEquals(6, log.size());
+        assertEquals("Step  1: DATA[02]             | -0 +[02] | Depth: 1 | Token: 0", log.get(0));
+        assertEquals("Step  3: OP_SWAP              | -2 +[03, 02] | Depth: 2 | Token: 2", log.get(2));
+        assertEquals("Step  4: OP_ADD               | -2 +[05] | Depth: 1 | Token: 3", log.get(3));
+        assertEquals("Step  5: OP_0                 | -0 +[[]] | Depth: 2 | Token: 4", log.get(4));
+        assertEquals("Step  6: OP_DROP              | -1 +[] | Depth: 1 | Token: 5", log.get(5));
+        assertFalse(recorder.isFallido());
+        assertSame(result, recorder.getResultado());
+    }
+
+    @Test
+    public void testFalloSeMuestraAlFinal() {
+        TraceRecorder recorder = new TraceRecorder();
+        ScriptResult result = interpreter.execute(tokenizer.tokenize("OP_1 OP_ADD"), recorder);
+        assertFalse(result.isExito());
+        assertTrue(recorder.isFallido());
+        List<String> log = recorder.getTraceLog();
+        assertEquals(2, log.size());
+        assertEquals("Error en el token 1 (OP_ADD) con 1 elementos en la pila: " + result.getMensaje(), log.get(1));
+    }
+
+    @Test
+    public void testBuferCircularDescartaLosPasosViejos() {
+        TraceRecorder recorder = new TraceRecorder(4);
+        StringBuilder script = new StringBuilder("1");
+        for (int i = 0; i < 20; i++) {
+            script.append(" OP_DUP OP_DROP");
+        }
+        assertTrue(interpreter.execute(tokenizer.tokenize(script.toString()), recorder).isExito());
+        assertEquals(41, recorder.getPasos());
+        List<String> log = recorder.getTraceLog();
+        assertEquals(5, log.size());
+        assertEquals("... 37 pasos anteriores descartados", log.get(0));
+        assertTrue(log.get(4).startsWith("Step 41: OP_DROP"));
+
+        recorder.reset();
+        assertEquals(0, recorder.getPasos());
+        assertTrue(recorder.getTraceLog().isEmpty());
+    }
+
+    @Test
+    public void testElementosLargosSeRecortan() {
+        TraceRecorder recorder = new TraceRecorder(1);
+        StringBuilder dato = new StringBuilder("0x");
+        for (int i = 0; i < 100; i++) {
+            dato.append("ab");
+        }
+        interpreter.execute(tokenizer.tokenize(dato.toString()), recorder);
+        String linea = recorder.getTraceLog().get(0);
+        assertTrue(linea, linea.contains("...(100 bytes)"));
+    }
+}